@@ -0,0 +1,381 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates {@code <Composite>_Wiring} classes that create and wire composites annotated with
+ * {@code @Wire} / {@code @FindBy} without reflection.
+ * <br>
+ * Fields that cannot be assigned from the generated class, e.g. private fields, are injected reflectively
+ * at runtime. Composites that cannot be instantiated from the generated class are skipped and
+ * wired reflectively as before.
+ */
+@SupportedAnnotationTypes({WiringProcessor.WIRE_ANNOTATION, WiringProcessor.FIND_BY_ANNOTATION})
+public class WiringProcessor extends AbstractProcessor {
+
+    public static final String WIRE_ANNOTATION = "io.jmix.masquerade.Wire";
+    public static final String FIND_BY_ANNOTATION = "org.openqa.selenium.support.FindBy";
+
+    protected static final String COMPOSITE_CLASS = "io.jmix.masquerade.base.Composite";
+    protected static final String ABSTRACT_WIRER_CLASS = "io.jmix.masquerade.sys.wiring.AbstractWirer";
+    protected static final String SELENIDE_ELEMENT_CLASS = "com.codeborne.selenide.SelenideElement";
+    protected static final String BY_CLASS = "org.openqa.selenium.By";
+    protected static final String LOGGER_CLASS = "org.slf4j.Logger";
+
+    protected static final String GENERATED_CLASS_SUFFIX = "_Wiring";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement compositeElement = processingEnv.getElementUtils().getTypeElement(COMPOSITE_CLASS);
+        if (compositeElement == null) {
+            return false;
+        }
+
+        Set<TypeElement> composites = new LinkedHashSet<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.FIELD) {
+                    composites.add((TypeElement) element.getEnclosingElement());
+                } else if (element.getKind() == ElementKind.CLASS) {
+                    composites.add((TypeElement) element);
+                }
+            }
+        }
+
+        for (TypeElement composite : composites) {
+            if (isComposite(composite, compositeElement) && isGeneratable(composite)) {
+                generate(composite);
+            }
+        }
+
+        return false;
+    }
+
+    protected boolean isComposite(TypeElement type, TypeElement compositeElement) {
+        TypeMirror typeMirror = processingEnv.getTypeUtils().erasure(type.asType());
+        TypeMirror compositeMirror = processingEnv.getTypeUtils().erasure(compositeElement.asType());
+
+        return processingEnv.getTypeUtils().isSubtype(typeMirror, compositeMirror);
+    }
+
+    protected boolean isGeneratable(TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS
+                || type.getModifiers().contains(Modifier.ABSTRACT)
+                || type.getModifiers().contains(Modifier.PRIVATE)
+                || !type.getTypeParameters().isEmpty()) {
+            return false;
+        }
+
+        Element enclosing = type;
+        while (enclosing.getKind() != ElementKind.PACKAGE) {
+            TypeElement enclosingType = (TypeElement) enclosing;
+            if (enclosingType.getNestingKind() != NestingKind.TOP_LEVEL
+                    && (enclosingType.getNestingKind() != NestingKind.MEMBER
+                    || !enclosingType.getModifiers().contains(Modifier.STATIC)
+                    || enclosingType.getModifiers().contains(Modifier.PRIVATE))) {
+                return false;
+            }
+            enclosing = enclosing.getEnclosingElement();
+        }
+
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty()) {
+                return !constructor.getModifiers().contains(Modifier.PRIVATE);
+            }
+        }
+
+        return false;
+    }
+
+    protected void generate(TypeElement composite) {
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(composite);
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        String compositeName = composite.getQualifiedName().toString();
+        String wirerName = getWirerSimpleName(composite);
+
+        List<String> constants = new ArrayList<>();
+        Set<String> constantNames = new HashSet<>();
+        List<String> statements = new ArrayList<>();
+
+        boolean compositeLazy = isLazy(getAnnotation(composite, WIRE_ANNOTATION));
+
+        TypeElement current = composite;
+        while (current != null) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                AnnotationMirror wire = getAnnotation(field, WIRE_ANNOTATION);
+                AnnotationMirror findBy = getAnnotation(field, FIND_BY_ANNOTATION);
+                if (wire == null && findBy == null) {
+                    continue;
+                }
+
+                if (!isAssignable(field, packageElement) || !isAccessible(current, packageElement)) {
+                    String declaringClass = processingEnv.getElementUtils().getBinaryName(current).toString();
+                    statements.add(String.format("inject(instance, \"%s\", \"%s\", by);",
+                            declaringClass, field.getSimpleName()));
+                    continue;
+                }
+
+                String fieldName = field.getSimpleName().toString();
+                String fieldType = getErasedName(field.asType());
+                String target = getFieldTarget(composite, current, fieldName);
+
+                if (wire != null && SELENIDE_ELEMENT_CLASS.equals(fieldType)) {
+                    statements.add(String.format("%s = com.codeborne.selenide.Selenide.$(by);", target));
+                } else if (wire != null && BY_CLASS.equals(fieldType)) {
+                    statements.add(String.format("%s = by;", target));
+                } else if (wire != null && LOGGER_CLASS.equals(fieldType)) {
+                    if (!constants.contains(getLoggerConstant(compositeName))) {
+                        constants.add(getLoggerConstant(compositeName));
+                    }
+                    statements.add(String.format("%s = LOGGER;", target));
+                } else {
+                    String constantName = getUniqueName(getConstantName(current, fieldName), constantNames);
+                    if (wire != null) {
+                        constants.add(String.format("private static final org.openqa.selenium.By %s =\n"
+                                + "            io.jmix.masquerade.Selectors.byPath(%s);",
+                                constantName, getPathLiteral(wire, fieldName)));
+                    } else {
+                        constants.add(String.format("private static final org.openqa.selenium.By %s =\n"
+                                        + "            findBy(%s.class, \"%s\");",
+                                constantName, current.getQualifiedName(), fieldName));
+                    }
+                    boolean lazy = compositeLazy || isLazy(wire);
+                    statements.add(String.format("%s = %s(%s.class, by, %s);",
+                            target, lazy ? "lazyChild" : "child", fieldType, constantName));
+                }
+            }
+
+            current = getSuperclass(current);
+        }
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("/**\n")
+                .append(" * Wiring of {@link ").append(compositeName).append("}")
+                .append(", generated by ").append(getClass().getName()).append(".\n")
+                .append(" */\n");
+        source.append("public final class ").append(wirerName)
+                .append(" extends ").append(ABSTRACT_WIRER_CLASS).append("<").append(compositeName).append("> {\n");
+        for (String constant : constants) {
+            source.append("\n    ").append(constant).append("\n");
+        }
+        source.append("\n    @Override\n")
+                .append("    public ").append(compositeName).append(" wire(org.openqa.selenium.By by) {\n")
+                .append("        ").append(compositeName).append(" instance = new ").append(compositeName).append("();\n");
+        for (String statement : statements) {
+            source.append("        ").append(statement).append("\n");
+        }
+        source.append("        return instance;\n")
+                .append("    }\n")
+                .append("}\n");
+
+        String qualifiedWirerName = packageName.isEmpty() ? wirerName : packageName + "." + wirerName;
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedWirerName, composite);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source.toString());
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Unable to generate wiring " + qualifiedWirerName + ": " + e.getMessage(), composite);
+        }
+    }
+
+    protected boolean isAssignable(VariableElement field, PackageElement packageElement) {
+        Set<Modifier> modifiers = field.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE)
+                || modifiers.contains(Modifier.STATIC)
+                || modifiers.contains(Modifier.FINAL)) {
+            return false;
+        }
+
+        TypeMirror fieldType = field.asType();
+        if (fieldType.getKind() != TypeKind.DECLARED
+                || !isAccessible(((DeclaredType) fieldType).asElement(), packageElement)) {
+            return false;
+        }
+
+        PackageElement fieldPackage = processingEnv.getElementUtils().getPackageOf(field);
+        return modifiers.contains(Modifier.PUBLIC) || fieldPackage.equals(packageElement);
+    }
+
+    protected boolean isAccessible(Element type, PackageElement packageElement) {
+        Element current = type;
+        while (current.getKind() != ElementKind.PACKAGE) {
+            Set<Modifier> modifiers = current.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            if (!modifiers.contains(Modifier.PUBLIC)
+                    && !processingEnv.getElementUtils().getPackageOf(current).equals(packageElement)) {
+                return false;
+            }
+            current = current.getEnclosingElement();
+        }
+        return true;
+    }
+
+    protected TypeElement getSuperclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+
+        TypeElement superElement = (TypeElement) ((DeclaredType) superclass).asElement();
+        if (superElement.getQualifiedName().contentEquals(Object.class.getName())) {
+            return null;
+        }
+        return superElement;
+    }
+
+    protected AnnotationMirror getAnnotation(Element element, String annotationClass) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            TypeElement annotationElement = (TypeElement) annotation.getAnnotationType().asElement();
+            if (annotationElement.getQualifiedName().contentEquals(annotationClass)) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    protected boolean isLazy(AnnotationMirror wire) {
+        if (wire == null) {
+            return false;
+        }
+
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : wire.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals("lazy")) {
+                return Boolean.TRUE.equals(entry.getValue().getValue());
+            }
+        }
+        return false;
+    }
+
+    protected String getPathLiteral(AnnotationMirror wire, String fieldName) {
+        List<String> path = new ArrayList<>();
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : wire.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals("path")) {
+                @SuppressWarnings("unchecked")
+                List<? extends AnnotationValue> values = (List<? extends AnnotationValue>) entry.getValue().getValue();
+                for (AnnotationValue value : values) {
+                    path.add(processingEnv.getElementUtils().getConstantExpression(value.getValue()));
+                }
+            }
+        }
+
+        if (path.isEmpty()) {
+            path.add(processingEnv.getElementUtils().getConstantExpression(fieldName));
+        }
+        return String.join(", ", path);
+    }
+
+    protected String getErasedName(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    /**
+     * @param composite      wired composite
+     * @param declaringClass class that declares the field
+     * @param fieldName      name of the field
+     * @return expression of the field, fields of superclasses are accessed through a cast
+     * so that a field hidden by a subclass field with the same name is assigned
+     */
+    protected String getFieldTarget(TypeElement composite, TypeElement declaringClass, String fieldName) {
+        if (declaringClass.equals(composite)) {
+            return "instance." + fieldName;
+        }
+        return String.format("((%s) instance).%s", declaringClass.getQualifiedName(), fieldName);
+    }
+
+    /**
+     * @param name  preferred name
+     * @param names names already used in the generated class
+     * @return the name or the name with a numeric suffix if it is already used
+     */
+    protected String getUniqueName(String name, Set<String> names) {
+        String uniqueName = name;
+        for (int i = 2; !names.add(uniqueName); i++) {
+            uniqueName = name + "_" + i;
+        }
+        return uniqueName;
+    }
+
+    protected String getConstantName(TypeElement declaringClass, String fieldName) {
+        StringBuilder name = new StringBuilder(declaringClass.getSimpleName().toString().toUpperCase())
+                .append('_');
+        for (char c : fieldName.toCharArray()) {
+            if (Character.isUpperCase(c)) {
+                name.append('_');
+            }
+            name.append(Character.toUpperCase(c));
+        }
+        return name.append("_BY").toString();
+    }
+
+    protected String getLoggerConstant(String compositeName) {
+        return String.format("private static final org.slf4j.Logger LOGGER =\n"
+                + "            org.slf4j.LoggerFactory.getLogger(%s.class);", compositeName);
+    }
+
+    protected String getWirerSimpleName(TypeElement composite) {
+        StringBuilder name = new StringBuilder(composite.getSimpleName());
+        Element enclosing = composite.getEnclosingElement();
+        while (enclosing.getKind() != ElementKind.PACKAGE) {
+            name.insert(0, '_').insert(0, enclosing.getSimpleName());
+            enclosing = enclosing.getEnclosingElement();
+        }
+        return name.append(GENERATED_CLASS_SUFFIX).toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.processor;
+
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.JavaFileObjects;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.JavaFileObject;
+
+import static com.google.testing.compile.CompilationSubject.assertThat;
+import static com.google.testing.compile.Compiler.javac;
+
+public class WiringProcessorTest {
+
+    @Test
+    public void accessibleFieldsAreAssigned() {
+        Compilation compilation = compile(JavaFileObjects.forSourceLines("test.LoginScreen",
+                "package test;",
+                "",
+                "import io.jmix.masquerade.Wire;",
+                "import io.jmix.masquerade.base.Composite;",
+                "import io.jmix.masquerade.component.Button;",
+                "",
+                "public class LoginScreen extends Composite<LoginScreen> {",
+                "    @Wire",
+                "    protected Button loginButton;",
+                "    @Wire(path = {\"form\", \"cancelButton\"})",
+                "    private Button cancelButton;",
+                "}"));
+
+        assertThat(compilation).succeeded();
+        assertThat(compilation).generatedSourceFile("test.LoginScreen_Wiring")
+                .contentsAsUtf8String()
+                .contains("instance.loginButton = child(io.jmix.masquerade.component.Button.class, by, "
+                        + "LOGINSCREEN_LOGIN_BUTTON_BY);");
+        assertThat(compilation).generatedSourceFile("test.LoginScreen_Wiring")
+                .contentsAsUtf8String()
+                .contains("inject(instance, \"test.LoginScreen\", \"cancelButton\", by);");
+    }
+
+    @Test
+    public void hiddenFieldOfSuperclassIsAssigned() {
+        Compilation compilation = compile(
+                JavaFileObjects.forSourceLines("test.BasePanel",
+                        "package test;",
+                        "",
+                        "import io.jmix.masquerade.Wire;",
+                        "import io.jmix.masquerade.base.Composite;",
+                        "import io.jmix.masquerade.component.Label;",
+                        "",
+                        "public class BasePanel extends Composite<BasePanel> {",
+                        "    @Wire",
+                        "    protected Label title;",
+                        "}"),
+                JavaFileObjects.forSourceLines("test.ExtPanel",
+                        "package test;",
+                        "",
+                        "import io.jmix.masquerade.Wire;",
+                        "import io.jmix.masquerade.component.Label;",
+                        "",
+                        "public class ExtPanel extends BasePanel {",
+                        "    @Wire(path = \"subtitle\")",
+                        "    protected Label title;",
+                        "}"));
+
+        assertThat(compilation).succeeded();
+        assertThat(compilation).generatedSourceFile("test.ExtPanel_Wiring")
+                .contentsAsUtf8String()
+                .contains("instance.title = child(");
+        assertThat(compilation).generatedSourceFile("test.ExtPanel_Wiring")
+                .contentsAsUtf8String()
+                .contains("((test.BasePanel) instance).title = child(");
+    }
+
+    @Test
+    public void constantNamesAreUnique() {
+        Compilation compilation = compile(
+                JavaFileObjects.forSourceLines("test.a.Panel",
+                        "package test.a;",
+                        "",
+                        "import io.jmix.masquerade.Wire;",
+                        "import io.jmix.masquerade.base.Composite;",
+                        "import io.jmix.masquerade.component.Label;",
+                        "",
+                        "public class Panel<T> extends Composite<T> {",
+                        "    @Wire",
+                        "    public Label caption;",
+                        "}"),
+                JavaFileObjects.forSourceLines("test.b.Panel",
+                        "package test.b;",
+                        "",
+                        "import io.jmix.masquerade.Wire;",
+                        "import io.jmix.masquerade.component.Label;",
+                        "",
+                        "public class Panel extends test.a.Panel<Panel> {",
+                        "    @Wire",
+                        "    protected Label caption;",
+                        "    @Wire",
+                        "    protected Label fooBar;",
+                        "    @Wire",
+                        "    protected Label foo_bar;",
+                        "}"));
+
+        assertThat(compilation).succeeded();
+        assertThat(compilation).generatedSourceFile("test.b.Panel_Wiring")
+                .contentsAsUtf8String()
+                .contains("PANEL_CAPTION_BY_2");
+        assertThat(compilation).generatedSourceFile("test.b.Panel_Wiring")
+                .contentsAsUtf8String()
+                .contains("PANEL_FOO_BAR_BY_2");
+    }
+
+    private static Compilation compile(JavaFileObject... sources) {
+        return javac()
+                .withProcessors(new WiringProcessor())
+                .compile(sources);
+    }
+}
\ No newline at end of file
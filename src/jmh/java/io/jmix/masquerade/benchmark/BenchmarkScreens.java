@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.benchmark;
+
+import io.jmix.masquerade.Wire;
+import io.jmix.masquerade.base.Composite;
+import io.jmix.masquerade.component.Button;
+import io.jmix.masquerade.component.CheckBox;
+import io.jmix.masquerade.component.ComboBox;
+import io.jmix.masquerade.component.Label;
+import io.jmix.masquerade.component.Table;
+import io.jmix.masquerade.component.TextField;
+
+/**
+ * Composites of different size and depth used by benchmarks.
+ */
+public final class BenchmarkScreens {
+
+    private BenchmarkScreens() {
+    }
+
+    public static class SmallScreen extends Composite<SmallScreen> {
+        @Wire
+        protected TextField usernameField;
+        @Wire
+        protected TextField passwordField;
+        @Wire
+        protected CheckBox rememberMeCheckBox;
+        @Wire(path = {"loginFormLayout", "loginButton"})
+        protected Button loginButton;
+        @Wire
+        protected Label welcomeLabel;
+    }
+
+    public static class DetailsPanel extends Composite<DetailsPanel> {
+        @Wire
+        protected TextField nameField;
+        @Wire
+        protected ComboBox typeField;
+        @Wire
+        protected Table itemsTable;
+        @Wire
+        protected Button saveButton;
+    }
+
+    public static class EditorPanel extends Composite<EditorPanel> {
+        @Wire
+        protected DetailsPanel generalPanel;
+        @Wire
+        protected DetailsPanel addressPanel;
+        @Wire
+        protected Label captionLabel;
+    }
+
+    public static class DeepScreen extends Composite<DeepScreen> {
+        @Wire
+        protected EditorPanel customerEditor;
+        @Wire
+        protected EditorPanel orderEditor;
+        @Wire(path = {"actionsPanel", "okButton"})
+        protected Button okButton;
+        @Wire(path = {"actionsPanel", "cancelButton"})
+        protected Button cancelButton;
+    }
+}
\ No newline at end of file
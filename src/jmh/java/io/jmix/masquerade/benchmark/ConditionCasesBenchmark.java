@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.benchmark;
+
+import com.codeborne.selenide.Condition;
+import com.codeborne.selenide.SelenideElement;
+import com.codeborne.selenide.WebDriverRunner;
+import io.jmix.masquerade.sys.matcher.ConditionCases;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.codeborne.selenide.Selenide.$;
+import static com.leacox.motif.Motif.match;
+import static io.jmix.masquerade.Conditions.EDITABLE;
+import static io.jmix.masquerade.Conditions.ENABLED;
+import static io.jmix.masquerade.Conditions.value;
+import static io.jmix.masquerade.Selectors.byJTestId;
+
+/**
+ * Condition dispatch of field components through {@link ConditionCases#fieldApply}. Elements are
+ * resolved by {@link StubWebDriver}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConditionCasesBenchmark {
+
+    @Param({"value", "enabled", "editable"})
+    public String conditionName;
+
+    protected Condition condition;
+    protected SelenideElement impl;
+    protected SelenideElement inputImpl;
+
+    @Setup
+    public void setUp() {
+        WebDriverRunner.setWebDriver(new StubWebDriver());
+
+        impl = $(byJTestId("nameField"));
+        inputImpl = impl.$("input");
+
+        switch (conditionName) {
+            case "value":
+                condition = value("");
+                break;
+            case "enabled":
+                condition = ENABLED;
+                break;
+            case "editable":
+                condition = EDITABLE;
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported condition " + conditionName);
+        }
+    }
+
+    @Benchmark
+    public Boolean fieldApply() {
+        return ConditionCases.fieldApply(match(condition), impl, inputImpl)
+                .getMatch();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.benchmark;
+
+import com.codeborne.selenide.WebDriverRunner;
+import io.jmix.masquerade.Components;
+import io.jmix.masquerade.component.Button;
+import io.jmix.masquerade.sys.ComponentMethods;
+import io.jmix.masquerade.sys.ComponentMethods.Invoker;
+import io.jmix.masquerade.sys.ProxyCache;
+import io.jmix.masquerade.util.Log;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openqa.selenium.By;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.jmix.masquerade.Selectors.byJTestId;
+
+/**
+ * Calls through component proxies created by {@link Components#proxyComponent(Class, Object)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProxyInvocationBenchmark {
+
+    @Param({"METHOD_HANDLE", "REFLECTION"})
+    public Invoker invoker;
+
+    @Param({"true", "false"})
+    public boolean proxyCache;
+
+    protected Counter counter;
+    protected Button button;
+
+    @Setup
+    public void setUp() {
+        WebDriverRunner.setWebDriver(new StubWebDriver());
+
+        ComponentMethods.setInvoker(invoker);
+        ProxyCache.setEnabled(proxyCache);
+
+        Components.register(Counter.class, CounterImpl::new);
+        counter = Components.wire(Counter.class, byJTestId("counter"));
+        button = Components.wire(Button.class, byJTestId("button"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        ComponentMethods.setInvoker(Invoker.METHOD_HANDLE);
+        ProxyCache.setEnabled(true);
+    }
+
+    @Benchmark
+    public int plainCall() {
+        return counter.get();
+    }
+
+    @Benchmark
+    public int loggedCall() {
+        return counter.increment(1);
+    }
+
+    @Benchmark
+    public Counter selfReturningCall() {
+        return counter.self();
+    }
+
+    @Benchmark
+    public Object returnedComponentCall() {
+        return counter.getButton();
+    }
+
+    @Benchmark
+    public By componentGetBy() {
+        return button.getBy();
+    }
+
+    public interface Counter {
+        int get();
+
+        @Log
+        int increment(int delta);
+
+        Counter self();
+
+        Button getButton();
+    }
+
+    public static class CounterImpl implements Counter {
+        protected final Button button;
+        protected int value;
+
+        public CounterImpl(By by) {
+            this.button = Components.wire(Button.class, by);
+        }
+
+        @Override
+        public int get() {
+            return value;
+        }
+
+        @Override
+        public int increment(int delta) {
+            value += delta;
+            return value;
+        }
+
+        @Override
+        public Counter self() {
+            return this;
+        }
+
+        @Override
+        public Button getButton() {
+            return button;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.benchmark;
+
+import io.jmix.masquerade.Selectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openqa.selenium.By;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.jmix.masquerade.Selectors.byChain;
+import static io.jmix.masquerade.Selectors.byJTestId;
+import static io.jmix.masquerade.Selectors.byPath;
+
+/**
+ * Construction of masquerade selectors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SelectorsBenchmark {
+
+    protected By parentBy = byPath("customerEditor", "generalPanel");
+    protected By childBy = byJTestId("nameField");
+
+    @Benchmark
+    public By byPathSingle() {
+        return byPath("usernameField");
+    }
+
+    @Benchmark
+    public By byPathDeep() {
+        return byPath("customerEditor", "generalPanel", "itemsTable");
+    }
+
+    @Benchmark
+    public By byChainOfTwo() {
+        return byChain(parentBy, childBy);
+    }
+
+    @Benchmark
+    public By byChainMixed() {
+        return byChain(parentBy, Selectors.byClassName("v-table-table"), Selectors.byXpath(".//tr[1]"));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.benchmark;
+
+import com.codeborne.selenide.WebDriverRunner;
+import io.jmix.masquerade.Components;
+import io.jmix.masquerade.component.Table;
+import io.jmix.masquerade.sys.grid.LookupEngine;
+import io.jmix.masquerade.testsupport.ScriptingWebDriver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openqa.selenium.By;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.jmix.masquerade.Selectors.byCells;
+import static io.jmix.masquerade.Selectors.byJTestId;
+import static io.jmix.masquerade.Selectors.byRowIndex;
+import static io.jmix.masquerade.Selectors.byText;
+import static io.jmix.masquerade.Selectors.isSelected;
+
+/**
+ * Row lookups of {@link Table#getRow(By)} evaluated by both lookup engines. Unlike
+ * {@link TableRowLookupBenchmark}, selectors are evaluated in HtmlUnit against a table of {@link #rows} rows,
+ * the last row is looked up. HtmlUnit runs scripts slower than browsers, so results compare engines
+ * with each other only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TableRowEvaluationBenchmark {
+
+    @Param({"byText", "byRowIndex", "isSelected", "byCells"})
+    public String criterion;
+
+    @Param({"xpath", "css"})
+    public String engine;
+
+    @Param({"1000"})
+    public int rows;
+
+    protected Table table;
+    protected By rowBy;
+
+    @Setup
+    public void setUp() {
+        WebDriverRunner.setWebDriver(ScriptingWebDriver.fromHtml(createTableHtml(rows)));
+
+        table = Components.wire(Table.class, byJTestId("usersTable"))
+                .withLookupEngine(LookupEngine.fromId(engine));
+
+        int last = rows - 1;
+        switch (criterion) {
+            case "byText":
+                rowBy = byText("user" + last);
+                break;
+            case "byRowIndex":
+                rowBy = byRowIndex(last);
+                break;
+            case "isSelected":
+                rowBy = isSelected();
+                break;
+            case "byCells":
+                rowBy = byCells("user" + last, "User " + last);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported criterion " + criterion);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        WebDriverRunner.closeWebDriver();
+    }
+
+    @Benchmark
+    public boolean getRow() {
+        return table.getRow(rowBy).exists();
+    }
+
+    protected static String createTableHtml(int rows) {
+        StringBuilder html = new StringBuilder()
+                .append("<html><body><div j-test-id='usersTable' class='v-table v-widget'>")
+                .append("<div class='v-table-body'><table class='v-table-table'><tbody>");
+        for (int i = 0; i < rows; i++) {
+            String rowClass = i % 2 == 0 ? "v-table-row" : "v-table-row-odd";
+            if (i == rows - 1) {
+                rowClass += " v-selected";
+            }
+            html.append("<tr class='").append(rowClass).append("'>")
+                    .append("<td class='v-table-cell-content'><div class='v-table-cell-wrapper'>user")
+                    .append(i).append("</div></td>")
+                    .append("<td class='v-table-cell-content'><div class='v-table-cell-wrapper'>User ")
+                    .append(i).append("</div></td>")
+                    .append("</tr>");
+        }
+        return html.append("</tbody></table></div></div></body></html>").toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.benchmark;
+
+import com.codeborne.selenide.SelenideElement;
+import com.codeborne.selenide.WebDriverRunner;
+import io.jmix.masquerade.Components;
+import io.jmix.masquerade.component.Table;
+import io.jmix.masquerade.sys.grid.LookupEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openqa.selenium.By;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.jmix.masquerade.Selectors.byCells;
+import static io.jmix.masquerade.Selectors.byIndex;
+import static io.jmix.masquerade.Selectors.byJTestId;
+import static io.jmix.masquerade.Selectors.byRowIndex;
+import static io.jmix.masquerade.Selectors.byText;
+import static io.jmix.masquerade.Selectors.isSelected;
+import static io.jmix.masquerade.Selectors.withText;
+
+/**
+ * Row selector dispatch of {@link Table#getRow(By)}. Rows are Selenide elements that are not
+ * resolved, so the benchmark measures selector building only, see {@link TableRowEvaluationBenchmark}
+ * for evaluation of selectors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TableRowLookupBenchmark {
+
+    @Param({"byText", "withText", "byRowIndex", "byIndex", "isSelected", "byCells"})
+    public String criterion;
+
+    @Param({"xpath", "css"})
+    public String engine;
+
+    protected Table table;
+    protected By rowBy;
+
+    @Setup
+    public void setUp() {
+        WebDriverRunner.setWebDriver(new StubWebDriver());
+
+        table = Components.wire(Table.class, byJTestId("usersTable"))
+                .withLookupEngine(LookupEngine.fromId(engine));
+
+        switch (criterion) {
+            case "byText":
+                rowBy = byText("admin");
+                break;
+            case "withText":
+                rowBy = withText("adm");
+                break;
+            case "byRowIndex":
+                rowBy = byRowIndex(10);
+                break;
+            case "byIndex":
+                rowBy = byIndex(10);
+                break;
+            case "isSelected":
+                rowBy = isSelected();
+                break;
+            case "byCells":
+                rowBy = byCells("admin", "Administrator", "true");
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported criterion " + criterion);
+        }
+    }
+
+    @Benchmark
+    public SelenideElement getRow() {
+        return table.getRow(rowBy);
+    }
+}
\ No newline at end of file
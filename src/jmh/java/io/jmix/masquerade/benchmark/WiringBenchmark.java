@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.benchmark;
+
+import com.codeborne.selenide.WebDriverRunner;
+import io.jmix.masquerade.Components;
+import io.jmix.masquerade.benchmark.BenchmarkScreens.DeepScreen;
+import io.jmix.masquerade.benchmark.BenchmarkScreens.SmallScreen;
+import io.jmix.masquerade.sys.wiring.LazyWiring;
+import io.jmix.masquerade.sys.wiring.Wirers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wiring of composites with generated / reflective wiring and eager / lazy fields.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WiringBenchmark {
+
+    @Param({"true", "false"})
+    public boolean generated;
+
+    @Param({"false", "true"})
+    public boolean lazy;
+
+    @Setup
+    public void setUp() {
+        WebDriverRunner.setWebDriver(new StubWebDriver());
+
+        Wirers.setEnabled(generated);
+        LazyWiring.setEnabled(lazy);
+    }
+
+    @TearDown
+    public void tearDown() {
+        Wirers.setEnabled(true);
+        LazyWiring.setEnabled(false);
+    }
+
+    @Benchmark
+    public SmallScreen wireSmall() {
+        return Components.wire(SmallScreen.class);
+    }
+
+    @Benchmark
+    public DeepScreen wireDeep() {
+        return Components.wire(DeepScreen.class);
+    }
+}
\ No newline at end of file
@@ -18,52 +18,34 @@ package io.jmix.masquerade;
 
 import com.codeborne.selenide.SelenideElement;
 import io.jmix.masquerade.base.SelenideElementWrapper;
-import io.jmix.masquerade.config.ComponentConfig;
-import io.jmix.masquerade.config.DefaultComponentConfig;
+import io.jmix.masquerade.sys.ComponentRegistry;
 import io.jmix.masquerade.sys.LoggingInvocationHandler;
-import org.apache.commons.lang3.reflect.FieldUtils;
+import io.jmix.masquerade.sys.ProxyCache;
+import io.jmix.masquerade.sys.wiring.LazyWiring;
+import io.jmix.masquerade.sys.wiring.Wirer;
+import io.jmix.masquerade.sys.wiring.Wirers;
+import io.jmix.masquerade.sys.wiring.WiringPlan;
+import io.jmix.masquerade.sys.wiring.WiringPlan.FieldPlan;
+import io.jmix.masquerade.sys.wiring.WiringPlans;
+import io.jmix.masquerade.sys.wiring.WiringVerifier;
 import org.openqa.selenium.By;
-import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.pagefactory.Annotations;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Proxy;
-import java.util.Map;
-import java.util.ServiceLoader;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import static com.codeborne.selenide.Selenide.$;
-import static io.jmix.masquerade.Selectors.byChain;
 import static io.jmix.masquerade.Selectors.byPath;
 import static io.jmix.masquerade.Selectors.byTarget;
 
 public class Components {
-    private static final By BODY_MARKER_BY = By.tagName("body");
-
-    private static final Map<Class, Function<By, ?>> components = new ConcurrentHashMap<>();
-
-    static {
-        ComponentConfig defaultConfig = new DefaultComponentConfig();
-        components.putAll(defaultConfig.getComponents());
-
-        // import implementations from project
-        ServiceLoader<ComponentConfig> configs = ServiceLoader.load(ComponentConfig.class);
-        for (ComponentConfig componentConfig : configs) {
-            LoggerFactory.getLogger(Components.class)
-                    .info("Loading components from {}", componentConfig.getClass());
-
-            components.putAll(componentConfig.getComponents());
-        }
-    }
+    private static final By BODY_MARKER_BY = WiringPlan.BODY_MARKER_BY;
 
     protected Components() {
     }
 
     public static <T> void register(Class<T> clazz, Function<By, T> componentSupplier) {
-        components.put(clazz, componentSupplier);
+        ComponentRegistry.get().register(clazz, componentSupplier);
     }
 
     public static <T> T wire(Class<T> clazz) {
@@ -75,19 +57,55 @@ public class Components {
             targetBy = BODY_MARKER_BY;
         }
 
-        return wireClassBy(clazz, targetBy);
+        return verifyIfRequired(clazz, wireClassBy(clazz, targetBy));
     }
 
     public static <T> T wire(Class<T> clazz, String... path) {
-        return wireClassBy(clazz, byPath(path));
+        return verifyIfRequired(clazz, wireClassBy(clazz, byPath(path)));
     }
 
     public static <T> T wire(Class<T> clazz, By by) {
-        return wireClassBy(clazz, by);
+        return verifyIfRequired(clazz, wireClassBy(clazz, by));
     }
 
     public static <T> T wire(Class<T> clazz, SelenideElement target) {
-        return wireClassBy(clazz, byTarget(target));
+        return verifyIfRequired(clazz, wireClassBy(clazz, byTarget(target)));
+    }
+
+    /**
+     * Wires a nested component or composite while its parent is being wired. Nested composites are not
+     * verified on their own, verification of the top-level composite covers them.
+     *
+     * @param clazz type of the nested component
+     * @param by    selector of the nested component
+     * @param <T>   type of the nested component
+     * @return nested component
+     */
+    public static <T> T wireChild(Class<T> clazz, By by) {
+        return wireClassBy(clazz, by);
+    }
+
+    /**
+     * Checks that all components of the wired composite and its nested composites exist on the page
+     * using one script call per polling attempt. Waits for missing components up to Selenide timeout.
+     *
+     * @param composite wired composite
+     * @param <T>       type of composite
+     * @return composite
+     * @throws io.jmix.masquerade.util.MissingComponentsException with all missing components
+     */
+    public static <T> T verify(T composite) {
+        WiringVerifier.verify(composite);
+        return composite;
+    }
+
+    protected static <T> T verifyIfRequired(Class<T> clazz, T instance) {
+        if (!clazz.isInterface()
+                && !SelenideElement.class.isAssignableFrom(clazz)
+                && WiringPlans.get(clazz).isVerify()) {
+            WiringVerifier.verify(instance);
+        }
+        return instance;
     }
 
     protected static <T> T wireClassBy(Class<T> clazz, By by) {
@@ -98,10 +116,12 @@ public class Components {
             throw new IllegalArgumentException("Class cannot be null");
         }
 
-        Function<By, ?> component = components.get(clazz);
+        Function<By, ?> component = ComponentRegistry.get().find(clazz);
         if (component != null) {
             // if it is an interface - we can proxy it and add logging automatically
-            T instance = clazz.cast(component.apply(by));
+            // implementation of a super-interface is used for sub-interfaces without own methods
+            @SuppressWarnings("unchecked")
+            T instance = (T) component.apply(by);
 
             return proxyComponent(clazz, instance);
         } else {
@@ -113,26 +133,22 @@ public class Components {
                 }
             }
 
-            // custom composite
-            T instance;
-            try {
-                instance = clazz.newInstance();
-            } catch (InstantiationException | IllegalAccessException e) {
-                throw new RuntimeException("Unable to instantiate composite " + clazz.getName(), e);
+            // custom composite with generated wiring
+            Wirer<T> wirer = Wirers.get(clazz);
+            if (wirer != null) {
+                return wirer.wire(by);
             }
 
+            // custom composite
+            WiringPlan<T> plan = WiringPlans.get(clazz);
+            T instance = plan.newInstance();
+
             // connect fields
-            Field[] allFields = FieldUtils.getAllFields(clazz);
-            for (Field field : allFields) {
-                Object fieldValue = getTargetFieldValue(clazz, field, by);
+            for (FieldPlan fieldPlan : plan.getFields()) {
+                Object fieldValue = getTargetFieldValue(fieldPlan, by);
 
                 if (fieldValue != null) {
-                    try {
-                        field.setAccessible(true);
-                        field.set(instance, fieldValue);
-                    } catch (IllegalAccessException e) {
-                        throw new RuntimeException("Unable to inject field " + field.getName(), e);
-                    }
+                    fieldPlan.inject(instance, fieldValue);
                 }
             }
 
@@ -141,60 +157,41 @@ public class Components {
     }
 
     protected static Object getTargetFieldValue(Class clazz, Field field, By parentBy) {
-        String fieldName = field.getName();
-
-        Wire wire = field.getAnnotation(Wire.class);
-
-        Object fieldValue;
-        if (wire != null) {
-            if (field.getType() == SelenideElement.class) {
-                fieldValue = $(parentBy);
-            } else if (field.getType() == By.class) {
-                fieldValue = parentBy;
-            } else if (field.getType() == Logger.class) {
-                fieldValue = LoggerFactory.getLogger(clazz);
-            } else {
-                String[] path = wire.path();
-                if (path.length == 0) {
-                    path = new String[]{fieldName};
-                }
+        //noinspection unchecked
+        FieldPlan fieldPlan = WiringPlans.get((Class<Object>) clazz).getField(field);
+        if (fieldPlan == null) {
+            return null;
+        }
 
-                By fieldBy;
-                if (parentBy == BODY_MARKER_BY) {
-                    fieldBy = byPath(path);
-                } else {
-                    fieldBy = byChain(parentBy, byPath(path));
-                }
-                fieldValue = wireClassBy(field.getType(), fieldBy);
-            }
-        } else {
-            FindBy findBy = field.getAnnotation(FindBy.class);
-            if (findBy != null) {
-                By selector = new Annotations(field).buildBy();
-
-                By fieldBy;
-                if (parentBy == BODY_MARKER_BY) {
-                    fieldBy = selector;
-                } else {
-                    fieldBy = byChain(parentBy, selector);
-                }
+        return getTargetFieldValue(fieldPlan, parentBy);
+    }
 
-                fieldValue = wireClassBy(field.getType(), fieldBy);
-            } else {
-                fieldValue = null;
-            }
+    public static Object getTargetFieldValue(FieldPlan fieldPlan, By parentBy) {
+        switch (fieldPlan.getKind()) {
+            case ELEMENT:
+                return $(parentBy);
+            case LOCATOR:
+                return parentBy;
+            case LOGGER:
+                return fieldPlan.getLogger();
+            case COMPONENT:
+                if (fieldPlan.isLazy() || LazyWiring.isDeferring()) {
+                    return LazyWiring.wire(fieldPlan.getType(), fieldPlan.getChildBy(parentBy));
+                }
+                return wireClassBy(fieldPlan.getType(), fieldPlan.getChildBy(parentBy));
+            default:
+                throw new IllegalStateException("Unsupported field kind " + fieldPlan.getKind());
         }
-
-        return fieldValue;
     }
 
     @SuppressWarnings("unchecked")
     public static <T> T proxyComponent(Class<T> componentClass, T target) {
         LoggingInvocationHandler invocationHandler = new LoggingInvocationHandler(componentClass, target);
+        ProxyCache proxyCache = new ProxyCache();
         invocationHandler.setProxyFactory((interfaceClass, object) -> {
             if (SelenideElementWrapper.class.isAssignableFrom(interfaceClass)
                     && interfaceClass.isInterface()) {
-                return proxyComponent(interfaceClass, object);
+                return proxyCache.get(interfaceClass, object, result -> proxyComponent(interfaceClass, result));
             }
 
             return object;
@@ -19,14 +19,23 @@ package io.jmix.masquerade;
 import com.codeborne.selenide.SelenideElement;
 import com.codeborne.selenide.selector.ByText;
 import com.codeborne.selenide.selector.WithText;
+import io.jmix.masquerade.sys.JTestIdIndex;
+import io.jmix.masquerade.sys.Scripts;
+import io.jmix.masquerade.sys.SelectorSteps;
+import io.jmix.masquerade.sys.SelectorSteps.Step;
 import org.apache.commons.lang3.StringUtils;
 import org.openqa.selenium.By;
 import org.openqa.selenium.By.ByClassName;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.pagefactory.ByChained;
 
+import javax.annotation.Nullable;
 import java.util.List;
+import java.util.Optional;
 
 import static com.codeborne.selenide.Selenide.$;
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -73,6 +82,17 @@ public class Selectors extends com.codeborne.selenide.Selectors {
         return new ByCells(cellValues);
     }
 
+    /**
+     * Find row that has given cell values in the given order: the first value in the first column,
+     * the second value in the second column and so on.
+     *
+     * @param cellValues values of the leading columns
+     * @return selector
+     */
+    public static By byOrderedCells(String... cellValues) {
+        return new ByCells(cellValues, true);
+    }
+
     public static By byIndex(int index) {
         return new ByIndex(index);
     }
@@ -190,20 +210,163 @@ public class Selectors extends com.codeborne.selenide.Selectors {
             return jTestId;
         }
 
+        @Override
+        public List<WebElement> findElements(SearchContext context) {
+            if (JTestIdIndex.isEnabled() && context instanceof WebDriver && context instanceof JavascriptExecutor) {
+                List<WebElement> elements = JTestIdIndex.find((JavascriptExecutor) context, singletonList(jTestId));
+                if (elements != null) {
+                    return elements;
+                }
+            }
+            return super.findElements(context);
+        }
+
         @Override
         public String toString() {
             return "By.jTestId: " + jTestId;
         }
     }
 
+    /**
+     * Chain of selectors, each selector is applied to elements found by the previous one.
+     * <br>
+     * When the chain is located from the page, leading CSS selectors of the chain (j-test-ids,
+     * class names, tags) are collapsed into one descendant CSS selector, so that a path of N
+     * components takes one command instead of one command per level and intermediate element.
+     * Collapsing can be disabled with {@code -Dmasquerade.selectors.collapse=false}.
+     * <br>
+     * Chains that mix CSS and XPath selectors are resolved in the browser by one script call.
+     * The script can be disabled with {@code -Dmasquerade.selectors.script=false}.
+     * <br>
+     * Chains of j-test-ids are resolved with {@link JTestIdIndex} if the index is enabled.
+     */
     public static class ByChain extends ByChained {
+        private static volatile boolean collapseEnabled =
+                Boolean.parseBoolean(System.getProperty("masquerade.selectors.collapse", "true"));
+        private static volatile boolean scriptEnabled =
+                Boolean.parseBoolean(System.getProperty("masquerade.selectors.script", "true"));
+
         private By[] bys;
 
+        private volatile Optional<By> collapsedBy;
+        private volatile Optional<List<Step>> steps;
+        private volatile Optional<List<String>> jTestIdPath;
+
         public ByChain(By... bys) {
             super(bys);
             this.bys = bys;
         }
 
+        public static boolean isCollapseEnabled() {
+            return collapseEnabled;
+        }
+
+        public static void setCollapseEnabled(boolean collapseEnabled) {
+            ByChain.collapseEnabled = collapseEnabled;
+        }
+
+        public static boolean isScriptEnabled() {
+            return scriptEnabled;
+        }
+
+        public static void setScriptEnabled(boolean scriptEnabled) {
+            ByChain.scriptEnabled = scriptEnabled;
+        }
+
+        /**
+         * @return selector equivalent to the chain with leading CSS selectors collapsed,
+         * null if the chain cannot be collapsed
+         */
+        @Nullable
+        public By getCollapsedBy() {
+            Optional<By> collapsedBy = this.collapsedBy;
+            if (collapsedBy == null) {
+                collapsedBy = Optional.ofNullable(SelectorSteps.collapse(bys));
+                this.collapsedBy = collapsedBy;
+            }
+            return collapsedBy.orElse(null);
+        }
+
+        /**
+         * @return steps of the chain for the browser resolver, null if some links cannot be
+         * evaluated by scripts
+         */
+        @Nullable
+        public List<Step> getSteps() {
+            Optional<List<Step>> steps = this.steps;
+            if (steps == null) {
+                steps = Optional.ofNullable(SelectorSteps.of(this));
+                this.steps = steps;
+            }
+            return steps.orElse(null);
+        }
+
+        /**
+         * @return j-test-ids of the chain, null if some links are not j-test-ids
+         */
+        @Nullable
+        public List<String> getJTestIdPath() {
+            Optional<List<String>> jTestIdPath = this.jTestIdPath;
+            if (jTestIdPath == null) {
+                jTestIdPath = Optional.ofNullable(JTestIdIndex.getPath(this));
+                this.jTestIdPath = jTestIdPath;
+            }
+            return jTestIdPath.orElse(null);
+        }
+
+        @Override
+        public WebElement findElement(SearchContext context) {
+            List<WebElement> elements = findElements(context);
+            if (elements.isEmpty()) {
+                throw new NoSuchElementException("Cannot locate an element using " + this);
+            }
+            return elements.get(0);
+        }
+
+        @Override
+        public List<WebElement> findElements(SearchContext context) {
+            // CSS descendant selector and the resolver script are evaluated against the whole document,
+            // chains located inside elements keep step by step lookup
+            if (context instanceof WebDriver) {
+                List<String> jTestIdPath = JTestIdIndex.isEnabled() ? getJTestIdPath() : null;
+                if (jTestIdPath != null && context instanceof JavascriptExecutor) {
+                    List<WebElement> elements = JTestIdIndex.find((JavascriptExecutor) context, jTestIdPath);
+                    if (elements != null) {
+                        return elements;
+                    }
+                }
+
+                By collapsedBy = collapseEnabled ? getCollapsedBy() : null;
+                if (collapsedBy != null && !(collapsedBy instanceof ByChained)) {
+                    return collapsedBy.findElements(context);
+                }
+
+                if (scriptEnabled && context instanceof JavascriptExecutor) {
+                    List<WebElement> elements = resolve((JavascriptExecutor) context);
+                    if (elements != null) {
+                        return elements;
+                    }
+                }
+
+                if (collapsedBy != null) {
+                    return collapsedBy.findElements(context);
+                }
+            }
+            return super.findElements(context);
+        }
+
+        @Nullable
+        @SuppressWarnings("unchecked")
+        protected List<WebElement> resolve(JavascriptExecutor executor) {
+            List<Step> steps = getSteps();
+            if (steps == null || steps.size() < 2) {
+                return null;
+            }
+
+            Object elements = executor.executeScript(Scripts.get("resolve"), SelectorSteps.toScriptArgument(steps));
+            return elements instanceof List ? (List<WebElement>) elements : null;
+        }
+
         public By[] getBys() {
             return bys;
         }
@@ -249,9 +412,15 @@ public class Selectors extends com.codeborne.selenide.Selectors {
 
     public static class ByCells extends By {
         private final String[] cellValues;
+        private final boolean ordered;
 
         public ByCells(String[] cellValues) {
+            this(cellValues, false);
+        }
+
+        public ByCells(String[] cellValues, boolean ordered) {
             this.cellValues = cellValues;
+            this.ordered = ordered;
         }
 
         @Override
@@ -264,9 +433,16 @@ public class Selectors extends com.codeborne.selenide.Selectors {
             return cellValues;
         }
 
+        /**
+         * @return true if the i-th value must be matched by the i-th cell of a row
+         */
+        public boolean isOrdered() {
+            return ordered;
+        }
+
         @Override
         public String toString() {
-            return "By.cells: " + StringUtils.join(cellValues, ',');
+            return (ordered ? "By.orderedCells: " : "By.cells: ") + StringUtils.join(cellValues, ',');
         }
     }
 
@@ -296,6 +472,8 @@ public class Selectors extends com.codeborne.selenide.Selectors {
 
         public ByTargetClassName(String className) {
             super(className);
+
+            this.expectedClassName = className;
         }
 
         public String getExpectedClassName() {
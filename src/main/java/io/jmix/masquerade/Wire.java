@@ -22,4 +22,20 @@ import java.lang.annotation.RetentionPolicy;
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Wire {
     String[] path() default {};
+
+    /**
+     * Defers creation of nested components until the first method call.
+     * <br>
+     * If set on a composite class, applies to all its fields. Fields of component interfaces are deferred,
+     * nested composites are created right away and their components are deferred.
+     * Can be enabled globally with {@code -Dmasquerade.wiring.lazy=true}.
+     */
+    boolean lazy() default false;
+
+    /**
+     * If set on a composite class, checks that all components of the composite exist on the page
+     * right after wiring, see {@link Components#verify(Object)}. Only composites wired directly, e.g. with
+     * {@link Components#wire(Class)}, are verified, nested composites are checked with their top-level composite.
+     */
+    boolean verify() default false;
 }
\ No newline at end of file
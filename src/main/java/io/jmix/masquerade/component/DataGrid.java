@@ -4,9 +4,13 @@ import com.codeborne.selenide.ElementsCollection;
 import com.codeborne.selenide.SelenideElement;
 import io.jmix.masquerade.Conditions;
 import io.jmix.masquerade.Selectors;
+import io.jmix.masquerade.sys.grid.LookupEngine;
 import io.jmix.masquerade.util.Log;
 import org.openqa.selenium.By;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 /**
  * DataGrid component.
  * <br>
@@ -27,6 +31,7 @@ public interface DataGrid extends Component<DataGrid> {
      * <ul>
      * <li>{@link Selectors#byText(String)}</li>
      * <li>{@link Selectors#byCells(String...)}</li>
+     * <li>{@link Selectors#byOrderedCells(String...)}</li>
      * <li>{@link Selectors#withText(String)}</li>
      * <li>{@link Selectors#byRowIndex(int)}</li>
      * <li>{@link Selectors#byIndex(int)}</li>
@@ -46,6 +51,7 @@ public interface DataGrid extends Component<DataGrid> {
      * <ul>
      * <li>{@link Selectors#byText(String)}</li>
      * <li>{@link Selectors#byCells(String...)}</li>
+     * <li>{@link Selectors#byOrderedCells(String...)}</li>
      * <li>{@link Selectors#withText(String)}</li>
      * <li>{@link Selectors#byRowIndex(int)}</li>
      * <li>{@link Selectors#byIndex(int)}</li>
@@ -98,6 +104,7 @@ public interface DataGrid extends Component<DataGrid> {
      * <ul>
      * <li>{@link Selectors#byText(String)}</li>
      * <li>{@link Selectors#byCells(String...)}</li>
+     * <li>{@link Selectors#byOrderedCells(String...)}</li>
      * <li>{@link Selectors#withText(String)}</li>
      * <li>{@link Selectors#isSelected()}</li>
      * <li>{@link Selectors#byRowIndex(int)}</li>
@@ -116,6 +123,7 @@ public interface DataGrid extends Component<DataGrid> {
      * <ul>
      * <li>{@link Selectors#byText(String)}</li>
      * <li>{@link Selectors#byCells(String...)}</li>
+     * <li>{@link Selectors#byOrderedCells(String...)}</li>
      * <li>{@link Selectors#withText(String)}</li>
      * <li>{@link Selectors#isSelected()}</li>
      * <li>{@link Selectors#byRowIndex(int)}</li>
@@ -134,6 +142,7 @@ public interface DataGrid extends Component<DataGrid> {
      * <ul>
      * <li>{@link Selectors#byText(String)}</li>
      * <li>{@link Selectors#byCells(String...)}</li>
+     * <li>{@link Selectors#byOrderedCells(String...)}</li>
      * <li>{@link Selectors#withText(String)}</li>
      * <li>{@link Selectors#isSelected()}</li>
      * <li>{@link Selectors#byRowIndex(int)}</li>
@@ -145,6 +154,19 @@ public interface DataGrid extends Component<DataGrid> {
      */
     ElementsCollection selectRows(By rowBy);
 
+    /**
+     * Selects a contiguous range of DataGrid rows with a click on the first row and a shift-click on the last one,
+     * the previous selection is replaced. The resulting selection of rendered rows is checked with one browser
+     * call, so that a large block of rows is selected with two server round trips instead of one per row.
+     * <br>
+     * Supports the same bys as {@link #selectRows(By)} that locate a single row.
+     *
+     * @param fromBy selector of the first row of the range
+     * @param toBy   selector of the last row of the range
+     * @return selenide element collection of selected rows
+     */
+    ElementsCollection selectRange(By fromBy, By toBy);
+
     /**
      * Select DataGrid header cell.
      * <br>
@@ -171,6 +193,52 @@ public interface DataGrid extends Component<DataGrid> {
 
     SelenideElement getDetailsRow();
 
+    /**
+     * Switches the way rows and cells of this data grid are located by {@link #getRow(By)}, {@link #getRows(By)},
+     * {@link #getCell(By)} and {@link #getCells(By)}.
+     *
+     * @param engine lookup engine, null to use the default one
+     * @return this data grid
+     * @see io.jmix.masquerade.sys.grid.GridLookups
+     */
+    DataGrid withLookupEngine(LookupEngine engine);
+
+    /**
+     * Collects column ids, header captions and normalized texts of all rendered rows with one browser call,
+     * so that the content of the data grid can be checked without locating rows and cells one by one.
+     *
+     * @return snapshot of rendered rows
+     */
+    TableSnapshot snapshot();
+
+    /**
+     * Maps all rendered rows of the data grid to instances of a row class, e.g. a record with
+     * {@link io.jmix.masquerade.Column} annotations on components. Rows are collected with one browser call,
+     * column ids are resolved to indexes once from the header.
+     * <pre>
+     * record User(&#64;Column("login") String login, &#64;Column("name") String name) {}
+     *
+     * List&lt;User&gt; users = usersTable.rows(User.class);
+     * </pre>
+     *
+     * @param type row class
+     * @param <R>  type of rows
+     * @return mapped rows
+     * @see io.jmix.masquerade.sys.grid.RowMapper
+     */
+    <R> List<R> rows(Class<R> type);
+
+    /**
+     * Lazily reads all rows of the data grid including rows that are not rendered yet. The grid is scrolled
+     * by one rendered window at a time and rows of each window are collected with one browser call,
+     * so that only one window of rows is kept in memory.
+     * <br>
+     * Rows are ordered by their index, the grid stays scrolled to the last read window.
+     *
+     * @return stream of rows
+     */
+    Stream<TableSnapshot.Row> streamRows();
+
     @Log
     DataGrid sort(String columnId, DataGrid.SortDirection direction);
 
@@ -61,6 +61,14 @@ public interface GroupTable extends Component<GroupTable> {
     @Log
     GroupTable collapseAll();
 
+    /**
+     * Collects column ids, header captions and normalized texts of all rendered rows with one browser call.
+     * Group rows are marked with {@link TableSnapshot.Row#isGroup()} and {@link TableSnapshot.Row#isExpanded()}.
+     *
+     * @return snapshot of rendered rows
+     */
+    TableSnapshot snapshot();
+
     /**
      * @return current component as {@link Table} instance
      */
@@ -20,9 +20,12 @@ import com.codeborne.selenide.ElementsCollection;
 import com.codeborne.selenide.SelenideElement;
 import io.jmix.masquerade.Conditions;
 import io.jmix.masquerade.Selectors;
+import io.jmix.masquerade.sys.grid.LookupEngine;
 import io.jmix.masquerade.util.Log;
 import org.openqa.selenium.By;
 
+import java.util.List;
+
 /**
  * Table component.
  * <br>
@@ -43,6 +46,7 @@ public interface Table extends Component<Table> {
      * <ul>
      * <li>{@link Selectors#byText(String)}</li>
      * <li>{@link Selectors#byCells(String...)}</li>
+     * <li>{@link Selectors#byOrderedCells(String...)}</li>
      * <li>{@link Selectors#withText(String)}</li>
      * <li>{@link Selectors#byRowIndex(int)}</li>
      * <li>{@link Selectors#byIndex(int)}</li>
@@ -62,6 +66,7 @@ public interface Table extends Component<Table> {
      * <ul>
      * <li>{@link Selectors#byText(String)}</li>
      * <li>{@link Selectors#byCells(String...)}</li>
+     * <li>{@link Selectors#byOrderedCells(String...)}</li>
      * <li>{@link Selectors#withText(String)}</li>
      * <li>{@link Selectors#byRowIndex(int)}</li>
      * <li>{@link Selectors#byIndex(int)}</li>
@@ -114,6 +119,7 @@ public interface Table extends Component<Table> {
      * <ul>
      * <li>{@link Selectors#byText(String)}</li>
      * <li>{@link Selectors#byCells(String...)}</li>
+     * <li>{@link Selectors#byOrderedCells(String...)}</li>
      * <li>{@link Selectors#withText(String)}</li>
      * <li>{@link Selectors#isSelected()}</li>
      * <li>{@link Selectors#byRowIndex(int)}</li>
@@ -133,6 +139,7 @@ public interface Table extends Component<Table> {
      * <ul>
      * <li>{@link Selectors#byText(String)}</li>
      * <li>{@link Selectors#byCells(String...)}</li>
+     * <li>{@link Selectors#byOrderedCells(String...)}</li>
      * <li>{@link Selectors#withText(String)}</li>
      * <li>{@link Selectors#isSelected()}</li>
      * <li>{@link Selectors#byRowIndex(int)}</li>
@@ -152,6 +159,7 @@ public interface Table extends Component<Table> {
      * <ul>
      * <li>{@link Selectors#byText(String)}</li>
      * <li>{@link Selectors#byCells(String...)}</li>
+     * <li>{@link Selectors#byOrderedCells(String...)}</li>
      * <li>{@link Selectors#withText(String)}</li>
      * <li>{@link Selectors#isSelected()}</li>
      * <li>{@link Selectors#byRowIndex(int)}</li>
@@ -164,6 +172,55 @@ public interface Table extends Component<Table> {
     @Log
     ElementsCollection selectRows(By rowBy);
 
+    /**
+     * Selects a contiguous range of Table rows with a click on the first row and a shift-click on the last one,
+     * the previous selection is replaced. The resulting selection of rendered rows is checked with one browser
+     * call, so that a large block of rows is selected with two server round trips instead of one per row.
+     * <br>
+     * Supports the same bys as {@link #selectRows(By)} that locate a single row.
+     *
+     * @param fromBy selector of the first row of the range
+     * @param toBy   selector of the last row of the range
+     * @return selenide element collection of selected rows
+     */
+    @Log
+    ElementsCollection selectRange(By fromBy, By toBy);
+
+    /**
+     * Switches the way rows and cells of this table are located by {@link #getRow(By)}, {@link #getRows(By)},
+     * {@link #getCell(By)} and {@link #getCells(By)}.
+     *
+     * @param engine lookup engine, null to use the default one
+     * @return this table
+     * @see io.jmix.masquerade.sys.grid.GridLookups
+     */
+    Table withLookupEngine(LookupEngine engine);
+
+    /**
+     * Collects column ids, header captions and normalized texts of all rendered rows with one browser call,
+     * so that the content of the table can be checked without locating rows and cells one by one.
+     *
+     * @return snapshot of rendered rows
+     */
+    TableSnapshot snapshot();
+
+    /**
+     * Maps all rendered rows of the table to instances of a row class, e.g. a record with
+     * {@link io.jmix.masquerade.Column} annotations on components. Rows are collected with one browser call,
+     * column ids are resolved to indexes once from the header.
+     * <pre>
+     * record User(&#64;Column("login") String login, &#64;Column("name") String name) {}
+     *
+     * List&lt;User&gt; users = usersTable.rows(User.class);
+     * </pre>
+     *
+     * @param type row class
+     * @param <R>  type of rows
+     * @return mapped rows
+     * @see io.jmix.masquerade.sys.grid.RowMapper
+     */
+    <R> List<R> rows(Class<R> type);
+
     @Log
     Table sort(String columnId, SortDirection direction);
 
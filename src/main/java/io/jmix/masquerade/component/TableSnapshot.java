@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.component;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable snapshot of rendered rows of {@link Table}, {@link GroupTable} or {@link DataGrid}:
+ * column ids, header captions and normalized cell texts of rows, collected by one browser call.
+ * Texts are normalized the same way as by text lookups of rows and cells, like XPath
+ * {@code normalize-space}: non-breaking spaces are kept.
+ * <br>
+ * Only rows rendered by the browser are included, rows of lazy-loaded components that are not
+ * scrolled into view are not present in the snapshot.
+ */
+public final class TableSnapshot {
+
+    private final List<String> columnIds;
+    private final List<String> captions;
+    private final List<Row> rows;
+
+    public TableSnapshot(List<String> columnIds, List<String> captions, List<Row> rows) {
+        this.columnIds = Collections.unmodifiableList(new ArrayList<>(columnIds));
+        this.captions = Collections.unmodifiableList(new ArrayList<>(captions));
+        this.rows = Collections.unmodifiableList(new ArrayList<>(rows));
+    }
+
+    /**
+     * @return ids of columns without {@code column_} prefix, null for columns without id
+     */
+    public List<String> getColumnIds() {
+        return columnIds;
+    }
+
+    /**
+     * @return normalized captions of column headers
+     */
+    public List<String> getCaptions() {
+        return captions;
+    }
+
+    public List<Row> getRows() {
+        return rows;
+    }
+
+    public Row getRow(int index) {
+        return rows.get(index);
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    /**
+     * @param columnId column id with or without {@code column_} prefix
+     * @return index of the column or -1 if the column is not found
+     */
+    public int getColumnIndex(String columnId) {
+        if (columnId.startsWith("column_")) {
+            columnId = columnId.substring("column_".length());
+        }
+        return columnIds.indexOf(columnId);
+    }
+
+    /**
+     * @param columnId column id with or without {@code column_} prefix
+     * @return texts of the column in all rows, null for rows without the column, e.g. group rows
+     * @throws IllegalArgumentException if the column is not found
+     */
+    public List<String> getColumn(String columnId) {
+        int index = getColumnIndex(columnId);
+        if (index < 0) {
+            throw new IllegalArgumentException("Column " + columnId + " is not found in " + columnIds);
+        }
+
+        List<String> column = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            column.add(row.getText(index));
+        }
+        return column;
+    }
+
+    /**
+     * @return normalized cell texts, one array per row
+     */
+    public String[][] getTexts() {
+        String[][] texts = new String[rows.size()][];
+        for (int i = 0; i < rows.size(); i++) {
+            texts[i] = rows.get(i).getTexts().toArray(new String[0]);
+        }
+        return texts;
+    }
+
+    /**
+     * @return selected rows
+     */
+    public List<Row> getSelectedRows() {
+        List<Row> selected = new ArrayList<>();
+        for (Row row : rows) {
+            if (row.isSelected()) {
+                selected.add(row);
+            }
+        }
+        return selected;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(captions);
+        for (Row row : rows) {
+            sb.append('\n').append(row);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Rendered row of a snapshot.
+     */
+    public static final class Row {
+        private final int index;
+        private final List<String> texts;
+        private final boolean selected;
+        private final boolean group;
+        private final boolean expanded;
+
+        public Row(int index, List<String> texts, boolean selected, boolean group, boolean expanded) {
+            this.index = index;
+            this.texts = Collections.unmodifiableList(new ArrayList<>(texts));
+            this.selected = selected;
+            this.group = group;
+            this.expanded = expanded;
+        }
+
+        /**
+         * @return index of the row among rendered rows
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * @return normalized texts of cells
+         */
+        public List<String> getTexts() {
+            return texts;
+        }
+
+        /**
+         * @param column index of the column
+         * @return normalized text of the cell or null if the row has no such cell
+         */
+        @Nullable
+        public String getText(int column) {
+            return column < texts.size() ? texts.get(column) : null;
+        }
+
+        /**
+         * @param values texts of cells in column order
+         * @return true if the leading cells of the row have the given texts
+         */
+        public boolean hasTexts(String... values) {
+            return values.length <= texts.size()
+                    && texts.subList(0, values.length).equals(Arrays.asList(values));
+        }
+
+        public boolean isSelected() {
+            return selected;
+        }
+
+        /**
+         * @return true if the row is a group row of {@link GroupTable}
+         */
+        public boolean isGroup() {
+            return group;
+        }
+
+        /**
+         * @return true if the row is an expanded group row of {@link GroupTable}
+         */
+        public boolean isExpanded() {
+            return expanded;
+        }
+
+        @Override
+        public String toString() {
+            return index + ": " + texts
+                    + (selected ? " selected" : "")
+                    + (group ? (expanded ? " expanded group" : " collapsed group") : "");
+        }
+    }
+}
\ No newline at end of file
@@ -19,6 +19,7 @@ package io.jmix.masquerade.component.impl;
 import com.codeborne.selenide.SelenideElement;
 import io.jmix.masquerade.component.Component;
 import io.jmix.masquerade.condition.SpecificCondition;
+import io.jmix.masquerade.sys.PinnedBy;
 import org.openqa.selenium.By;
 
 import static com.codeborne.selenide.Selenide.$;
@@ -35,7 +36,7 @@ public abstract class AbstractComponent<T extends Component>
 
     protected AbstractComponent(By by) {
         this.by = by;
-        this.impl = $(by);
+        this.impl = $(PinnedBy.isEnabled() ? new PinnedBy(by) : by);
     }
 
     @Override
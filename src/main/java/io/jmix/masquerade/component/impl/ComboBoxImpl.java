@@ -41,6 +41,8 @@ public class ComboBoxImpl extends AbstractInputComponent<ComboBox> implements Co
     public static final By VAADIN_COMBOBOX_OPTIONLIST = By.id("VAADIN_COMBOBOX_OPTIONLIST");
     public static final By EMPTY_OPTION = byText(EMPTY_OPTION_VALUE);
 
+    protected volatile OptionsPopupImpl<ComboBox> optionsPopupElement;
+
     public ComboBoxImpl(By by) {
         super(by);
     }
@@ -121,6 +123,12 @@ public class ComboBoxImpl extends AbstractInputComponent<ComboBox> implements Co
     }
 
     protected OptionsPopupImpl<ComboBox> getOptionsPopupElement() {
-        return new OptionsPopupImpl<>(VAADIN_COMBOBOX_OPTIONLIST, this);
+        OptionsPopupImpl<ComboBox> optionsPopup = optionsPopupElement;
+        if (optionsPopup == null) {
+            // the popup is stateless, the same instance keeps the proxy of the popup cached
+            optionsPopup = new OptionsPopupImpl<>(VAADIN_COMBOBOX_OPTIONLIST, this);
+            optionsPopupElement = optionsPopup;
+        }
+        return optionsPopup;
     }
 }
\ No newline at end of file
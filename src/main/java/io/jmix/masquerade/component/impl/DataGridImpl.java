@@ -6,16 +6,30 @@ import com.codeborne.selenide.WebDriverRunner;
 import io.jmix.masquerade.Conditions;
 import io.jmix.masquerade.Selectors;
 import io.jmix.masquerade.component.DataGrid;
+import io.jmix.masquerade.component.TableSnapshot;
 import io.jmix.masquerade.condition.SpecificCondition;
+import io.jmix.masquerade.sys.ControlKeys;
+import io.jmix.masquerade.sys.grid.ByGridText;
+import io.jmix.masquerade.sys.grid.ByGridText.TextMatch;
+import io.jmix.masquerade.sys.grid.GridLayout;
+import io.jmix.masquerade.sys.grid.GridLookup;
+import io.jmix.masquerade.sys.grid.GridLookups;
+import io.jmix.masquerade.sys.grid.GridRowIterator;
+import io.jmix.masquerade.sys.grid.LookupEngine;
+import io.jmix.masquerade.sys.grid.RowMapper;
+import io.jmix.masquerade.sys.grid.RowSelection;
+import io.jmix.masquerade.sys.grid.TableSnapshots;
 import org.openqa.selenium.By;
-import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.Keys;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.Quotes;
 
-import java.util.Arrays;
-import java.util.stream.Collectors;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static com.codeborne.selenide.Condition.cssClass;
 import static com.codeborne.selenide.Condition.visible;
@@ -28,7 +42,7 @@ import static io.jmix.masquerade.Conditions.LOADED;
 import static io.jmix.masquerade.Conditions.VISIBLE;
 import static io.jmix.masquerade.Selectors.byChain;
 import static io.jmix.masquerade.Selectors.byJTestId;
-import static io.jmix.masquerade.component.impl.TableImpl.MAC_OS_PLATFORM;
+import static io.jmix.masquerade.Selectors.isSelected;
 import static io.jmix.masquerade.sys.VaadinClassNames.selectedClass;
 import static io.jmix.masquerade.sys.matcher.ConditionCases.componentApply;
 import static io.jmix.masquerade.sys.matcher.InstanceOfCases.hasType;
@@ -36,6 +50,12 @@ import static com.leacox.motif.MatchesExact.eq;
 import static com.leacox.motif.Motif.match;
 
 public class DataGridImpl extends AbstractComponent<DataGrid> implements DataGrid {
+    public static final String VERTICAL_SCROLLER_CLASS_NAME = "v-grid-scroller-vertical";
+    public static final String ROW_HAS_DATA_CLASS_NAME = "v-grid-row-has-data";
+    public static final String DETAILS_ROW_CLASS_NAME = "v-grid-spacer";
+
+    protected volatile LookupEngine lookupEngine;
+
     public DataGridImpl(By by) {
         super(by);
     }
@@ -56,195 +76,53 @@ public class DataGridImpl extends AbstractComponent<DataGrid> implements DataGri
                 .getMatch();
     }
 
-    @SuppressWarnings("CodeBlock2Expr")
     @Override
     public SelenideElement getRow(By rowBy) {
-        return match(rowBy)
-                .when(hasType(Selectors.ByTargetText.class)).get(byText -> {
-                    String text = byText.getElementText();
-
-                    String trsXpath = ".//tr[.//td[contains(@class, 'v-grid-cell') " +
-                            "and .//text()[normalize-space(.) = " + Quotes.escape(text) + "]]]";
-
-                    return $(byChain(by, byClassName("v-grid-body"), byXpath(trsXpath)));
-                })
-                .when(hasType(Selectors.WithTargetText.class)).get(withText -> {
-                    String text = withText.getElementText();
-
-                    String tdsXpath = ".//tr[.//td[contains(@class, 'v-grid-cell') " +
-                            "and .//text()[contains(normalize-space(.), " + Quotes.escape(text) + ")]]]";
-
-                    return $(byChain(by, byClassName("v-grid-body"), byXpath(tdsXpath)));
-                })
-                .when(hasType(Selectors.ByRowIndex.class)).get(byRowIndex -> {
-                    int index = byRowIndex.getIndex() + 1;
-
-                    String tdsXpath = "(.//tr)[" + index + "]";
-
-                    return $(byChain(by, byClassName("v-grid-body"), byXpath(tdsXpath)));
-                })
-                .when(hasType(Selectors.ByIndex.class)).get(byRowIndex -> {
-                    int index = byRowIndex.getIndex() + 1;
-
-                    String tdsXpath = "(.//tr)[" + index + "]";
-
-                    return $(byChain(by, byClassName("v-grid-body"), byXpath(tdsXpath)));
-                })
-                .when(hasType(Selectors.BySelected.class)).get(isSelected -> {
-                    String tdsXpath = ".//tr[contains(@class, 'v-grid-row-selected')]";
-
-                    return $(byChain(by, byClassName("v-grid-body"), byXpath(tdsXpath)));
-                })
-                .when(hasType(Selectors.ByCells.class)).get(byCells -> {
-                    String[] values = byCells.getCellValues();
-
-                    String tds = Arrays.stream(values)
-                            .map(text ->
-                                    ".//td[contains(@class, 'v-grid-cell') " +
-                                            "and .//text()[normalize-space(.) = " + Quotes.escape(text) + "]]")
-                            .collect(Collectors.joining(" and "));
-
-                    String trsXpath = ".//tr[" + tds + "]";
-
-                    return $(byChain(by, byClassName("v-grid-body"), byXpath(trsXpath)));
-                })
-                .when(hasType(Selectors.ByVisibleRows.class)).get(byVisibleRows -> {
-                    return $(byChain(by, byClassName("v-grid-body"), byXpath(".//tr")));
-                })
-                .getMatch();
+        return $(getLookup().rowBy(by, rowBy));
     }
 
-    @SuppressWarnings("CodeBlock2Expr")
     @Override
     public ElementsCollection getRows(By rowBy) {
-        return match(rowBy)
-                .when(hasType(Selectors.ByTargetText.class)).get(byText -> {
-                    String text = byText.getElementText();
-
-                    String trsXpath = ".//tr[.//td[contains(@class, 'v-grid-cell') " +
-                            "and .//text()[normalize-space(.) = " + Quotes.escape(text) + "]]]";
-
-                    return $$(byChain(by, byClassName("v-grid-body"), byXpath(trsXpath)));
-                })
-                .when(hasType(Selectors.WithTargetText.class)).get(withText -> {
-                    String text = withText.getElementText();
-
-                    String tdsXpath = ".//tr[.//td[contains(@class, 'v-grid-cell') " +
-                            "and .//text()[contains(normalize-space(.), " + Quotes.escape(text) + ")]]]";
-
-                    return $$(byChain(by, byClassName("v-grid-body"), byXpath(tdsXpath)));
-                })
-                .when(hasType(Selectors.ByRowIndex.class)).get(byRowIndex -> {
-                    int index = byRowIndex.getIndex() + 1;
-
-                    String tdsXpath = "(.//tr)[" + index + "]";
-
-                    return $$(byChain(by, byClassName("v-grid-body"), byXpath(tdsXpath)));
-                })
-                .when(hasType(Selectors.ByIndex.class)).get(byRowIndex -> {
-                    int index = byRowIndex.getIndex() + 1;
-
-                    String tdsXpath = "(.//tr)[" + index + "]";
-
-                    return $$(byChain(by, byClassName("v-grid-body"), byXpath(tdsXpath)));
-                })
-                .when(hasType(Selectors.BySelected.class)).get(isSelected -> {
-                    String tdsXpath = ".//tr[contains(@class, 'v-grid-row-selected')]";
-
-                    return $$(byChain(by, byClassName("v-grid-body"), byXpath(tdsXpath)));
-                })
-                .when(hasType(Selectors.ByCells.class)).get(byCells -> {
-                    String[] values = byCells.getCellValues();
-
-                    String tds = Arrays.stream(values)
-                            .map(text ->
-                                    ".//td[contains(@class, 'v-grid-cell') " +
-                                            "and .//text()[normalize-space(.) = " + Quotes.escape(text) + "]]")
-                            .collect(Collectors.joining(" and "));
-
-                    String trsXpath = ".//tr[" + tds + "]";
-
-                    return $$(byChain(by, byClassName("v-grid-body"), byXpath(trsXpath)));
-                })
-                .when(hasType(Selectors.ByVisibleRows.class)).get(byVisibleRows -> {
-                    return $$(byChain(by, byClassName("v-grid-body"), byXpath(".//tr")));
-                })
-                .getMatch();
+        return $$(getLookup().rowBy(by, rowBy));
     }
 
     @Override
     public SelenideElement getCell(By cellBy) {
-        return match(cellBy)
-                .when(hasType(Selectors.ByTargetText.class)).get(byText -> {
-                    String text = byText.getElementText();
-
-                    String tdXpath = ".//td[contains(@class, 'v-grid-cell') " +
-                            "and .//text()[normalize-space(.) = " + Quotes.escape(text) + "]]";
-
-                    return $(byChain(by, byXpath(tdXpath)));
-                })
-                .when(hasType(Selectors.WithTargetText.class)).get(withText -> {
-                    String text = withText.getElementText();
-
-                    String tdXpath = ".//td[contains(@class, 'v-grid-cell') " +
-                            "and .//text()[contains(normalize-space(.), " + Quotes.escape(text) + ")]]";
-
-                    return $(byChain(by, byXpath(tdXpath)));
-                })
-                .when(hasType(Selectors.ByTargetClassName.class)).get(byClassName -> {
-                    String className = byClassName.getExpectedClassName();
-
-                    String tdXpath = ".//td[contains(@class, 'v-grid-cell') " +
-                            "and contains(@class, " + Quotes.escape(className) + "]";
-
-                    return $(byChain(by, byXpath(tdXpath)));
-                })
-                .when(hasType(Selectors.ByRowColIndexes.class)).get(byColRow -> {
-                    int rowIndex = byColRow.getRowIndex() + 1;
-                    int colIndex = byColRow.getColIndex() + 1;
-
-                    String tdsXpath = "(.//tr)[" + rowIndex + "]//td[" + colIndex +"]";
-
-                    return $(byChain(by, byClassName("v-grid-body"), byXpath(tdsXpath)));
-                })
-                .getMatch();
+        return $(getLookup().cellBy(by, cellBy));
     }
 
     @Override
     public ElementsCollection getCells(By cellBy) {
-        return match(cellBy)
-                .when(hasType(Selectors.ByTargetText.class)).get(byText -> {
-                    String text = byText.getElementText();
-
-                    String tdXpath = ".//t[contains(@class, 'v-grid-cell') " +
-                            "and .//text()[normalize-space(.) = " + Quotes.escape(text) + "]]";
-
-                    return $$(byChain(by, byXpath(tdXpath)));
-                })
-                .when(hasType(Selectors.WithTargetText.class)).get(withText -> {
-                    String text = withText.getElementText();
+        return $$(getLookup().cellBy(by, cellBy));
+    }
 
-                    String tdsXpath = ".//td[contains(@class, 'v-grid-cell') " +
-                            "and .//text()[contains(normalize-space(.), " + Quotes.escape(text) + ")]]";
+    @Override
+    public DataGrid withLookupEngine(LookupEngine engine) {
+        this.lookupEngine = engine;
+        return this;
+    }
 
-                    return $$(byChain(by, byXpath(tdsXpath)));
-                })
-                .when(hasType(Selectors.ByTargetClassName.class)).get(byClassName -> {
-                    String className = byClassName.getExpectedClassName();
+    protected GridLookup getLookup() {
+        return GridLookups.get(lookupEngine, GridLayout.DATA_GRID);
+    }
 
-                    String tdsXpath = ".//td[contains(@class, 'v-grid-cell') " +
-                            "and contains(@class, " + Quotes.escape(className) + "]";
+    @Override
+    public TableSnapshot snapshot() {
+        return TableSnapshots.take(by, GridLayout.DATA_GRID, null, null);
+    }
 
-                    return $$(byChain(by, byXpath(tdsXpath)));
-                })
-                .when(hasType(Selectors.ByRowIndex.class)).get(byRowIndex -> {
-                    int index = byRowIndex.getIndex() + 1;
+    @Override
+    public <R> List<R> rows(Class<R> type) {
+        return RowMapper.get(type).map(snapshot());
+    }
 
-                    String tdsXpath = "(.//tr)[" + index + "]//td[contains(@class, 'v-grid-cell')]";
+    @Override
+    public Stream<TableSnapshot.Row> streamRows() {
+        GridRowIterator rows = new GridRowIterator(by, GridLayout.DATA_GRID,
+                VERTICAL_SCROLLER_CLASS_NAME, ROW_HAS_DATA_CLASS_NAME, DETAILS_ROW_CLASS_NAME);
 
-                    return $$(byChain(by, byClassName("v-grid-body"), byXpath(tdsXpath)));
-                })
-                .getMatch();
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED | Spliterator.NONNULL), false);
     }
 
     @Override
@@ -292,6 +170,11 @@ public class DataGridImpl extends AbstractComponent<DataGrid> implements DataGri
         ElementsCollection rows = getRows(rowBy);
 
         WebDriver webDriver = WebDriverRunner.getWebDriver();
+        if (RowSelection.isBatchEnabled()) {
+            RowSelection.selectRows(webDriver, getLookup().rowBy(by, rowBy), GridLayout.DATA_GRID);
+            return rows;
+        }
+
         Actions action = new Actions(webDriver);
 
         for (SelenideElement row : rows) {
@@ -309,12 +192,30 @@ public class DataGridImpl extends AbstractComponent<DataGrid> implements DataGri
         return rows;
     }
 
+    @Override
+    public ElementsCollection selectRange(By fromBy, By toBy) {
+        this.shouldBe(VISIBLE)
+                .shouldBe(LOADED)
+                .shouldBe(ENABLED);
+
+        GridLookup lookup = getLookup();
+        RowSelection.selectRange(WebDriverRunner.getWebDriver(),
+                lookup.rowBy(by, fromBy), lookup.rowBy(by, toBy), GridLayout.DATA_GRID, ROW_HAS_DATA_CLASS_NAME);
+
+        return getRows(isSelected());
+    }
+
     @Override
     public SelenideElement getHeaderCell(By cellBy) {
         return match(cellBy)
                 .when(hasType(Selectors.ByTargetText.class)).get(byText -> {
                     String text = byText.getElementText();
 
+                    if (GridLookups.getEngine(lookupEngine) == LookupEngine.CSS) {
+                        return $(new ByGridText(byChain(by, byClassName("v-grid-header")), "th.v-grid-cell", null,
+                                TextMatch.EQUALS, text));
+                    }
+
                     String tdXpath = ".//th[contains(@class, 'v-grid-cell') " +
                             "and .//text()[normalize-space(.) = " + Quotes.escape(text) + "]]";
 
@@ -323,6 +224,11 @@ public class DataGridImpl extends AbstractComponent<DataGrid> implements DataGri
                 .when(hasType(Selectors.WithTargetText.class)).get(withText -> {
                     String text = withText.getElementText();
 
+                    if (GridLookups.getEngine(lookupEngine) == LookupEngine.CSS) {
+                        return $(new ByGridText(byChain(by, byClassName("v-grid-header")), "th.v-grid-cell", null,
+                                TextMatch.CONTAINS, text));
+                    }
+
                     String tdXpath = ".//th[contains(@class, 'v-grid-cell') " +
                             "and .//text()[contains(normalize-space(.), " + Quotes.escape(text) + ")]]";
 
@@ -426,23 +332,6 @@ public class DataGridImpl extends AbstractComponent<DataGrid> implements DataGri
      * @return control key depending on operating system
      */
     protected Keys getControlKey() {
-        Keys controlKey = Keys.CONTROL;
-
-        WebDriver webDriver = WebDriverRunner.getWebDriver();
-        if (webDriver instanceof JavascriptExecutor) {
-            // check if working on MacOS
-            Object result = ((JavascriptExecutor) webDriver)
-                    .executeScript("return window.navigator.platform");
-
-            if (result instanceof String) {
-                String platform = (String) result;
-
-                if (MAC_OS_PLATFORM.equals(platform)) {
-                    controlKey = Keys.COMMAND;
-                }
-            }
-        }
-
-        return controlKey;
+        return ControlKeys.get(WebDriverRunner.getWebDriver());
     }
 }
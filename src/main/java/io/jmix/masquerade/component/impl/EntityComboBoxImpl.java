@@ -35,6 +35,8 @@ import static io.jmix.masquerade.sys.TagNames.DIV;
 import static io.jmix.masquerade.sys.VaadinClassNames.disabledClass;
 
 public class EntityComboBoxImpl extends AbstractInputComponent<EntityComboBox> implements EntityComboBox {
+    protected volatile OptionsPopupImpl<EntityComboBox> optionsPopupElement;
+
     public EntityComboBoxImpl(By by) {
         super(by);
     }
@@ -129,6 +131,12 @@ public class EntityComboBoxImpl extends AbstractInputComponent<EntityComboBox> i
     }
 
     protected OptionsPopupImpl<EntityComboBox> getOptionsPopupElement() {
-        return new OptionsPopupImpl<>(VAADIN_COMBOBOX_OPTIONLIST, this);
+        OptionsPopupImpl<EntityComboBox> optionsPopup = optionsPopupElement;
+        if (optionsPopup == null) {
+            // the popup is stateless, the same instance keeps the proxy of the popup cached
+            optionsPopup = new OptionsPopupImpl<>(VAADIN_COMBOBOX_OPTIONLIST, this);
+            optionsPopupElement = optionsPopup;
+        }
+        return optionsPopup;
     }
 }
\ No newline at end of file
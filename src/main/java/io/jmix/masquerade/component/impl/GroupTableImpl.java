@@ -4,7 +4,10 @@ import com.codeborne.selenide.SelenideElement;
 import io.jmix.masquerade.Conditions;
 import io.jmix.masquerade.component.GroupTable;
 import io.jmix.masquerade.component.Table;
+import io.jmix.masquerade.component.TableSnapshot;
 import io.jmix.masquerade.condition.SpecificCondition;
+import io.jmix.masquerade.sys.grid.GridLayout;
+import io.jmix.masquerade.sys.grid.TableSnapshots;
 import org.openqa.selenium.By;
 
 import java.util.Arrays;
@@ -118,6 +121,11 @@ public class GroupTableImpl extends AbstractComponent<GroupTable> implements Gro
         return this;
     }
 
+    @Override
+    public TableSnapshot snapshot() {
+        return TableSnapshots.take(by, GridLayout.TABLE, GROUP_ROW_CLASS_NAME, EXPANDED_ROW_CLASS_NAME);
+    }
+
     @Override
     public Table asTable() {
         return $j(Table.class, by);
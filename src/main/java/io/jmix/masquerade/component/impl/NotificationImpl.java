@@ -19,6 +19,7 @@ package io.jmix.masquerade.component.impl;
 import com.codeborne.selenide.SelenideElement;
 import io.jmix.masquerade.component.Notification;
 import io.jmix.masquerade.condition.*;
+import io.jmix.masquerade.sys.RenderEpoch;
 import org.openqa.selenium.By;
 
 import java.util.Objects;
@@ -114,9 +115,9 @@ public class NotificationImpl extends AbstractSpecificConditionHandler<Notificat
     public String getCaption() {
         impl.shouldBe(visible);
 
-        SelenideElement captionImpl = $(byChain(by, NOTIFICATION_CAPTION));
-        if (captionImpl.is(visible)) {
-            return captionImpl.getText();
+        By captionBy = byChain(by, NOTIFICATION_CAPTION);
+        if (RenderEpoch.is(captionBy, visible)) {
+            return $(captionBy).getText();
         } else {
             return null;
         }
@@ -126,9 +127,9 @@ public class NotificationImpl extends AbstractSpecificConditionHandler<Notificat
     public String getDescription() {
         impl.shouldBe(visible);
 
-        SelenideElement descriptionImpl = $(byChain(by, NOTIFICATION_DESCRIPTION));
-        if (descriptionImpl.is(visible)) {
-            return descriptionImpl.getText();
+        By descriptionBy = byChain(by, NOTIFICATION_DESCRIPTION);
+        if (RenderEpoch.is(descriptionBy, visible)) {
+            return $(descriptionBy).getText();
         } else {
             return null;
         }
@@ -37,6 +37,8 @@ public class PopupButtonImpl extends AbstractComponent<PopupButton> implements P
 
     public static final By POPUP_PANEL = By.cssSelector("div.v-popupbutton-popup");
 
+    protected volatile PopupContentImpl popupContentElement;
+
     public PopupButtonImpl(By by) {
         super(by);
     }
@@ -53,7 +55,7 @@ public class PopupButtonImpl extends AbstractComponent<PopupButton> implements P
                 .shouldNotHave(disabledClass)
                 .click();
 
-        PopupContentImpl popupContent = new PopupContentImpl(POPUP_PANEL);
+        PopupContentImpl popupContent = getPopupContentElement();
         popupContent.shouldBe(visible);
 
         return popupContent;
@@ -61,12 +63,22 @@ public class PopupButtonImpl extends AbstractComponent<PopupButton> implements P
 
     @Override
     public PopupContent getPopupContent() {
-        PopupContentImpl popupContent = new PopupContentImpl(POPUP_PANEL);
+        PopupContentImpl popupContent = getPopupContentElement();
         popupContent.shouldBe(visible);
 
         return popupContent;
     }
 
+    protected PopupContentImpl getPopupContentElement() {
+        PopupContentImpl popupContent = popupContentElement;
+        if (popupContent == null) {
+            // the popup content is stateless, the same instance keeps the proxy of the content cached
+            popupContent = new PopupContentImpl(POPUP_PANEL);
+            popupContentElement = popupContent;
+        }
+        return popupContent;
+    }
+
     public static class PopupContentImpl implements PopupContent {
         private final By by;
         private final SelenideElement impl;
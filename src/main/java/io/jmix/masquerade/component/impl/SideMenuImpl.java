@@ -6,6 +6,7 @@ import io.jmix.masquerade.Conditions;
 import io.jmix.masquerade.component.Button;
 import io.jmix.masquerade.component.SideMenu;
 import io.jmix.masquerade.condition.SpecificCondition;
+import io.jmix.masquerade.sys.RenderEpoch;
 import com.leacox.motif.MatchesExact;
 import org.openqa.selenium.By;
 import org.openqa.selenium.support.ui.Quotes;
@@ -94,9 +95,9 @@ public class SideMenuImpl extends AbstractComponent<SideMenu> implements SideMen
     }
 
     protected boolean isCollapsed() {
-        SelenideElement sideMenu = $(byChain(by, byClassName(SIDE_MENU_CONTAINER_CLASS_NAME)));
-        return sideMenu.exists()
-                && sideMenu.shouldBe(visible)
+        By sideMenuBy = byChain(by, byClassName(SIDE_MENU_CONTAINER_CLASS_NAME));
+        return RenderEpoch.exists(sideMenuBy)
+                && $(sideMenuBy).shouldBe(visible)
                 .has(cssClass(COLLAPSED_CLASS_NAME));
     }
 
@@ -105,9 +106,9 @@ public class SideMenuImpl extends AbstractComponent<SideMenu> implements SideMen
     }
 
     protected void toggleCollapsed() {
-        Button collapseMenuButton = $j(Button.class, MENU_COLLAPSE_BUTTON);
-        if (collapseMenuButton.exists()) {
-            collapseMenuButton.shouldBe(visible)
+        if (RenderEpoch.exists(MENU_COLLAPSE_BUTTON)) {
+            $j(Button.class, MENU_COLLAPSE_BUTTON)
+                    .shouldBe(visible)
                     .click();
         }
     }
@@ -24,6 +24,10 @@ import io.jmix.masquerade.component.TabSheet;
 import io.jmix.masquerade.condition.Caption;
 import io.jmix.masquerade.condition.CaptionContains;
 import io.jmix.masquerade.condition.SpecificCondition;
+import io.jmix.masquerade.sys.grid.ByGridText;
+import io.jmix.masquerade.sys.grid.ByGridText.TextMatch;
+import io.jmix.masquerade.sys.grid.GridLookups;
+import io.jmix.masquerade.sys.grid.LookupEngine;
 import org.openqa.selenium.By;
 import org.openqa.selenium.support.ui.Quotes;
 
@@ -56,6 +60,12 @@ public class TabSheetImpl extends AbstractComponent<TabSheet> implements TabShee
                 .when(hasType(ByTargetText.class)).get(byText -> {
                     String text = byText.getElementText();
 
+                    if (GridLookups.getDefaultEngine() == LookupEngine.CSS) {
+                        By textBy = new ByGridText(by, "td.v-tabsheet-tabitemcell", null, TextMatch.EQUALS, text);
+
+                        return new TabImpl(textBy, "Tab.text: " + text);
+                    }
+
                     String tabXpath = ".//td[contains(@class, 'v-tabsheet-tabitemcell') " +
                             "and .//text()[normalize-space(.) = " + Quotes.escape(text) + "]]";
 
@@ -64,6 +74,12 @@ public class TabSheetImpl extends AbstractComponent<TabSheet> implements TabShee
                 .when(hasType(WithTargetText.class)).get(withText -> {
                     String text = withText.getElementText();
 
+                    if (GridLookups.getDefaultEngine() == LookupEngine.CSS) {
+                        By textBy = new ByGridText(by, "td.v-tabsheet-tabitemcell", null, TextMatch.CONTAINS, text);
+
+                        return new TabImpl(textBy, "Tab.withText: " + text);
+                    }
+
                     String tabXpath = ".//td[contains(@class, 'v-tabsheet-tabitemcell') " +
                             "and .//text()[contains(normalize-space(.), " + Quotes.escape(text) + ")]]";
 
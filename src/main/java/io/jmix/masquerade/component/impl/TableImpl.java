@@ -20,31 +20,27 @@ import com.codeborne.selenide.ElementsCollection;
 import com.codeborne.selenide.SelenideElement;
 import com.codeborne.selenide.WebDriverRunner;
 import io.jmix.masquerade.Conditions;
-import io.jmix.masquerade.Selectors.ByCells;
-import io.jmix.masquerade.Selectors.ByIndex;
-import io.jmix.masquerade.Selectors.ByRowColIndexes;
-import io.jmix.masquerade.Selectors.ByRowIndex;
-import io.jmix.masquerade.Selectors.BySelected;
-import io.jmix.masquerade.Selectors.ByTargetClassName;
-import io.jmix.masquerade.Selectors.ByTargetText;
-import io.jmix.masquerade.Selectors.ByVisibleRows;
-import io.jmix.masquerade.Selectors.WithTargetText;
 import io.jmix.masquerade.component.Table;
+import io.jmix.masquerade.component.TableSnapshot;
 import io.jmix.masquerade.condition.SpecificCondition;
+import io.jmix.masquerade.sys.ControlKeys;
+import io.jmix.masquerade.sys.grid.GridLayout;
+import io.jmix.masquerade.sys.grid.GridLookup;
+import io.jmix.masquerade.sys.grid.GridLookups;
+import io.jmix.masquerade.sys.grid.LookupEngine;
+import io.jmix.masquerade.sys.grid.RowMapper;
+import io.jmix.masquerade.sys.grid.RowSelection;
+import io.jmix.masquerade.sys.grid.TableSnapshots;
 import org.openqa.selenium.By;
-import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.Keys;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.interactions.Actions;
-import org.openqa.selenium.support.ui.Quotes;
 
-import java.util.Arrays;
-import java.util.stream.Collectors;
+import java.util.List;
 
 import static com.codeborne.selenide.Condition.cssClass;
 import static com.codeborne.selenide.Condition.visible;
 import static com.codeborne.selenide.Selectors.byClassName;
-import static com.codeborne.selenide.Selectors.byXpath;
 import static com.codeborne.selenide.Selenide.$;
 import static com.codeborne.selenide.Selenide.$$;
 import static com.leacox.motif.MatchesExact.eq;
@@ -54,13 +50,15 @@ import static io.jmix.masquerade.Conditions.LOADED;
 import static io.jmix.masquerade.Conditions.VISIBLE;
 import static io.jmix.masquerade.Selectors.byChain;
 import static io.jmix.masquerade.Selectors.byJTestId;
+import static io.jmix.masquerade.Selectors.isSelected;
 import static io.jmix.masquerade.sys.VaadinClassNames.selectedClass;
 import static io.jmix.masquerade.sys.matcher.ConditionCases.componentApply;
-import static io.jmix.masquerade.sys.matcher.InstanceOfCases.hasType;
 
 public class TableImpl extends AbstractComponent<Table> implements Table {
 
-    public static final String MAC_OS_PLATFORM = "MacIntel";
+    public static final String MAC_OS_PLATFORM = ControlKeys.MAC_OS_PLATFORM;
+
+    protected volatile LookupEngine lookupEngine;
 
     public TableImpl(By by) {
         super(by);
@@ -82,195 +80,44 @@ public class TableImpl extends AbstractComponent<Table> implements Table {
                 .getMatch();
     }
 
-    @SuppressWarnings("CodeBlock2Expr")
     @Override
     public SelenideElement getRow(By rowBy) {
-        return match(rowBy)
-                .when(hasType(ByTargetText.class)).get(byText -> {
-                    String text = byText.getElementText();
-
-                    String trsXpath = ".//tr[.//td[contains(@class, 'v-table-cell-content') " +
-                            "and .//text()[normalize-space(.) = " + Quotes.escape(text) + "]]]";
-
-                    return $(byChain(by, byClassName("v-table-table"), byXpath(trsXpath)));
-                })
-                .when(hasType(WithTargetText.class)).get(withText -> {
-                    String text = withText.getElementText();
-
-                    String tdsXpath = ".//tr[.//td[contains(@class, 'v-table-cell-content') " +
-                            "and .//text()[contains(normalize-space(.), " + Quotes.escape(text) + ")]]]";
-
-                    return $(byChain(by, byClassName("v-table-table"), byXpath(tdsXpath)));
-                })
-                .when(hasType(ByRowIndex.class)).get(byRowIndex -> {
-                    int index = byRowIndex.getIndex() + 1;
-
-                    String tdsXpath = "(.//tr)[" + index + "]";
-
-                    return $(byChain(by, byClassName("v-table-table"), byXpath(tdsXpath)));
-                })
-                .when(hasType(ByIndex.class)).get(byRowIndex -> {
-                    int index = byRowIndex.getIndex() + 1;
-
-                    String tdsXpath = "(.//tr)[" + index + "]";
-
-                    return $(byChain(by, byClassName("v-table-table"), byXpath(tdsXpath)));
-                })
-                .when(hasType(BySelected.class)).get(isSelected -> {
-                    String tdsXpath = ".//tr[contains(@class, 'v-selected')]";
-
-                    return $(byChain(by, byClassName("v-table-table"), byXpath(tdsXpath)));
-                })
-                .when(hasType(ByCells.class)).get(byCells -> {
-                    String[] values = byCells.getCellValues();
-
-                    String tds = Arrays.stream(values)
-                            .map(text ->
-                                    ".//td[contains(@class, 'v-table-cell-content') " +
-                                            "and .//text()[normalize-space(.) = " + Quotes.escape(text) + "]]")
-                            .collect(Collectors.joining(" and "));
-
-                    String trsXpath = ".//tr[" + tds + "]";
-
-                    return $(byChain(by, byClassName("v-table-table"), byXpath(trsXpath)));
-                })
-                .when(hasType(ByVisibleRows.class)).get(byVisibleRows -> {
-                    return $(byChain(by, byClassName("v-table-table"), byXpath(".//tr")));
-                })
-                .getMatch();
+        return $(getLookup().rowBy(by, rowBy));
     }
 
-    @SuppressWarnings("CodeBlock2Expr")
     @Override
     public ElementsCollection getRows(By rowBy) {
-        return match(rowBy)
-                .when(hasType(ByTargetText.class)).get(byText -> {
-                    String text = byText.getElementText();
-
-                    String trsXpath = ".//tr[.//td[contains(@class, 'v-table-cell-content') " +
-                            "and .//text()[normalize-space(.) = " + Quotes.escape(text) + "]]]";
-
-                    return $$(byChain(by, byClassName("v-table-table"), byXpath(trsXpath)));
-                })
-                .when(hasType(WithTargetText.class)).get(withText -> {
-                    String text = withText.getElementText();
-
-                    String tdsXpath = ".//tr[.//td[contains(@class, 'v-table-cell-content') " +
-                            "and .//text()[contains(normalize-space(.), " + Quotes.escape(text) + ")]]]";
-
-                    return $$(byChain(by, byClassName("v-table-table"), byXpath(tdsXpath)));
-                })
-                .when(hasType(ByRowIndex.class)).get(byRowIndex -> {
-                    int index = byRowIndex.getIndex() + 1;
-
-                    String tdsXpath = "(.//tr)[" + index + "]";
-
-                    return $$(byChain(by, byClassName("v-table-table"), byXpath(tdsXpath)));
-                })
-                .when(hasType(ByIndex.class)).get(byRowIndex -> {
-                    int index = byRowIndex.getIndex() + 1;
-
-                    String tdsXpath = "(.//tr)[" + index + "]";
-
-                    return $$(byChain(by, byClassName("v-table-table"), byXpath(tdsXpath)));
-                })
-                .when(hasType(BySelected.class)).get(isSelected -> {
-                    String tdsXpath = ".//tr[contains(@class, 'v-selected')]";
-
-                    return $$(byChain(by, byClassName("v-table-table"), byXpath(tdsXpath)));
-                })
-                .when(hasType(ByCells.class)).get(byCells -> {
-                    String[] values = byCells.getCellValues();
-
-                    String tds = Arrays.stream(values)
-                            .map(text ->
-                                    ".//td[contains(@class, 'v-table-cell-content') " +
-                                            "and .//text()[normalize-space(.) = " + Quotes.escape(text) + "]]")
-                            .collect(Collectors.joining(" and "));
-
-                    String trsXpath = ".//tr[" + tds + "]";
-
-                    return $$(byChain(by, byClassName("v-table-table"), byXpath(trsXpath)));
-                })
-                .when(hasType(ByVisibleRows.class)).get(byVisibleRows -> {
-                    return $$(byChain(by, byClassName("v-table-table"), byXpath(".//tr")));
-                })
-                .getMatch();
+        return $$(getLookup().rowBy(by, rowBy));
     }
 
     @Override
     public SelenideElement getCell(By cellBy) {
-        return match(cellBy)
-                .when(hasType(ByTargetText.class)).get(byText -> {
-                    String text = byText.getElementText();
-
-                    String tdXpath = ".//td[contains(@class, 'v-table-cell-content') " +
-                            "and .//text()[normalize-space(.) = " + Quotes.escape(text) + "]]";
-
-                    return $(byChain(by, byXpath(tdXpath)));
-                })
-                .when(hasType(WithTargetText.class)).get(withText -> {
-                    String text = withText.getElementText();
-
-                    String tdXpath = ".//td[contains(@class, 'v-table-cell-content') " +
-                            "and .//text()[contains(normalize-space(.), " + Quotes.escape(text) + ")]]";
-
-                    return $(byChain(by, byXpath(tdXpath)));
-                })
-                .when(hasType(ByTargetClassName.class)).get(byClassName -> {
-                    String className = byClassName.getExpectedClassName();
-
-                    String tdXpath = ".//td[contains(@class, 'v-table-cell-content') " +
-                            "and contains(@class, " + Quotes.escape(className) + "]";
-
-                    return $(byChain(by, byXpath(tdXpath)));
-                })
-                .when(hasType(ByRowColIndexes.class)).get(byColRow -> {
-                    int rowIndex = byColRow.getRowIndex() + 1;
-                    int colIndex = byColRow.getColIndex() + 1;
-
-                    String tdsXpath = "(.//tr)[" + rowIndex + "]//td[" + colIndex + "]";
-
-                    return $(byChain(by, byClassName("v-table-table"), byXpath(tdsXpath)));
-                })
-                .getMatch();
+        return $(getLookup().cellBy(by, cellBy));
     }
 
     @Override
     public ElementsCollection getCells(By cellBy) {
-        return match(cellBy)
-                .when(hasType(ByTargetText.class)).get(byText -> {
-                    String text = byText.getElementText();
-
-                    String tdXpath = ".//td[contains(@class, 'v-table-cell-content') " +
-                            "and .//text()[normalize-space(.) = " + Quotes.escape(text) + "]]";
-
-                    return $$(byChain(by, byXpath(tdXpath)));
-                })
-                .when(hasType(WithTargetText.class)).get(withText -> {
-                    String text = withText.getElementText();
-
-                    String tdsXpath = ".//td[contains(@class, 'v-table-cell-content') " +
-                            "and .//text()[contains(normalize-space(.), " + Quotes.escape(text) + ")]]";
-
-                    return $$(byChain(by, byXpath(tdsXpath)));
-                })
-                .when(hasType(ByTargetClassName.class)).get(byClassName -> {
-                    String className = byClassName.getExpectedClassName();
+        return $$(getLookup().cellBy(by, cellBy));
+    }
 
-                    String tdsXpath = ".//td[contains(@class, 'v-table-cell-content') " +
-                            "and contains(@class, " + Quotes.escape(className) + "]";
+    @Override
+    public Table withLookupEngine(LookupEngine engine) {
+        this.lookupEngine = engine;
+        return this;
+    }
 
-                    return $$(byChain(by, byXpath(tdsXpath)));
-                })
-                .when(hasType(ByRowIndex.class)).get(byRowIndex -> {
-                    int index = byRowIndex.getIndex() + 1;
+    protected GridLookup getLookup() {
+        return GridLookups.get(lookupEngine, GridLayout.TABLE);
+    }
 
-                    String tdsXpath = "(.//tr)[" + index + "]//td[contains(@class, 'v-table-cell-content')]";
+    @Override
+    public TableSnapshot snapshot() {
+        return TableSnapshots.take(by, GridLayout.TABLE, null, null);
+    }
 
-                    return $$(byChain(by, byClassName("v-table-table"), byXpath(tdsXpath)));
-                })
-                .getMatch();
+    @Override
+    public <R> List<R> rows(Class<R> type) {
+        return RowMapper.get(type).map(snapshot());
     }
 
     @Override
@@ -318,6 +165,11 @@ public class TableImpl extends AbstractComponent<Table> implements Table {
         ElementsCollection rows = getRows(rowBy);
 
         WebDriver webDriver = WebDriverRunner.getWebDriver();
+        if (RowSelection.isBatchEnabled()) {
+            RowSelection.selectRows(webDriver, getLookup().rowBy(by, rowBy), GridLayout.TABLE);
+            return rows;
+        }
+
         Actions action = new Actions(webDriver);
 
         for (SelenideElement row : rows) {
@@ -335,6 +187,19 @@ public class TableImpl extends AbstractComponent<Table> implements Table {
         return rows;
     }
 
+    @Override
+    public ElementsCollection selectRange(By fromBy, By toBy) {
+        this.shouldBe(VISIBLE)
+                .shouldBe(LOADED)
+                .shouldBe(ENABLED);
+
+        GridLookup lookup = getLookup();
+        RowSelection.selectRange(WebDriverRunner.getWebDriver(),
+                lookup.rowBy(by, fromBy), lookup.rowBy(by, toBy), GridLayout.TABLE, null);
+
+        return getRows(isSelected());
+    }
+
     @Override
     public Table sort(String columnId, SortDirection direction) {
         if (columnId.startsWith("column_")) {
@@ -406,23 +271,6 @@ public class TableImpl extends AbstractComponent<Table> implements Table {
      * @return control key depending on operating system
      */
     protected Keys getControlKey() {
-        Keys controlKey = Keys.CONTROL;
-
-        WebDriver webDriver = WebDriverRunner.getWebDriver();
-        if (webDriver instanceof JavascriptExecutor) {
-            // check if working on MacOS
-            Object result = ((JavascriptExecutor) webDriver)
-                    .executeScript("return window.navigator.platform");
-
-            if (result instanceof String) {
-                String platform = (String) result;
-
-                if (MAC_OS_PLATFORM.equals(platform)) {
-                    controlKey = Keys.COMMAND;
-                }
-            }
-        }
-
-        return controlKey;
+        return ControlKeys.get(WebDriverRunner.getWebDriver());
     }
 }
\ No newline at end of file
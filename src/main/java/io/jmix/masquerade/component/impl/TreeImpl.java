@@ -17,17 +17,15 @@
 package io.jmix.masquerade.component.impl;
 
 import com.codeborne.selenide.SelenideElement;
-import io.jmix.masquerade.Selectors;
+import io.jmix.masquerade.Selectors.ByRowIndex;
 import io.jmix.masquerade.component.Tree;
+import io.jmix.masquerade.sys.grid.GridLayout;
+import io.jmix.masquerade.sys.grid.GridLookup;
+import io.jmix.masquerade.sys.grid.GridLookups;
 import org.openqa.selenium.By;
-import org.openqa.selenium.support.ui.Quotes;
 
-import static com.codeborne.selenide.Selectors.byClassName;
-import static com.codeborne.selenide.Selectors.byXpath;
 import static com.codeborne.selenide.Selenide.$;
-import static io.jmix.masquerade.Selectors.byChain;
-import static io.jmix.masquerade.sys.matcher.InstanceOfCases.hasType;
-import static com.leacox.motif.Motif.match;
+import static io.jmix.masquerade.Selectors.byRowColIndexes;
 
 public class TreeImpl extends AbstractComponent<Tree> implements Tree {
     public TreeImpl(By by) {
@@ -36,38 +34,17 @@ public class TreeImpl extends AbstractComponent<Tree> implements Tree {
 
     @Override
     public SelenideElement getNode(By nodeBy) {
-        return match(nodeBy)
-                .when(hasType(Selectors.ByTargetText.class)).get(byText -> {
-                    String text = byText.getElementText();
+        if (nodeBy instanceof ByRowIndex) {
+            // node of a row is its first cell
+            int rowIndex = ((ByRowIndex) nodeBy).getIndex();
 
-                    String tdXpath = ".//td[contains(@class, 'v-tree8-cell') " +
-                            "and .//text()[normalize-space(.) = " + Quotes.escape(text) + "]]";
+            return $(getLookup().cellBy(by, byRowColIndexes(rowIndex, 0)));
+        }
 
-                    return $(byChain(by, byXpath(tdXpath)));
-                })
-                .when(hasType(Selectors.WithTargetText.class)).get(withText -> {
-                    String text = withText.getElementText();
-
-                    String tdXpath = ".//td[contains(@class, 'v-tree8-cell') " +
-                            "and .//text()[contains(normalize-space(.), " + Quotes.escape(text) + ")]]";
-
-                    return $(byChain(by, byXpath(tdXpath)));
-                })
-                .when(hasType(Selectors.ByTargetClassName.class)).get(byClassName -> {
-                    String className = byClassName.getExpectedClassName();
-
-                    String tdXpath = ".//td[contains(@class, 'v-tree8-cell') " +
-                            "and contains(@class, " + Quotes.escape(className) + "]";
-
-                    return $(byChain(by, byXpath(tdXpath)));
-                })
-                .when(hasType(Selectors.ByRowIndex.class)).get(byRow -> {
-                    int rowIndex = byRow.getIndex() + 1;
-
-                    String tdsXpath = "(.//tr)[" + rowIndex + "]//td[" + 1 + "]";
+        return $(getLookup().cellBy(by, nodeBy));
+    }
 
-                    return $(byChain(by, byClassName("v-tree8-body"), byXpath(tdsXpath)));
-                })
-                .getMatch();
+    protected GridLookup getLookup() {
+        return GridLookups.get(null, GridLayout.TREE);
     }
 }
\ No newline at end of file
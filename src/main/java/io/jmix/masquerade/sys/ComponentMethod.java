@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys;
+
+import io.jmix.masquerade.util.Log;
+import org.apache.commons.lang3.StringUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.commons.lang3.StringUtils.splitByCharacterTypeCamelCase;
+
+/**
+ * Metadata of a component interface method resolved once per method: whether calls are logged
+ * and how the target is invoked.
+ */
+public final class ComponentMethod {
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private final Method method;
+    private final boolean logged;
+    private final MethodHandle invoker;
+
+    // formatted once for logged methods
+    private final String displayName;
+    private final String propertyName;
+
+    ComponentMethod(Method method, boolean useMethodHandle) {
+        this.method = method;
+        this.logged = method.getAnnotation(Log.class) != null;
+        this.invoker = useMethodHandle ? createInvoker(method) : null;
+
+        this.displayName = logged ? formatMethodName(method) : null;
+        this.propertyName = logged ? getSetterPropertyName(method) : null;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * @return true if the method is annotated with {@link Log}
+     */
+    public boolean isLogged() {
+        return logged;
+    }
+
+    /**
+     * @return human readable name of a logged method, e.g. "Click link" for {@code clickLink}
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * @return property name of a logged single-argument setter, null otherwise
+     */
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    /**
+     * @return true if the method is called using a method handle instead of reflection
+     */
+    public boolean isMethodHandle() {
+        return invoker != null;
+    }
+
+    public Object invoke(Object target, Object[] args) throws Throwable {
+        if (invoker != null) {
+            Object[] invokerArgs = args != null ? args : NO_ARGS;
+            return (Object) invoker.invokeExact(target, invokerArgs);
+        }
+
+        try {
+            return method.invoke(target, args);
+        } catch (UndeclaredThrowableException | InvocationTargetException e) {
+            // rethrow e
+            if (e.getCause() != null) {
+                throw e.getCause();
+            } else {
+                throw e;
+            }
+        }
+    }
+
+    private static String formatMethodName(Method method) {
+        String name = method.getName();
+
+        String[] strings = splitByCharacterTypeCamelCase(StringUtils.capitalize(name));
+
+        List<String> parts = new ArrayList<>(strings.length);
+        parts.add(strings[0]);
+        for (int i = 1; i < strings.length; i++) {
+            parts.add(StringUtils.uncapitalize(strings[i]));
+        }
+
+        return StringUtils.join(parts, " ");
+    }
+
+    private static String getSetterPropertyName(Method method) {
+        if (method.getName().startsWith("set") && method.getParameterTypes().length == 1) {
+            return StringUtils.uncapitalize(method.getName().substring("set".length()));
+        }
+        return null;
+    }
+
+    private static MethodHandle createInvoker(Method method) {
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.publicLookup().unreflect(method);
+        } catch (IllegalAccessException e) {
+            // non-public interfaces are called using reflection
+            method.setAccessible(true);
+            return null;
+        }
+
+        int parameterCount = method.getParameterTypes().length;
+        // varargs arrays are passed as is, as with reflective calls
+        return handle.asFixedArity()
+                .asType(MethodType.genericMethodType(parameterCount + 1))
+                .asSpreader(Object[].class, parameterCount);
+    }
+}
\ No newline at end of file
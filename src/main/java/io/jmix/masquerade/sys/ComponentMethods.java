@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of {@link ComponentMethod} instances used by {@link LoggingInvocationHandler}.
+ * <br>
+ * Targets are called using method handles by default, reflective calls can be enabled with
+ * {@code -Dmasquerade.proxy.invoker=reflection}.
+ */
+public final class ComponentMethods {
+
+    private static final Map<Method, ComponentMethod> methods = new ConcurrentHashMap<>();
+
+    private static volatile Invoker invoker = Invoker.fromId(
+            System.getProperty("masquerade.proxy.invoker", Invoker.METHOD_HANDLE.getId()));
+
+    private ComponentMethods() {
+    }
+
+    public static ComponentMethod get(Method method) {
+        ComponentMethod componentMethod = methods.get(method);
+        if (componentMethod != null) {
+            return componentMethod;
+        }
+
+        return methods.computeIfAbsent(method, m -> new ComponentMethod(m, invoker == Invoker.METHOD_HANDLE));
+    }
+
+    public static Invoker getInvoker() {
+        return invoker;
+    }
+
+    /**
+     * Switches the way component methods are called, drops cached methods.
+     *
+     * @param invoker invoker
+     */
+    public static void setInvoker(Invoker invoker) {
+        if (invoker == null) {
+            throw new IllegalArgumentException("Invoker cannot be null");
+        }
+
+        ComponentMethods.invoker = invoker;
+        methods.clear();
+    }
+
+    public enum Invoker {
+        METHOD_HANDLE("methodHandle"),
+        REFLECTION("reflection");
+
+        private final String id;
+
+        Invoker(String id) {
+            this.id = id;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public static Invoker fromId(String id) {
+            for (Invoker invoker : values()) {
+                if (invoker.id.equalsIgnoreCase(id) || invoker.name().equalsIgnoreCase(id)) {
+                    return invoker;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported proxy invoker " + id);
+        }
+    }
+}
\ No newline at end of file
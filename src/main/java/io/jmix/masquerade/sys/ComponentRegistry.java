@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys;
+
+import io.jmix.masquerade.config.ComponentConfig;
+import io.jmix.masquerade.config.DefaultComponentConfig;
+import org.openqa.selenium.By;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Registry of component implementations keyed by component interface.
+ * <br>
+ * {@link ComponentConfig} providers are loaded on first use, not on class initialization of
+ * {@link io.jmix.masquerade.Components}. Lookups are indexed per class. A sub-interface of a registered
+ * component that declares no methods of its own, e.g. {@code interface OrdersTable extends Table {}},
+ * is resolved to the implementation of the nearest registered super-interface.
+ */
+public final class ComponentRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(ComponentRegistry.class);
+
+    private final Map<Class, Function<By, ?>> components = new ConcurrentHashMap<>();
+    private final List<String> providers = new ArrayList<>();
+    private final long loadTimeNanos;
+
+    private volatile ClassValue<Optional<Function<By, ?>>> index = createIndex();
+
+    private ComponentRegistry() {
+        long start = System.nanoTime();
+
+        ComponentConfig defaultConfig = new DefaultComponentConfig();
+        components.putAll(defaultConfig.getComponents());
+        providers.add(defaultConfig.getClass().getName());
+
+        // import implementations from project
+        ServiceLoader<ComponentConfig> configs = ServiceLoader.load(ComponentConfig.class);
+        for (ComponentConfig componentConfig : configs) {
+            log.info("Loading components from {}", componentConfig.getClass());
+
+            components.putAll(componentConfig.getComponents());
+            providers.add(componentConfig.getClass().getName());
+        }
+
+        loadTimeNanos = System.nanoTime() - start;
+
+        log.info("Loaded {} components from {} in {} ms",
+                components.size(), providers, TimeUnit.NANOSECONDS.toMillis(loadTimeNanos));
+    }
+
+    public static ComponentRegistry get() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * @param clazz component interface
+     * @return factory of the component implementation or null if the class is not a registered component
+     */
+    @Nullable
+    public Function<By, ?> find(Class<?> clazz) {
+        return index.get(clazz).orElse(null);
+    }
+
+    public <T> void register(Class<T> clazz, Function<By, T> componentSupplier) {
+        components.put(clazz, componentSupplier);
+        // registration is rare, drop all resolved lookups
+        index = createIndex();
+    }
+
+    public Set<Class> getComponentClasses() {
+        return Collections.unmodifiableSet(components.keySet());
+    }
+
+    /**
+     * @return class names of loaded {@link ComponentConfig} providers
+     */
+    public List<String> getProviders() {
+        return Collections.unmodifiableList(providers);
+    }
+
+    /**
+     * @return time spent on loading {@link ComponentConfig} providers
+     */
+    public long getLoadTimeNanos() {
+        return loadTimeNanos;
+    }
+
+    private ClassValue<Optional<Function<By, ?>>> createIndex() {
+        return new ClassValue<Optional<Function<By, ?>>>() {
+            @Override
+            protected Optional<Function<By, ?>> computeValue(Class<?> type) {
+                return Optional.ofNullable(resolve(type));
+            }
+        };
+    }
+
+    @Nullable
+    private Function<By, ?> resolve(Class<?> clazz) {
+        Function<By, ?> component = components.get(clazz);
+        if (component != null || !clazz.isInterface() || declaresMethods(clazz)) {
+            return component;
+        }
+
+        // nearest registered super-interface
+        Deque<Class<?>> queue = new ArrayDeque<>();
+        Set<Class<?>> visited = new HashSet<>();
+        Collections.addAll(queue, clazz.getInterfaces());
+
+        while (!queue.isEmpty()) {
+            Class<?> superInterface = queue.poll();
+            if (!visited.add(superInterface)) {
+                continue;
+            }
+
+            component = components.get(superInterface);
+            if (component != null) {
+                return component;
+            }
+            if (declaresMethods(superInterface)) {
+                // implementation of a further interface would not implement these methods
+                continue;
+            }
+            Collections.addAll(queue, superInterface.getInterfaces());
+        }
+
+        return null;
+    }
+
+    private static boolean declaresMethods(Class<?> clazz) {
+        for (Method method : clazz.getDeclaredMethods()) {
+            if (!Modifier.isStatic(method.getModifiers()) && !method.isSynthetic()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class Holder {
+        private static final ComponentRegistry INSTANCE = new ComponentRegistry();
+    }
+}
\ No newline at end of file
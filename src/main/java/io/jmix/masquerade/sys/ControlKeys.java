@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Modifier key used to select several rows: {@link Keys#COMMAND} on macOS, {@link Keys#CONTROL} otherwise.
+ * The platform is checked once per browser session.
+ */
+public final class ControlKeys {
+
+    public static final String MAC_OS_PLATFORM = "MacIntel";
+
+    private static final Map<WebDriver, Keys> keys = new WeakHashMap<>();
+
+    private ControlKeys() {
+    }
+
+    /**
+     * @param webDriver browser session
+     * @return control key of the platform of the browser
+     */
+    public static Keys get(WebDriver webDriver) {
+        synchronized (keys) {
+            Keys controlKey = keys.get(webDriver);
+            if (controlKey == null) {
+                controlKey = detect(webDriver);
+                keys.put(webDriver, controlKey);
+            }
+            return controlKey;
+        }
+    }
+
+    private static Keys detect(WebDriver webDriver) {
+        if (webDriver instanceof JavascriptExecutor) {
+            // check if working on MacOS
+            Object result = ((JavascriptExecutor) webDriver)
+                    .executeScript("return window.navigator.platform");
+
+            if (MAC_OS_PLATFORM.equals(result)) {
+                return Keys.COMMAND;
+            }
+        }
+        return Keys.CONTROL;
+    }
+}
\ No newline at end of file
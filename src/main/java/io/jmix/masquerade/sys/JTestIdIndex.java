@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys;
+
+import io.jmix.masquerade.Selectors.ByChain;
+import io.jmix.masquerade.Selectors.ByJTestId;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebElement;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Page-wide index of elements with {@code j-test-id} attributes maintained by the {@code jtestid-index}
+ * script. The index is built once per page and invalidated by a {@code MutationObserver} when elements
+ * with j-test-ids are added, removed or changed, so that j-test-id paths are resolved without
+ * document-wide selectors.
+ * <br>
+ * The index is disabled by default and can be enabled with {@code -Dmasquerade.selectors.index=true}.
+ */
+public final class JTestIdIndex {
+
+    private static volatile boolean enabled =
+            Boolean.parseBoolean(System.getProperty("masquerade.selectors.index", "false"));
+
+    private JTestIdIndex() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        JTestIdIndex.enabled = enabled;
+    }
+
+    /**
+     * @param by selector
+     * @return j-test-ids of the selector if it is a j-test-id or a chain of j-test-ids, null otherwise
+     */
+    @Nullable
+    public static List<String> getPath(By by) {
+        List<String> path = new ArrayList<>();
+        if (!collect(by, path)) {
+            return null;
+        }
+        return Collections.unmodifiableList(path);
+    }
+
+    /**
+     * @param executor browser
+     * @param path     j-test-ids, each element is nested in an element of the previous id
+     * @return elements of the last id or null if the script is not supported by the browser
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public static List<WebElement> find(JavascriptExecutor executor, List<String> path) {
+        Object elements = executor.executeScript(Scripts.get("jtestid-index"), path);
+        return elements instanceof List ? (List<WebElement>) elements : null;
+    }
+
+    private static boolean collect(By by, List<String> path) {
+        if (by instanceof ByChain) {
+            for (By chainBy : ((ByChain) by).getBys()) {
+                if (!collect(chainBy, path)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        if (by instanceof ByJTestId) {
+            path.add(((ByJTestId) by).getJTestId());
+            return true;
+        }
+        return false;
+    }
+}
\ No newline at end of file
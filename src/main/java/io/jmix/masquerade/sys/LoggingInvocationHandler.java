@@ -20,30 +20,23 @@ import io.jmix.masquerade.Selectors;
 import io.jmix.masquerade.base.ByLocator;
 import io.jmix.masquerade.component.Component;
 import io.jmix.masquerade.component.Element;
-import io.jmix.masquerade.util.Log;
-import org.apache.commons.lang3.StringUtils;
 import org.openqa.selenium.By;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.lang.reflect.UndeclaredThrowableException;
-import java.util.ArrayList;
-import java.util.List;
-
-import static org.apache.commons.lang3.StringUtils.splitByCharacterTypeCamelCase;
 
 public class LoggingInvocationHandler implements InvocationHandler {
     private final Logger log;
-    private final String targetId;
     private final Object target;
     private ProxyFactory proxyFactory;
 
+    // computed on the first logged call
+    private volatile String targetId;
+
     public LoggingInvocationHandler(Class componentClass, Object target) {
         this.log = LoggerFactory.getLogger(componentClass);
-        this.targetId = getTargetId(target);
         this.target = target;
     }
 
@@ -57,21 +50,12 @@ public class LoggingInvocationHandler implements InvocationHandler {
 
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-        if (method.getAnnotation(Log.class) != null) {
-            logExecution(method, args);
+        ComponentMethod componentMethod = ComponentMethods.get(method);
+        if (componentMethod.isLogged() && log.isInfoEnabled()) {
+            logExecution(componentMethod, args);
         }
 
-        Object result;
-        try {
-            result = method.invoke(target, args);
-        } catch (UndeclaredThrowableException | InvocationTargetException e) {
-            // rethrow e
-            if (e.getCause() != null) {
-                throw e.getCause();
-            } else {
-                throw e;
-            }
-        }
+        Object result = componentMethod.invoke(target, args);
 
         return postProcessResult(proxy, method, result);
     }
@@ -89,32 +73,27 @@ public class LoggingInvocationHandler implements InvocationHandler {
         return result;
     }
 
-    private void logExecution(Method method, Object[] args) {
-        if (args != null && args.length >= 1) {
-            if (method.getName().startsWith("set") && args.length == 1) {
-                String propertyName = StringUtils.uncapitalize(method.getName().substring("set".length()));
+    private void logExecution(ComponentMethod componentMethod, Object[] args) {
+        String targetId = getTargetId();
 
-                log.info("Set '{}' of '{}' to '{}'", propertyName, targetId, args[0]);
+        if (args != null && args.length >= 1) {
+            if (componentMethod.getPropertyName() != null && args.length == 1) {
+                log.info("Set '{}' of '{}' to '{}'", componentMethod.getPropertyName(), targetId, args[0]);
             } else {
-                log.info("{} of '{}' with {}", formatMethodName(method), targetId, args);
+                log.info("{} of '{}' with {}", componentMethod.getDisplayName(), targetId, args);
             }
         } else {
-            log.info("{} '{}'", formatMethodName(method), targetId);
+            log.info("{} '{}'", componentMethod.getDisplayName(), targetId);
         }
     }
 
-    private String formatMethodName(Method method) {
-        String name = method.getName();
-
-        String[] strings = splitByCharacterTypeCamelCase(StringUtils.capitalize(name));
-
-        List<String> parts = new ArrayList<>(strings.length);
-        parts.add(strings[0]);
-        for (int i = 1; i < strings.length; i++) {
-            parts.add(StringUtils.uncapitalize(strings[i]));
+    private String getTargetId() {
+        String result = targetId;
+        if (result == null) {
+            result = getTargetId(target);
+            targetId = result;
         }
-
-        return StringUtils.join(parts, " ");
+        return result;
     }
 
     private String getTargetId(Object target) {
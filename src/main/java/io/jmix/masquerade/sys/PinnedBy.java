@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys;
+
+import io.jmix.masquerade.Selectors.ByChain;
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.support.pagefactory.ByChained;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Selector that keeps the element found by the wrapped selector and returns it from subsequent
+ * {@link #findElement(SearchContext)} calls in the same context, so that a chain of Selenide commands
+ * on a component locates its element once.
+ * <br>
+ * The element is located again after any of its methods throws {@link StaleElementReferenceException},
+ * e.g. when Vaadin re-renders the component. Selenide retries such commands and locates a fresh element.
+ * A pinned element is checked with one cheap command before it is returned, so lookups that do not call
+ * the element afterwards, e.g. {@code exists()}, do not report a removed element.
+ * <br>
+ * Selectors that are located with one search command, e.g. a single CSS selector or a chain collapsed into one,
+ * are not pinned: checking a pinned element would cost the same round trip.
+ * <br>
+ * Components pin their elements if pinning is enabled with {@code -Dmasquerade.components.pinned=true}.
+ */
+public class PinnedBy extends By {
+
+    private static volatile boolean enabled =
+            Boolean.parseBoolean(System.getProperty("masquerade.components.pinned", "false"));
+
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+
+    protected final By by;
+
+    private volatile Pin pin;
+
+    public PinnedBy(By by) {
+        this.by = by;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        PinnedBy.enabled = enabled;
+    }
+
+    /**
+     * @return number of lookups that returned a pinned element
+     */
+    public static long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return number of lookups that located an element
+     */
+    public static long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Resets statistics.
+     */
+    public static void resetStatistics() {
+        hits.set(0);
+        misses.set(0);
+    }
+
+    public By getBy() {
+        return by;
+    }
+
+    @Override
+    public WebElement findElement(SearchContext context) {
+        if (isLocatedBySingleSearch()) {
+            return context.findElement(by);
+        }
+
+        Pin pin = this.pin;
+        if (pin != null && pin.context == context && isAttached(pin.element)) {
+            hits.incrementAndGet();
+            return pin.element;
+        }
+
+        WebElement element = context.findElement(by);
+        misses.incrementAndGet();
+
+        WebElement pinned = createPinnedElement(element);
+        this.pin = new Pin(context, pinned);
+
+        return pinned;
+    }
+
+    @Override
+    public List<WebElement> findElements(SearchContext context) {
+        // only a single element is pinned
+        return context.findElements(by);
+    }
+
+    /**
+     * Drops the pinned element, the next lookup locates the element again.
+     */
+    public void unpin() {
+        this.pin = null;
+    }
+
+    protected void unpin(WebElement element) {
+        Pin pin = this.pin;
+        if (pin != null && pin.element == element) {
+            this.pin = null;
+        }
+    }
+
+    /**
+     * @return true if the selector is located with one search command
+     */
+    protected boolean isLocatedBySingleSearch() {
+        if (!(by instanceof ByChained)) {
+            return true;
+        }
+        if (by instanceof ByChain && ByChain.isCollapseEnabled()) {
+            By collapsedBy = ((ByChain) by).getCollapsedBy();
+            return collapsedBy != null && !(collapsedBy instanceof ByChained);
+        }
+        return false;
+    }
+
+    protected boolean isAttached(WebElement pinned) {
+        try {
+            // stale elements are unpinned by the handler
+            pinned.isEnabled();
+            return true;
+        } catch (StaleElementReferenceException e) {
+            return false;
+        }
+    }
+
+    protected WebElement createPinnedElement(WebElement element) {
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for (Class<?> clazz = element.getClass(); clazz != null; clazz = clazz.getSuperclass()) {
+            collectInterfaces(clazz, interfaces);
+        }
+        interfaces.add(WrapsElement.class);
+
+        return (WebElement) Proxy.newProxyInstance(element.getClass().getClassLoader(),
+                interfaces.toArray(new Class<?>[0]), new PinnedElementHandler(element));
+    }
+
+    private static void collectInterfaces(Class<?> clazz, Set<Class<?>> interfaces) {
+        for (Class<?> clazzInterface : clazz.getInterfaces()) {
+            // proxies of non-public interfaces must be defined in their packages
+            if (Modifier.isPublic(clazzInterface.getModifiers()) && interfaces.add(clazzInterface)) {
+                collectInterfaces(clazzInterface, interfaces);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return by.toString();
+    }
+
+    private static final class Pin {
+        private final SearchContext context;
+        private final WebElement element;
+
+        private Pin(SearchContext context, WebElement element) {
+            this.context = context;
+            this.element = element;
+        }
+    }
+
+    private final class PinnedElementHandler implements InvocationHandler {
+        private final WebElement element;
+
+        private PinnedElementHandler(WebElement element) {
+            this.element = element;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == WrapsElement.class) {
+                // drivers unwrap elements passed to scripts and actions
+                return element;
+            }
+
+            if ("equals".equals(method.getName()) && args != null && args.length == 1
+                    && args[0] != null && Proxy.isProxyClass(args[0].getClass())
+                    && Proxy.getInvocationHandler(args[0]) instanceof PinnedElementHandler) {
+                return element.equals(((PinnedElementHandler) Proxy.getInvocationHandler(args[0])).element);
+            }
+
+            try {
+                return method.invoke(element, args);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof StaleElementReferenceException) {
+                    unpin((WebElement) proxy);
+                }
+                throw e.getCause();
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Proxies of the last few values returned from methods of one component proxy. Repeated calls that return
+ * the same target object, e.g. {@code getOptionsPopup()} of a combo box that keeps its popup, reuse
+ * the proxy instead of creating a new handler and proxy. Calls that alternate between a few targets,
+ * e.g. two rows of a table, reuse their proxies too.
+ * <br>
+ * Each component proxy has its own cache of {@link #SIZE} entries that are compared by identity of targets and
+ * replaced in round-robin order. Targets and proxies are weakly referenced, so cached values do not outlive
+ * their users, a proxy that is collected is created again on the next call.
+ * <br>
+ * The cache can be disabled with {@code -Dmasquerade.proxy.cache=false}.
+ */
+public final class ProxyCache {
+
+    public static final int SIZE = 4;
+
+    private static final AtomicLong created = new AtomicLong();
+    private static final AtomicLong avoided = new AtomicLong();
+
+    private static volatile boolean enabled =
+            Boolean.parseBoolean(System.getProperty("masquerade.proxy.cache", "true"));
+
+    private final Entry[] entries = new Entry[SIZE];
+    private int next;
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        ProxyCache.enabled = enabled;
+    }
+
+    /**
+     * @param interfaceClass interface of the proxy
+     * @param target         proxied object
+     * @param proxyFactory   creates a new proxy if the target is not cached
+     * @return cached or new proxy
+     */
+    public Object get(Class interfaceClass, Object target, Function<Object, Object> proxyFactory) {
+        if (!enabled) {
+            created.incrementAndGet();
+            return proxyFactory.apply(target);
+        }
+
+        Object proxy = find(interfaceClass, target);
+        if (proxy != null) {
+            avoided.incrementAndGet();
+            return proxy;
+        }
+
+        proxy = proxyFactory.apply(target);
+        put(new Entry(interfaceClass, target, proxy));
+        created.incrementAndGet();
+
+        return proxy;
+    }
+
+    private synchronized Object find(Class interfaceClass, Object target) {
+        for (Entry entry : entries) {
+            if (entry != null && entry.interfaceClass == interfaceClass && entry.target.get() == target) {
+                Object proxy = entry.proxy.get();
+                if (proxy != null) {
+                    return proxy;
+                }
+            }
+        }
+        return null;
+    }
+
+    private synchronized void put(Entry entry) {
+        entries[next] = entry;
+        next = (next + 1) % entries.length;
+    }
+
+    /**
+     * @return number of proxies created for returned values
+     */
+    public static long getCreated() {
+        return created.get();
+    }
+
+    /**
+     * @return number of returned values that reused a cached proxy
+     */
+    public static long getAvoided() {
+        return avoided.get();
+    }
+
+    /**
+     * Resets statistics.
+     */
+    public static void resetStatistics() {
+        created.set(0);
+        avoided.set(0);
+    }
+
+    private static final class Entry {
+        private final Class interfaceClass;
+        private final WeakReference<Object> target;
+        private final WeakReference<Object> proxy;
+
+        private Entry(Class interfaceClass, Object target, Object proxy) {
+            this.interfaceClass = interfaceClass;
+            this.target = new WeakReference<>(target);
+            this.proxy = new WeakReference<>(proxy);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys;
+
+import com.codeborne.selenide.Condition;
+import com.codeborne.selenide.WebDriverRunner;
+import io.jmix.masquerade.sys.SelectorSteps.Step;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.codeborne.selenide.Selenide.$;
+
+/**
+ * Cache of elements known to be absent in the current render epoch of the page, so that repeated absence
+ * checks of component implementations do not locate missing elements again until the page changes.
+ * <br>
+ * The epoch is counted in the page by a {@code MutationObserver} of the bundled {@code render-epoch} script,
+ * which reads the epoch and locates the element in one call. Changes made by actions, by raw Selenide
+ * commands or rendered by Vaadin after them start a new epoch.
+ * <br>
+ * The cache is disabled by default and can be enabled with {@code -Dmasquerade.absence.cache=true}.
+ * Selectors that cannot be located by scripts are always located by the driver.
+ */
+public final class RenderEpoch {
+
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+
+    private static volatile boolean enabled =
+            Boolean.parseBoolean(System.getProperty("masquerade.absence.cache", "false"));
+
+    private static volatile long epoch;
+
+    private RenderEpoch() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        RenderEpoch.enabled = enabled;
+    }
+
+    /**
+     * @return render epoch reported by the page on the last cached check
+     */
+    public static long getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * @param by selector of an element located from the page
+     * @return true if the element exists
+     */
+    public static boolean exists(By by) {
+        return find(by) != null;
+    }
+
+    /**
+     * @param by        selector of an element located from the page
+     * @param condition condition that is not met by absent elements, e.g. {@code visible}
+     * @return true if the element exists and meets the condition
+     */
+    public static boolean is(By by, Condition condition) {
+        WebElement element = find(by);
+        return element != null && $(element).is(condition);
+    }
+
+    /**
+     * @param by selector of an element located from the page
+     * @return the first found element or null if the element is absent
+     */
+    @Nullable
+    public static WebElement find(By by) {
+        WebDriver webDriver = WebDriverRunner.getWebDriver();
+        List<Step> steps = enabled && webDriver instanceof JavascriptExecutor ? SelectorSteps.of(by) : null;
+        if (steps == null) {
+            misses.incrementAndGet();
+
+            List<WebElement> elements = webDriver.findElements(by);
+            return elements.isEmpty() ? null : elements.get(0);
+        }
+
+        Object result = ((JavascriptExecutor) webDriver).executeScript(Scripts.get("render-epoch"),
+                SelectorSteps.toScriptArgument(steps));
+        if (!(result instanceof Map)) {
+            throw new IllegalStateException("Unexpected result of render-epoch script: " + result);
+        }
+
+        Map<?, ?> resultMap = (Map<?, ?>) result;
+        if (resultMap.get("epoch") instanceof Number) {
+            epoch = ((Number) resultMap.get("epoch")).longValue();
+        }
+        if (Boolean.TRUE.equals(resultMap.get("cached"))) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        return (WebElement) resultMap.get("element");
+    }
+
+    /**
+     * @return number of absence checks answered by the page without locating elements
+     */
+    public static long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return number of absence checks that located elements
+     */
+    public static long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Resets statistics.
+     */
+    public static void resetStatistics() {
+        hits.set(0);
+        misses.set(0);
+    }
+}
\ No newline at end of file
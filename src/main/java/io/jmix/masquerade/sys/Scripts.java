@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys;
+
+import com.codeborne.selenide.Selenide;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Browser scripts bundled with the library as resources of {@code io/jmix/masquerade/sys/js}.
+ * Helpers of {@code helpers.js} are prepended to each script, so that scripts find elements of
+ * selector chains and normalize texts the same way.
+ */
+public final class Scripts {
+
+    private static final String SCRIPTS_PATH = "/io/jmix/masquerade/sys/js/";
+    private static final String HELPERS_NAME = "helpers";
+
+    private static final Map<String, String> scripts = new ConcurrentHashMap<>();
+
+    private Scripts() {
+    }
+
+    /**
+     * @param name script name without extension
+     * @return script source with helpers
+     */
+    public static String get(String name) {
+        return scripts.computeIfAbsent(name, scriptName -> load(HELPERS_NAME) + "\n" + load(scriptName));
+    }
+
+    /**
+     * Executes a bundled script in the current browser.
+     *
+     * @param name script name without extension
+     * @param args script arguments
+     * @param <T>  type of result
+     * @return script result
+     */
+    public static <T> T execute(String name, Object... args) {
+        return Selenide.executeJavaScript(get(name), args);
+    }
+
+    private static String load(String name) {
+        String path = SCRIPTS_PATH + name + ".js";
+
+        try (InputStream stream = Scripts.class.getResourceAsStream(path)) {
+            if (stream == null) {
+                throw new IllegalArgumentException("Unable to find script " + path);
+            }
+
+            ByteArrayOutputStream source = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                source.write(buffer, 0, read);
+            }
+            return new String(source.toByteArray(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to load script " + path, e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,360 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys;
+
+import com.codeborne.selenide.WebDriverRunner;
+import io.jmix.masquerade.Selectors.ByChain;
+import io.jmix.masquerade.sys.SelectorSteps.Step;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.support.events.WebDriverListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Profiler of element lookups, aggregates lookups by selector shape: type of the selector and its
+ * CSS / XPath steps with literals replaced by {@code ?}.
+ * <br>
+ * For every find command the profiler records the number of found elements and the time of the command
+ * including the browser round trip. Selectors that can be evaluated by scripts are also evaluated
+ * in the page by the bundled {@code profile} script that measures evaluation time with {@code performance.now()}.
+ * <br>
+ * Profiling is disabled by default. {@link #install()} registers the profiler as a listener of WebDriver
+ * instances created by Selenide, it must be called before the browser is opened. The report is logged
+ * on JVM shutdown and can be obtained with {@link #getReport()}.
+ */
+public final class SelectorProfiler implements WebDriverListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SelectorProfiler.class);
+
+    private static final SelectorProfiler INSTANCE = new SelectorProfiler();
+
+    private static final Pattern LITERAL_PATTERN = Pattern.compile("'[^']*'|\"[^\"]*\"|\\b\\d+\\b");
+
+    private static final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Long> startTime = new ThreadLocal<>();
+    private static final AtomicBoolean installed = new AtomicBoolean();
+
+    private static volatile boolean enabled = false;
+
+    private SelectorProfiler() {
+    }
+
+    /**
+     * @return listener that can be registered in WebDriver instances that are not created by Selenide
+     */
+    public static SelectorProfiler get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Enables profiling and registers the profiler as a listener of WebDriver instances created by Selenide.
+     */
+    public static void install() {
+        enabled = true;
+
+        if (installed.compareAndSet(false, true)) {
+            WebDriverRunner.addListener(INSTANCE);
+
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                if (!entries.isEmpty()) {
+                    log.info("Selector profile:\n{}", getReport());
+                }
+            }, "masquerade-selector-profiler"));
+        }
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        SelectorProfiler.enabled = enabled;
+    }
+
+    /**
+     * @return profiles of selector shapes ordered by total browser time, then by total command time
+     */
+    public static List<Profile> getProfiles() {
+        List<Profile> profiles = new ArrayList<>(entries.size());
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            profiles.add(entry.getValue().toProfile(entry.getKey()));
+        }
+        profiles.sort(Comparator.comparingDouble(Profile::getBrowserMillis)
+                .thenComparingDouble(Profile::getCommandMillis)
+                .reversed());
+        return profiles;
+    }
+
+    /**
+     * @return text report of selector shapes, one line per shape
+     */
+    public static String getReport() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%8s %10s %12s %12s %12s  %s%n",
+                "lookups", "found", "browser ms", "command ms", "avg cmd ms", "selector"));
+
+        for (Profile profile : getProfiles()) {
+            report.append(String.format("%8d %10d %12s %12.1f %12.2f  %s%n",
+                    profile.getLookups(),
+                    profile.getFound(),
+                    profile.getBrowserSamples() > 0 ? String.format("%.1f", profile.getBrowserMillis()) : "-",
+                    profile.getCommandMillis(),
+                    profile.getCommandMillis() / profile.getLookups(),
+                    profile.getShape()));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Drops all recorded lookups.
+     */
+    public static void reset() {
+        entries.clear();
+    }
+
+    /**
+     * @param by selector
+     * @return type of the selector and its steps with literals replaced by {@code ?}
+     */
+    public static String getShape(By by) {
+        String type = by.getClass().getSimpleName();
+
+        List<Step> steps = getSteps(by);
+        if (steps == null) {
+            return type;
+        }
+
+        StringBuilder shape = new StringBuilder(type).append(':');
+        for (Step step : steps) {
+            shape.append(' ')
+                    .append(step.getType())
+                    .append(' ')
+                    .append(LITERAL_PATTERN.matcher(step.getValue()).replaceAll("?"));
+        }
+        return shape.toString();
+    }
+
+    @Override
+    public void beforeFindElement(WebDriver driver, By locator) {
+        start();
+    }
+
+    @Override
+    public void afterFindElement(WebDriver driver, By locator, WebElement result) {
+        record(driver, locator, 1);
+    }
+
+    @Override
+    public void beforeFindElements(WebDriver driver, By locator) {
+        start();
+    }
+
+    @Override
+    public void afterFindElements(WebDriver driver, By locator, List<WebElement> result) {
+        record(driver, locator, result.size());
+    }
+
+    @Override
+    public void beforeFindElement(WebElement element, By locator) {
+        start();
+    }
+
+    @Override
+    public void afterFindElement(WebElement element, By locator, WebElement result) {
+        record(element, locator, 1);
+    }
+
+    @Override
+    public void beforeFindElements(WebElement element, By locator) {
+        start();
+    }
+
+    @Override
+    public void afterFindElements(WebElement element, By locator, List<WebElement> result) {
+        record(element, locator, result.size());
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        // findElement reports missing elements with an exception
+        if (target instanceof SearchContext
+                && method.getName().startsWith("findElement")
+                && args != null && args.length == 1 && args[0] instanceof By) {
+            record((SearchContext) target, (By) args[0], 0);
+        }
+    }
+
+    private void start() {
+        if (enabled) {
+            startTime.set(System.nanoTime());
+        }
+    }
+
+    private void record(SearchContext context, By locator, int found) {
+        Long start = startTime.get();
+        if (start == null) {
+            return;
+        }
+        startTime.remove();
+
+        long commandNanos = System.nanoTime() - start;
+        Double browserMillis = measure(context, locator);
+
+        entries.computeIfAbsent(getShape(locator), shape -> new Entry())
+                .add(commandNanos, browserMillis, found);
+    }
+
+    @Nullable
+    private static Double measure(SearchContext context, By locator) {
+        List<Step> steps = getSteps(locator);
+        if (steps == null) {
+            return null;
+        }
+
+        JavascriptExecutor executor;
+        Object root;
+        if (context instanceof JavascriptExecutor) {
+            executor = (JavascriptExecutor) context;
+            root = null;
+        } else if (context instanceof WrapsDriver
+                && ((WrapsDriver) context).getWrappedDriver() instanceof JavascriptExecutor) {
+            executor = (JavascriptExecutor) ((WrapsDriver) context).getWrappedDriver();
+            root = context;
+        } else {
+            return null;
+        }
+
+        try {
+            Object time = executor.executeScript(Scripts.get("profile"),
+                    SelectorSteps.toScriptArgument(steps), root);
+            return time instanceof Number ? ((Number) time).doubleValue() : null;
+        } catch (WebDriverException e) {
+            // profiling does not affect tests, e.g. if the page is reloaded
+            return null;
+        }
+    }
+
+    @Nullable
+    private static List<Step> getSteps(By by) {
+        return by instanceof ByChain ? ((ByChain) by).getSteps() : SelectorSteps.of(by);
+    }
+
+    private static final class Entry {
+        private final AtomicLong lookups = new AtomicLong();
+        private final AtomicLong found = new AtomicLong();
+        private final AtomicLong commandNanos = new AtomicLong();
+        private final AtomicLong browserSamples = new AtomicLong();
+        private final AtomicLong browserNanos = new AtomicLong();
+
+        private void add(long commandNanos, @Nullable Double browserMillis, int found) {
+            this.lookups.incrementAndGet();
+            this.found.addAndGet(found);
+            this.commandNanos.addAndGet(commandNanos);
+            if (browserMillis != null) {
+                this.browserSamples.incrementAndGet();
+                this.browserNanos.addAndGet((long) (browserMillis * 1_000_000));
+            }
+        }
+
+        private Profile toProfile(String shape) {
+            return new Profile(shape, lookups.get(), found.get(),
+                    commandNanos.get() / 1_000_000.0,
+                    browserSamples.get(), browserNanos.get() / 1_000_000.0);
+        }
+    }
+
+    /**
+     * Aggregated lookups of one selector shape.
+     */
+    public static final class Profile {
+        private final String shape;
+        private final long lookups;
+        private final long found;
+        private final double commandMillis;
+        private final long browserSamples;
+        private final double browserMillis;
+
+        public Profile(String shape, long lookups, long found, double commandMillis,
+                       long browserSamples, double browserMillis) {
+            this.shape = shape;
+            this.lookups = lookups;
+            this.found = found;
+            this.commandMillis = commandMillis;
+            this.browserSamples = browserSamples;
+            this.browserMillis = browserMillis;
+        }
+
+        public String getShape() {
+            return shape;
+        }
+
+        public long getLookups() {
+            return lookups;
+        }
+
+        /**
+         * @return total number of found elements
+         */
+        public long getFound() {
+            return found;
+        }
+
+        /**
+         * @return total time of find commands including browser round trips
+         */
+        public double getCommandMillis() {
+            return commandMillis;
+        }
+
+        /**
+         * @return number of lookups evaluated in the page by the profile script
+         */
+        public long getBrowserSamples() {
+            return browserSamples;
+        }
+
+        /**
+         * @return total evaluation time in the page measured by the profile script
+         */
+        public double getBrowserMillis() {
+            return browserMillis;
+        }
+
+        @Override
+        public String toString() {
+            return shape + ": " + lookups + " lookups";
+        }
+    }
+}
\ No newline at end of file
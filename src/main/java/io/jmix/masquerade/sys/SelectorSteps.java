@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys;
+
+import io.jmix.masquerade.Selectors.ByChain;
+import org.openqa.selenium.By;
+import org.openqa.selenium.support.pagefactory.ByChained;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts selectors to CSS / XPath steps that can be evaluated in the browser by scripts.
+ */
+public final class SelectorSteps {
+
+    public static final String CSS = "css";
+    public static final String XPATH = "xpath";
+
+    private SelectorSteps() {
+    }
+
+    /**
+     * @param by selector
+     * @return steps of the selector or null if the selector cannot be evaluated by scripts,
+     * e.g. selectors of Selenide elements
+     */
+    @Nullable
+    public static List<Step> of(By by) {
+        List<Step> steps = new ArrayList<>();
+        if (!collect(by, steps)) {
+            return null;
+        }
+        return Collections.unmodifiableList(steps);
+    }
+
+    /**
+     * @param steps selector steps
+     * @return representation of steps that can be passed to a script as an argument
+     */
+    public static List<Map<String, String>> toScriptArgument(List<Step> steps) {
+        List<Map<String, String>> argument = new ArrayList<>(steps.size());
+        for (Step step : steps) {
+            Map<String, String> stepArgument = new HashMap<>(2);
+            stepArgument.put("type", step.getType());
+            stepArgument.put("value", step.getValue());
+
+            argument.add(stepArgument);
+        }
+        return argument;
+    }
+
+    /**
+     * Collapses leading links of a selector chain that are all CSS selectors into one descendant CSS
+     * selector, so that they are located with one command instead of one command per link and
+     * found element.
+     *
+     * @param bys links of the chain, nested {@link ByChain} links are flattened
+     * @return CSS selector if all links are collapsed, chain of the collapsed CSS selector and the rest
+     * of links if some links are collapsed, null if less than two leading links are CSS selectors
+     */
+    @Nullable
+    public static By collapse(By... bys) {
+        List<By> links = new ArrayList<>();
+        flatten(bys, links);
+
+        StringBuilder css = new StringBuilder();
+        int collapsed = 0;
+        for (By link : links) {
+            Step step = toStep(link);
+            if (step == null || !step.isCss() || isSelectorGroup(step.getValue())) {
+                break;
+            }
+
+            if (css.length() > 0) {
+                css.append(' ');
+            }
+            css.append(step.getValue().trim());
+            collapsed++;
+        }
+
+        if (collapsed < 2) {
+            return null;
+        }
+
+        By cssBy = By.cssSelector(css.toString());
+        if (collapsed == links.size()) {
+            return cssBy;
+        }
+
+        List<By> chain = new ArrayList<>(links.size() - collapsed + 1);
+        chain.add(cssBy);
+        chain.addAll(links.subList(collapsed, links.size()));
+
+        return new ByChained(chain.toArray(new By[0]));
+    }
+
+    /**
+     * @param by selector, not a chain
+     * @return step of the selector or null if the selector cannot be evaluated by scripts
+     */
+    @Nullable
+    public static Step toStep(By by) {
+        if (!(by instanceof By.Remotable)) {
+            return null;
+        }
+
+        By.Remotable.Parameters parameters = ((By.Remotable) by).getRemoteParameters();
+        if (parameters == null || !(parameters.value() instanceof String)) {
+            return null;
+        }
+
+        String value = (String) parameters.value();
+        switch (parameters.using()) {
+            case "css selector":
+            case "tag name":
+                return new Step(CSS, value);
+            case "xpath":
+                return new Step(XPATH, value);
+            // Selenium translates these strategies to CSS selectors only when a command is sent
+            case "class name":
+                return new Step(CSS, "." + cssEscape(value));
+            case "id":
+                return new Step(CSS, "#" + cssEscape(value));
+            case "name":
+                return new Step(CSS, "*[name='" + value.replace("'", "\\'") + "']");
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Escapes an identifier of class name and id selectors like Selenium does, except for hyphens
+     * that are valid in identifiers and common in Vaadin class names.
+     */
+    private static String cssEscape(String identifier) {
+        String escaped = identifier.replaceAll("([\\s'\"\\\\#.:;,!?+<>=~*^$|%&@`{}/\\[\\]()])", "\\\\$1");
+        if (!escaped.isEmpty() && Character.isDigit(escaped.charAt(0))) {
+            escaped = "\\" + (30 + Character.getNumericValue(escaped.charAt(0))) + " " + escaped.substring(1);
+        }
+        return escaped;
+    }
+
+    private static boolean collect(By by, List<Step> steps) {
+        if (by instanceof ByChain) {
+            for (By chainBy : ((ByChain) by).getBys()) {
+                if (!collect(chainBy, steps)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        Step step = toStep(by);
+        if (step == null) {
+            return false;
+        }
+        steps.add(step);
+        return true;
+    }
+
+    private static void flatten(By[] bys, List<By> links) {
+        for (By by : bys) {
+            if (by instanceof ByChain) {
+                flatten(((ByChain) by).getBys(), links);
+            } else {
+                links.add(by);
+            }
+        }
+    }
+
+    /**
+     * @param css CSS selector
+     * @return true if the selector is a group of selectors separated by comma,
+     * such selectors cannot be combined with a descendant combinator
+     */
+    private static boolean isSelectorGroup(String css) {
+        char quote = 0;
+        int depth = 0;
+        for (int i = 0; i < css.length(); i++) {
+            char c = css.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '[' || c == '(') {
+                depth++;
+            } else if (c == ']' || c == ')') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static final class Step {
+        private final String type;
+        private final String value;
+
+        public Step(String type, String value) {
+            this.type = type;
+            this.value = value;
+        }
+
+        /**
+         * @return {@link #CSS} or {@link #XPATH}
+         */
+        public String getType() {
+            return type;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public boolean isCss() {
+            return CSS.equals(type);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Step)) {
+                return false;
+            }
+
+            Step step = (Step) o;
+            return type.equals(step.type) && value.equals(step.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * type.hashCode() + value.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return type + ": " + value;
+        }
+    }
+}
\ No newline at end of file
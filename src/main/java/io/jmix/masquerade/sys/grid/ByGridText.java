@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys.grid;
+
+import io.jmix.masquerade.sys.Scripts;
+import io.jmix.masquerade.sys.SelectorSteps;
+import io.jmix.masquerade.sys.SelectorSteps.Step;
+import org.apache.commons.lang3.StringUtils;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Rows or cells of a grid-like component (table, tree, tab bar, header row) that contain text nodes
+ * with the given normalized text. Candidates are selected with CSS and filtered in the page by one
+ * {@code grid-text} script call, text is normalized the same way as by XPath {@code normalize-space}.
+ * Normalized texts of cells are cached in the page and invalidated by mutations.
+ */
+public class ByGridText extends By {
+
+    private final By gridBy;
+    private final String css;
+    private final String cellCss;
+    private final TextMatch textMatch;
+    private final String[] texts;
+
+    /**
+     * @param gridBy    selector of the component
+     * @param css       CSS selector of candidates relative to the component
+     * @param cellCss   CSS selector of candidate cells that contain texts, null if candidates are cells
+     * @param textMatch the way texts are compared
+     * @param texts     texts, each text must be matched by a text node of some cell of a candidate
+     */
+    public ByGridText(By gridBy, String css, String cellCss, TextMatch textMatch, String... texts) {
+        this.gridBy = gridBy;
+        this.css = css;
+        this.cellCss = cellCss;
+        this.textMatch = textMatch;
+        this.texts = texts;
+    }
+
+    public By getGridBy() {
+        return gridBy;
+    }
+
+    public String getCss() {
+        return css;
+    }
+
+    public String getCellCss() {
+        return cellCss;
+    }
+
+    public TextMatch getTextMatch() {
+        return textMatch;
+    }
+
+    public String[] getTexts() {
+        return texts;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public List<WebElement> findElements(SearchContext context) {
+        JavascriptExecutor executor = getExecutor(context);
+
+        List<Step> gridSteps = context instanceof WebDriver ? SelectorSteps.of(gridBy) : null;
+
+        Object elements;
+        if (gridSteps != null) {
+            elements = executor.executeScript(Scripts.get("grid-text"),
+                    SelectorSteps.toScriptArgument(gridSteps), null,
+                    css, cellCss, textMatch.getId(), Arrays.asList(texts));
+        } else {
+            List<WebElement> grids = gridBy.findElements(context);
+            if (grids.isEmpty()) {
+                return Collections.emptyList();
+            }
+
+            elements = executor.executeScript(Scripts.get("grid-text"),
+                    null, grids,
+                    css, cellCss, textMatch.getId(), Arrays.asList(texts));
+        }
+
+        return elements instanceof List ? (List<WebElement>) elements : Collections.emptyList();
+    }
+
+    protected JavascriptExecutor getExecutor(SearchContext context) {
+        if (context instanceof JavascriptExecutor) {
+            return (JavascriptExecutor) context;
+        }
+        if (context instanceof WrapsDriver
+                && ((WrapsDriver) context).getWrappedDriver() instanceof JavascriptExecutor) {
+            return (JavascriptExecutor) ((WrapsDriver) context).getWrappedDriver();
+        }
+        throw new UnsupportedOperationException("Unable to execute scripts in " + context);
+    }
+
+    @Override
+    public String toString() {
+        return "By.gridText: " + gridBy + " " + css + " " + textMatch.getId() + " "
+                + StringUtils.join(texts, ',');
+    }
+
+    public enum TextMatch {
+        EQUALS("equals"),
+        CONTAINS("contains"),
+        /**
+         * Each text must be equal to a text of the cell with the same index.
+         */
+        COLUMNS("columns");
+
+        private final String id;
+
+        TextMatch(String id) {
+            this.id = id;
+        }
+
+        public String getId() {
+            return id;
+        }
+    }
+}
\ No newline at end of file
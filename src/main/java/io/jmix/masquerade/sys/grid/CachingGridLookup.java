@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys.grid;
+
+import org.openqa.selenium.By;
+
+/**
+ * Lookup that reuses selectors of the delegate lookup cached by {@link SelectorCache}.
+ */
+public class CachingGridLookup implements GridLookup {
+
+    protected final GridLookup delegate;
+    protected final String rowsId;
+    protected final String cellsId;
+
+    /**
+     * @param delegate lookup that builds selectors
+     * @param id       unique id of the delegate lookup
+     */
+    public CachingGridLookup(GridLookup delegate, String id) {
+        this.delegate = delegate;
+        this.rowsId = id + ":rows";
+        this.cellsId = id + ":cells";
+    }
+
+    @Override
+    public By rowBy(By gridBy, By rowBy) {
+        return SelectorCache.get(rowsId, gridBy, rowBy, () -> delegate.rowBy(gridBy, rowBy));
+    }
+
+    @Override
+    public By cellBy(By gridBy, By cellBy) {
+        return SelectorCache.get(cellsId, gridBy, cellBy, () -> delegate.cellBy(gridBy, cellBy));
+    }
+}
\ No newline at end of file
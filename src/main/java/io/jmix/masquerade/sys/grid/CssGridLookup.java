@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys.grid;
+
+import io.jmix.masquerade.Selectors.ByCells;
+import io.jmix.masquerade.Selectors.ByIndex;
+import io.jmix.masquerade.Selectors.ByRowColIndexes;
+import io.jmix.masquerade.Selectors.ByRowIndex;
+import io.jmix.masquerade.Selectors.BySelected;
+import io.jmix.masquerade.Selectors.ByTargetClassName;
+import io.jmix.masquerade.Selectors.ByTargetText;
+import io.jmix.masquerade.Selectors.ByVisibleRows;
+import io.jmix.masquerade.Selectors.WithTargetText;
+import io.jmix.masquerade.sys.grid.ByGridText.TextMatch;
+import org.openqa.selenium.By;
+
+import static com.leacox.motif.Motif.match;
+import static io.jmix.masquerade.Selectors.byChain;
+import static io.jmix.masquerade.sys.matcher.InstanceOfCases.hasType;
+
+/**
+ * Locates rows and cells with CSS selectors. Text criteria select candidate rows or cells with CSS
+ * and filter them in the page by normalized text of their text nodes, see {@link ByGridText}.
+ */
+public class CssGridLookup implements GridLookup {
+
+    protected final GridLayout layout;
+    protected final String cellCss;
+
+    public CssGridLookup(GridLayout layout) {
+        this.layout = layout;
+        this.cellCss = "td." + escapeIdentifier(layout.getCellClassName());
+    }
+
+    @SuppressWarnings("CodeBlock2Expr")
+    @Override
+    public By rowBy(By gridBy, By rowBy) {
+        return match(rowBy)
+                .when(hasType(ByTargetText.class)).get(byText -> {
+                    return byGridText(gridBy, layout.getRowsCss(), cellCss,
+                            TextMatch.EQUALS, byText.getElementText());
+                })
+                .when(hasType(WithTargetText.class)).get(withText -> {
+                    return byGridText(gridBy, layout.getRowsCss(), cellCss,
+                            TextMatch.CONTAINS, withText.getElementText());
+                })
+                .when(hasType(ByIndex.class)).get(byIndex -> {
+                    // also handles ByRowIndex
+                    return byCss(gridBy, rowCss(byIndex.getIndex()));
+                })
+                .when(hasType(BySelected.class)).get(isSelected -> {
+                    return byCss(gridBy, layout.getRowsCss() + "." + escapeIdentifier(layout.getSelectedRowClassName()));
+                })
+                .when(hasType(ByCells.class)).get(byCells -> {
+                    return byGridText(gridBy, layout.getRowsCss(), cellCss,
+                            byCells.isOrdered() ? TextMatch.COLUMNS : TextMatch.EQUALS, byCells.getCellValues());
+                })
+                .when(hasType(ByVisibleRows.class)).get(byVisibleRows -> {
+                    return byCss(gridBy, layout.getRowsCss());
+                })
+                .getMatch();
+    }
+
+    @SuppressWarnings("CodeBlock2Expr")
+    @Override
+    public By cellBy(By gridBy, By cellBy) {
+        return match(cellBy)
+                .when(hasType(ByTargetText.class)).get(byText -> {
+                    return byGridText(gridBy, cellCss, null, TextMatch.EQUALS, byText.getElementText());
+                })
+                .when(hasType(WithTargetText.class)).get(withText -> {
+                    return byGridText(gridBy, cellCss, null, TextMatch.CONTAINS, withText.getElementText());
+                })
+                .when(hasType(ByTargetClassName.class)).get(byClassName -> {
+                    return byCss(gridBy, cellCss + "." + escapeIdentifier(byClassName.getExpectedClassName()));
+                })
+                .when(hasType(ByRowColIndexes.class)).get(byRowCol -> {
+                    return byCss(gridBy, rowCss(byRowCol.getRowIndex())
+                            + " > td:nth-of-type(" + (byRowCol.getColIndex() + 1) + ")");
+                })
+                .when(hasType(ByRowIndex.class)).get(byRowIndex -> {
+                    return byCss(gridBy, rowCss(byRowIndex.getIndex()) + " > " + cellCss);
+                })
+                .getMatch();
+    }
+
+    protected String rowCss(int index) {
+        return layout.getRowsCss() + ":nth-of-type(" + (index + 1) + ")";
+    }
+
+    protected By byGridText(By gridBy, String css, String cellCss, TextMatch textMatch, String... texts) {
+        return new ByGridText(gridBy, css, cellCss, textMatch, texts);
+    }
+
+    protected By byCss(By gridBy, String css) {
+        // located with one command, see ByChain
+        return byChain(gridBy, By.cssSelector(css));
+    }
+
+    /**
+     * @param identifier class name
+     * @return class name that can be used in a CSS selector
+     */
+    protected static String escapeIdentifier(String identifier) {
+        StringBuilder escaped = new StringBuilder(identifier.length());
+        for (int i = 0; i < identifier.length(); i++) {
+            char c = identifier.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '-' && c != '_') {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
\ No newline at end of file
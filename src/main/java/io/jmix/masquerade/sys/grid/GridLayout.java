@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys.grid;
+
+/**
+ * Class names of rows and cells of a grid-like component.
+ */
+public final class GridLayout {
+
+    public static final GridLayout TABLE =
+            new GridLayout("table", "v-table-table", "table.v-table-table > tbody > tr",
+                    "v-table-cell-content", "v-selected",
+                    ".v-table-header td.v-table-header-cell");
+
+    public static final GridLayout DATA_GRID =
+            new GridLayout("dataGrid", "v-grid-body", "tbody.v-grid-body > tr",
+                    "v-grid-cell", "v-grid-row-selected",
+                    "thead.v-grid-header > tr:first-child > th.v-grid-cell");
+
+    public static final GridLayout TREE =
+            new GridLayout("tree", "v-tree8-body", "tbody.v-tree8-body > tr",
+                    "v-tree8-cell", "v-tree8-row-selected",
+                    "thead.v-tree8-header > tr:first-child > th.v-tree8-cell");
+
+    private final String name;
+    private final String bodyClassName;
+    private final String rowsCss;
+    private final String cellClassName;
+    private final String selectedRowClassName;
+    private final String headerCellsCss;
+
+    public GridLayout(String name, String bodyClassName, String rowsCss,
+                      String cellClassName, String selectedRowClassName, String headerCellsCss) {
+        this.name = name;
+        this.bodyClassName = bodyClassName;
+        this.rowsCss = rowsCss;
+        this.cellClassName = cellClassName;
+        this.selectedRowClassName = selectedRowClassName;
+        this.headerCellsCss = headerCellsCss;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return class name of the element that contains data rows
+     */
+    public String getBodyClassName() {
+        return bodyClassName;
+    }
+
+    /**
+     * @return CSS selector of data rows relative to the component
+     */
+    public String getRowsCss() {
+        return rowsCss;
+    }
+
+    public String getCellClassName() {
+        return cellClassName;
+    }
+
+    public String getSelectedRowClassName() {
+        return selectedRowClassName;
+    }
+
+    /**
+     * @return CSS selector of header cells of columns relative to the component
+     */
+    public String getHeaderCellsCss() {
+        return headerCellsCss;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
\ No newline at end of file
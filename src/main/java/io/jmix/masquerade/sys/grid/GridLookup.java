@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys.grid;
+
+import org.openqa.selenium.By;
+
+/**
+ * Builds selectors of rows and cells of a grid-like component from row and cell criteria of
+ * {@link io.jmix.masquerade.Selectors}.
+ */
+public interface GridLookup {
+
+    /**
+     * @param gridBy selector of the component
+     * @param rowBy  row criterion
+     * @return selector of matching rows
+     * @throws com.leacox.motif.MatchException if the criterion is not supported
+     */
+    By rowBy(By gridBy, By rowBy);
+
+    /**
+     * @param gridBy selector of the component
+     * @param cellBy cell criterion
+     * @return selector of matching cells
+     * @throws com.leacox.motif.MatchException if the criterion is not supported
+     */
+    By cellBy(By gridBy, By cellBy);
+}
\ No newline at end of file
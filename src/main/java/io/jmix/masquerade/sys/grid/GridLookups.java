@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys.grid;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lookups of tables and data grids.
+ * <br>
+ * XPath lookup is used by default, CSS lookup can be enabled globally with
+ * {@code -Dmasquerade.grid.lookup=css} or {@link #setDefaultEngine(LookupEngine)}, and for
+ * a single component with {@code withLookupEngine(LookupEngine.CSS)}.
+ * <br>
+ * Selectors built by lookups are cached by {@link SelectorCache}.
+ */
+public final class GridLookups {
+
+    private static final Map<String, GridLookup> lookups = new ConcurrentHashMap<>();
+
+    private static volatile LookupEngine defaultEngine = LookupEngine.fromId(
+            System.getProperty("masquerade.grid.lookup", LookupEngine.XPATH.getId()));
+
+    private GridLookups() {
+    }
+
+    public static LookupEngine getDefaultEngine() {
+        return defaultEngine;
+    }
+
+    public static void setDefaultEngine(LookupEngine defaultEngine) {
+        if (defaultEngine == null) {
+            throw new IllegalArgumentException("Lookup engine cannot be null");
+        }
+
+        GridLookups.defaultEngine = defaultEngine;
+    }
+
+    /**
+     * @param engine lookup engine of a component, null if the component uses the default engine
+     * @return engine used by the component
+     */
+    public static LookupEngine getEngine(LookupEngine engine) {
+        return engine != null ? engine : defaultEngine;
+    }
+
+    /**
+     * @param engine lookup engine, default engine is used if null
+     * @param layout layout of the component
+     * @return lookup
+     */
+    public static GridLookup get(LookupEngine engine, GridLayout layout) {
+        LookupEngine lookupEngine = getEngine(engine);
+
+        return lookups.computeIfAbsent(lookupEngine.getId() + ":" + layout.getName(), key -> {
+            switch (lookupEngine) {
+                case CSS:
+                    return new CachingGridLookup(new CssGridLookup(layout), key);
+                case XPATH:
+                    return new CachingGridLookup(new XPathGridLookup(layout), key);
+                default:
+                    throw new IllegalArgumentException("Unsupported grid lookup engine " + lookupEngine);
+            }
+        });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys.grid;
+
+import com.codeborne.selenide.Configuration;
+import com.codeborne.selenide.WebDriverRunner;
+import io.jmix.masquerade.component.TableSnapshot.Row;
+import io.jmix.masquerade.sys.Scripts;
+import io.jmix.masquerade.sys.SelectorSteps;
+import io.jmix.masquerade.sys.SelectorSteps.Step;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazy iterator over all rows of a grid with virtual scrolling. The grid is scrolled by one rendered window
+ * at a time, rows of each window are collected by one call of the bundled {@code grid-window} script.
+ * <br>
+ * Rows are deduplicated by their index, only rows of the current window are kept in memory.
+ * The iterator waits up to {@link Configuration#timeout} for rows of a new window to be rendered.
+ */
+public class GridRowIterator implements Iterator<Row> {
+
+    protected final By gridBy;
+    protected final GridLayout layout;
+    protected final String scrollerClassName;
+    protected final String dataRowClassName;
+    protected final String detailsRowClassName;
+
+    protected final Deque<Row> window = new ArrayDeque<>();
+
+    protected List<Map<String, String>> gridSteps;
+    protected WebElement grid;
+
+    protected int lastIndex = -1;
+    protected Double nextScrollTop = 0.0;
+    protected Double lastScrollTop;
+    protected boolean finished;
+
+    /**
+     * @param gridBy              selector of the grid
+     * @param layout              layout of the grid
+     * @param scrollerClassName   class name of the vertical scroller of the grid
+     * @param dataRowClassName    class name of rendered rows that have data or null if all rows have data
+     * @param detailsRowClassName class name of rendered details rows or null if the grid has no details
+     */
+    public GridRowIterator(By gridBy, GridLayout layout, String scrollerClassName,
+                           @Nullable String dataRowClassName, @Nullable String detailsRowClassName) {
+        this.gridBy = gridBy;
+        this.layout = layout;
+        this.scrollerClassName = scrollerClassName;
+        this.dataRowClassName = dataRowClassName;
+        this.detailsRowClassName = detailsRowClassName;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (window.isEmpty() && !finished) {
+            fetch();
+        }
+        return !window.isEmpty();
+    }
+
+    @Override
+    public Row next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return window.poll();
+    }
+
+    protected void fetch() {
+        long timeout = Configuration.timeout;
+        long deadline = System.currentTimeMillis() + timeout;
+
+        Double scrollTop = nextScrollTop;
+        while (true) {
+            Map<?, ?> result = execute(scrollTop);
+            scrollTop = null;
+
+            double currentScrollTop = toDouble(result.get("scrollTop"));
+            boolean scrolled = lastScrollTop == null || Math.abs(currentScrollTop - lastScrollTop) >= 1;
+            lastScrollTop = currentScrollTop;
+
+            Object lastTop = null;
+            for (Object row : toList(result.get("rows"))) {
+                Map<?, ?> rowMap = (Map<?, ?>) row;
+                int index = (int) toDouble(rowMap.get("index"));
+                // only consecutive rows, rows after a gap are collected from the next window
+                if (index == lastIndex + 1) {
+                    window.add(new Row(index, toStrings(rowMap.get("texts")),
+                            Boolean.TRUE.equals(rowMap.get("selected")), false, false));
+                    lastIndex = index;
+                    lastTop = rowMap.get("top");
+                }
+            }
+
+            double rowHeight = toDouble(result.get("rowHeight"));
+            if (!window.isEmpty()) {
+                // the next window starts with the first row that is not collected yet,
+                // offsets of rendered rows include heights of details rows above them
+                if (rowHeight <= 0) {
+                    nextScrollTop = null;
+                } else if (lastTop instanceof Number) {
+                    nextScrollTop = ((Number) lastTop).doubleValue() + rowHeight;
+                } else {
+                    nextScrollTop = (lastIndex + 1) * rowHeight;
+                }
+                return;
+            }
+
+            boolean pending = Boolean.TRUE.equals(result.get("pending"));
+            boolean bottom = currentScrollTop + toDouble(result.get("clientHeight"))
+                    >= toDouble(result.get("scrollHeight")) - 1;
+            // rows of a new scroll position are rendered after the script, check them once more
+            if (!pending && !scrolled && (bottom || nextScrollTop == null)) {
+                finished = true;
+                return;
+            }
+
+            if (System.currentTimeMillis() >= deadline) {
+                throw new TimeoutException("Rows of " + gridBy + " after row " + lastIndex
+                        + " are not rendered in " + timeout + " ms");
+            }
+
+            try {
+                Thread.sleep(Configuration.pollingInterval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TimeoutException("Interrupted while waiting for rows of " + gridBy, e);
+            }
+        }
+    }
+
+    protected Map<?, ?> execute(@Nullable Double scrollTop) {
+        WebDriver webDriver = WebDriverRunner.getWebDriver();
+        if (!(webDriver instanceof JavascriptExecutor)) {
+            throw new UnsupportedOperationException("Unable to execute scripts in " + webDriver);
+        }
+
+        if (gridSteps == null && grid == null) {
+            List<Step> steps = SelectorSteps.of(gridBy);
+            if (steps != null) {
+                gridSteps = SelectorSteps.toScriptArgument(steps);
+            } else {
+                grid = webDriver.findElement(gridBy);
+            }
+        }
+
+        Object result = ((JavascriptExecutor) webDriver).executeScript(Scripts.get("grid-window"),
+                gridSteps, grid, scrollTop, scrollerClassName,
+                layout.getRowsCss(), layout.getCellClassName(), layout.getSelectedRowClassName(),
+                dataRowClassName, detailsRowClassName);
+
+        if (!(result instanceof Map)) {
+            throw new org.openqa.selenium.NoSuchElementException("Cannot locate an element using " + gridBy);
+        }
+        return (Map<?, ?>) result;
+    }
+
+    private static double toDouble(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
+    }
+
+    private static List<?> toList(Object value) {
+        return value instanceof List ? (List<?>) value : Collections.emptyList();
+    }
+
+    private static List<String> toStrings(Object value) {
+        List<?> list = toList(value);
+        List<String> strings = new ArrayList<>(list.size());
+        for (Object item : list) {
+            strings.add(item != null ? item.toString() : null);
+        }
+        return strings;
+    }
+}
\ No newline at end of file
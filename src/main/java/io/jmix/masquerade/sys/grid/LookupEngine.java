@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys.grid;
+
+/**
+ * The way rows and cells of tables and data grids are located.
+ */
+public enum LookupEngine {
+    /**
+     * XPath expressions with text predicates over {@code normalize-space(text())}, normalized texts cached
+     * in the page are used only for rows with several cell values.
+     */
+    XPATH("xpath"),
+    /**
+     * CSS selectors for structural criteria, one script call with in-page text normalization for text criteria.
+     */
+    CSS("css");
+
+    private final String id;
+
+    LookupEngine(String id) {
+        this.id = id;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public static LookupEngine fromId(String id) {
+        for (LookupEngine engine : values()) {
+            if (engine.id.equalsIgnoreCase(id) || engine.name().equalsIgnoreCase(id)) {
+                return engine;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported grid lookup engine " + id);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys.grid;
+
+import io.jmix.masquerade.Column;
+import io.jmix.masquerade.component.TableSnapshot;
+import io.jmix.masquerade.component.TableSnapshot.Row;
+import org.apache.commons.lang3.reflect.FieldUtils;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Parameter;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps rows of {@link TableSnapshot} to instances of a row class with {@link Column} annotations.
+ * <br>
+ * If all parameters of a constructor are annotated, e.g. the canonical constructor of a record,
+ * rows are passed to the constructor. Otherwise the row class is instantiated with the default
+ * constructor and annotated fields are set. Cell texts are converted to {@code String}, numbers,
+ * {@code boolean} and {@code BigDecimal} values, empty texts of non-primitive types are mapped to null.
+ * <br>
+ * Mappers are built once per row class.
+ */
+public final class RowMapper<R> {
+
+    private static final Map<Class, RowMapper> mappers = new ConcurrentHashMap<>();
+
+    private final Class<R> type;
+    private final Constructor<R> constructor;
+    private final List<String> columnIds;
+    private final List<Class<?>> valueTypes;
+    // null if values are passed to the constructor
+    private final List<Field> fields;
+
+    private RowMapper(Class<R> type, Constructor<R> constructor, List<String> columnIds,
+                      List<Class<?>> valueTypes, @Nullable List<Field> fields) {
+        this.type = type;
+        this.constructor = constructor;
+        this.columnIds = columnIds;
+        this.valueTypes = valueTypes;
+        this.fields = fields;
+    }
+
+    /**
+     * @param type row class
+     * @param <R>  type of rows
+     * @return mapper of the row class
+     * @throws IllegalArgumentException if the class has no annotated constructor parameters or fields
+     */
+    @SuppressWarnings("unchecked")
+    public static <R> RowMapper<R> get(Class<R> type) {
+        return mappers.computeIfAbsent(type, RowMapper::build);
+    }
+
+    private static <R> RowMapper<R> build(Class<R> type) {
+        for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+            Parameter[] parameters = constructor.getParameters();
+            if (parameters.length == 0) {
+                continue;
+            }
+
+            List<String> columnIds = new ArrayList<>();
+            List<Class<?>> valueTypes = new ArrayList<>();
+            for (Parameter parameter : parameters) {
+                Column column = parameter.getAnnotation(Column.class);
+                if (column == null) {
+                    break;
+                }
+                columnIds.add(column.value());
+                valueTypes.add(parameter.getType());
+            }
+
+            if (columnIds.size() == parameters.length) {
+                @SuppressWarnings("unchecked")
+                Constructor<R> rowConstructor = (Constructor<R>) constructor;
+                rowConstructor.setAccessible(true);
+
+                return new RowMapper<>(type, rowConstructor, columnIds, valueTypes, null);
+            }
+        }
+
+        List<String> columnIds = new ArrayList<>();
+        List<Class<?>> valueTypes = new ArrayList<>();
+        List<Field> fields = new ArrayList<>();
+        for (Field field : FieldUtils.getFieldsWithAnnotation(type, Column.class)) {
+            field.setAccessible(true);
+
+            columnIds.add(field.getAnnotation(Column.class).value());
+            valueTypes.add(field.getType());
+            fields.add(field);
+        }
+
+        if (fields.isEmpty()) {
+            throw new IllegalArgumentException("Row class " + type.getName()
+                    + " has no constructor or fields annotated with @Column");
+        }
+
+        Constructor<R> constructor;
+        try {
+            constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("Row class " + type.getName() + " has no default constructor", e);
+        }
+
+        return new RowMapper<>(type, constructor, columnIds, valueTypes, fields);
+    }
+
+    public Class<R> getType() {
+        return type;
+    }
+
+    /**
+     * @return ids of mapped columns in the order of constructor parameters or fields
+     */
+    public List<String> getColumnIds() {
+        return Collections.unmodifiableList(columnIds);
+    }
+
+    /**
+     * Maps data rows of the snapshot, group rows are skipped.
+     *
+     * @param snapshot snapshot of a table or a data grid
+     * @return mapped rows
+     * @throws IllegalArgumentException if some mapped columns are not found in the snapshot
+     */
+    public List<R> map(TableSnapshot snapshot) {
+        // column indexes are resolved once per snapshot
+        int[] indexes = new int[columnIds.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = snapshot.getColumnIndex(columnIds.get(i));
+            if (indexes[i] < 0) {
+                throw new IllegalArgumentException("Column " + columnIds.get(i) + " of " + type.getName()
+                        + " is not found in " + snapshot.getColumnIds());
+            }
+        }
+
+        List<R> result = new ArrayList<>(snapshot.size());
+        for (Row row : snapshot.getRows()) {
+            if (row.isGroup()) {
+                continue;
+            }
+
+            Object[] values = new Object[indexes.length];
+            for (int i = 0; i < indexes.length; i++) {
+                values[i] = convert(row.getText(indexes[i]), valueTypes.get(i), columnIds.get(i));
+            }
+            result.add(newInstance(values));
+        }
+        return result;
+    }
+
+    private R newInstance(Object[] values) {
+        try {
+            if (fields == null) {
+                return constructor.newInstance(values);
+            }
+
+            R instance = constructor.newInstance();
+            for (int i = 0; i < values.length; i++) {
+                fields.get(i).set(instance, values[i]);
+            }
+            return instance;
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new RuntimeException("Unable to instantiate row " + type.getName(), e);
+        }
+    }
+
+    @Nullable
+    private static Object convert(@Nullable String text, Class<?> valueType, String columnId) {
+        if (valueType == String.class) {
+            return text;
+        }
+
+        if (text == null || text.isEmpty()) {
+            if (valueType.isPrimitive()) {
+                throw new IllegalArgumentException("Column " + columnId + " has no value for " + valueType);
+            }
+            return null;
+        }
+
+        try {
+            if (valueType == int.class || valueType == Integer.class) {
+                return Integer.valueOf(text);
+            }
+            if (valueType == long.class || valueType == Long.class) {
+                return Long.valueOf(text);
+            }
+            if (valueType == double.class || valueType == Double.class) {
+                return Double.valueOf(text);
+            }
+            if (valueType == boolean.class || valueType == Boolean.class) {
+                return Boolean.valueOf(text);
+            }
+            if (valueType == BigDecimal.class) {
+                return new BigDecimal(text);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Unable to convert '" + text + "' of column " + columnId
+                    + " to " + valueType.getSimpleName(), e);
+        }
+
+        throw new IllegalArgumentException("Unsupported type " + valueType.getName() + " of column " + columnId);
+    }
+}
\ No newline at end of file
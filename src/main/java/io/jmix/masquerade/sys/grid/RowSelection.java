@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys.grid;
+
+import com.codeborne.selenide.Configuration;
+import io.jmix.masquerade.sys.ControlKeys;
+import io.jmix.masquerade.sys.Scripts;
+import org.openqa.selenium.By;
+import org.openqa.selenium.InvalidElementStateException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Actions;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Batched selection of several rows: rows are located with one command, their selection state is checked
+ * with one script call and all rows are clicked with the control key by one composed {@link Actions} chain.
+ * <br>
+ * The batched mode is disabled by default and can be enabled with {@code -Dmasquerade.selection.batch=true}.
+ * <br>
+ * A contiguous range of rows is selected by a click on the first row and a shift-click on the last one,
+ * the resulting selection is checked with one script call.
+ */
+public final class RowSelection {
+
+    private static volatile boolean batchEnabled =
+            Boolean.parseBoolean(System.getProperty("masquerade.selection.batch", "false"));
+
+    private RowSelection() {
+    }
+
+    public static boolean isBatchEnabled() {
+        return batchEnabled;
+    }
+
+    public static void setBatchEnabled(boolean batchEnabled) {
+        RowSelection.batchEnabled = batchEnabled;
+    }
+
+    /**
+     * Selects all rows in addition to already selected ones.
+     *
+     * @param webDriver browser session
+     * @param rowsBy    selector of rows
+     * @param layout    layout of the grid
+     * @return selected rows
+     * @throws InvalidElementStateException if some rows are still selected after Selenide timeout
+     */
+    public static List<WebElement> selectRows(WebDriver webDriver, By rowsBy, GridLayout layout) {
+        List<WebElement> rows = webDriver.findElements(rowsBy);
+        if (rows.isEmpty()) {
+            return rows;
+        }
+
+        waitNotSelected(webDriver, rows, rowsBy, layout.getSelectedRowClassName());
+
+        Keys controlKey = ControlKeys.get(webDriver);
+
+        Actions action = new Actions(webDriver)
+                .keyDown(controlKey);
+        for (WebElement row : rows) {
+            action.click(row);
+        }
+        action.keyUp(controlKey)
+                .perform();
+
+        return rows;
+    }
+
+    /**
+     * Selects a contiguous range of rows, the previous selection is replaced.
+     *
+     * @param webDriver        browser session
+     * @param fromBy           selector of the first row of the range
+     * @param toBy             selector of the last row of the range
+     * @param layout           layout of the grid
+     * @param dataRowClassName class name of rendered rows that have data or null if all rows have data
+     * @return number of rendered rows in the range
+     * @throws NoSuchElementException if the first or the last row is not found after Selenide timeout
+     * @throws TimeoutException       if the selection does not match the range after Selenide timeout
+     */
+    public static int selectRange(WebDriver webDriver, By fromBy, By toBy, GridLayout layout,
+                                  @Nullable String dataRowClassName) {
+        WebElement from = findRow(webDriver, fromBy);
+        WebElement to = findRow(webDriver, toBy);
+
+        new Actions(webDriver)
+                .click(from)
+                .keyDown(Keys.SHIFT)
+                .click(to)
+                .keyUp(Keys.SHIFT)
+                .perform();
+
+        return waitRangeSelected(webDriver, from, to, fromBy, toBy, layout.getSelectedRowClassName(),
+                dataRowClassName);
+    }
+
+    private static WebElement findRow(WebDriver webDriver, By rowBy) {
+        long timeout = Configuration.timeout;
+        long deadline = System.currentTimeMillis() + timeout;
+
+        while (true) {
+            List<WebElement> rows = webDriver.findElements(rowBy);
+            if (!rows.isEmpty()) {
+                return rows.get(0);
+            }
+
+            if (System.currentTimeMillis() >= deadline) {
+                throw new NoSuchElementException("Cannot locate a row using " + rowBy + " in " + timeout + " ms");
+            }
+
+            sleep(rowBy);
+        }
+    }
+
+    private static int waitRangeSelected(WebDriver webDriver, WebElement from, WebElement to, By fromBy, By toBy,
+                                         String selectedClassName, @Nullable String dataRowClassName) {
+        long timeout = Configuration.timeout;
+        long deadline = System.currentTimeMillis() + timeout;
+
+        while (true) {
+            Object result = executeScript(webDriver, Scripts.get("selected-range"),
+                    from, to, selectedClassName, dataRowClassName);
+            if (!(result instanceof Map)) {
+                throw new InvalidElementStateException("Rows " + fromBy + " and " + toBy + " are not in one grid");
+            }
+
+            Map<?, ?> range = (Map<?, ?>) result;
+            int size = toInt(range.get("size"));
+            int selected = toInt(range.get("selected"));
+            int outside = toInt(range.get("outside"));
+            if (selected == size && outside == 0) {
+                return size;
+            }
+
+            if (System.currentTimeMillis() >= deadline) {
+                throw new TimeoutException("Rows from " + fromBy + " to " + toBy + " are not selected in "
+                        + timeout + " ms: " + selected + " of " + size + " rows of the range and "
+                        + outside + " other rows are selected");
+            }
+
+            sleep(fromBy);
+        }
+    }
+
+    private static void waitNotSelected(WebDriver webDriver, List<WebElement> rows, By rowsBy,
+                                        String selectedClassName) {
+        long timeout = Configuration.timeout;
+        long deadline = System.currentTimeMillis() + timeout;
+
+        while (true) {
+            List<?> selected = getSelected(webDriver, rows, selectedClassName);
+            if (selected.isEmpty()) {
+                return;
+            }
+
+            if (System.currentTimeMillis() >= deadline) {
+                throw new InvalidElementStateException("Rows " + selected + " of " + rowsBy
+                        + " are already selected after " + timeout + " ms");
+            }
+
+            sleep(rowsBy);
+        }
+    }
+
+    private static List<?> getSelected(WebDriver webDriver, List<WebElement> rows, String selectedClassName) {
+        Object selected = executeScript(webDriver, Scripts.get("selected-rows"), rows, selectedClassName);
+
+        return selected instanceof List ? (List<?>) selected : Collections.emptyList();
+    }
+
+    private static Object executeScript(WebDriver webDriver, String script, Object... args) {
+        if (!(webDriver instanceof JavascriptExecutor)) {
+            throw new UnsupportedOperationException("Unable to execute scripts in " + webDriver);
+        }
+        return ((JavascriptExecutor) webDriver).executeScript(script, args);
+    }
+
+    private static void sleep(By rowsBy) {
+        try {
+            Thread.sleep(Configuration.pollingInterval);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InvalidElementStateException("Interrupted while waiting for rows of " + rowsBy, e);
+        }
+    }
+
+    private static int toInt(Object value) {
+        return value instanceof Number ? ((Number) value).intValue() : 0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys.grid;
+
+import io.jmix.masquerade.Selectors.ByCells;
+import io.jmix.masquerade.Selectors.ByIndex;
+import io.jmix.masquerade.Selectors.ByRowColIndexes;
+import io.jmix.masquerade.Selectors.BySelected;
+import io.jmix.masquerade.Selectors.ByTargetClassName;
+import io.jmix.masquerade.Selectors.ByTargetText;
+import io.jmix.masquerade.Selectors.ByVisibleRows;
+import io.jmix.masquerade.Selectors.WithTargetText;
+import io.jmix.masquerade.sys.SelectorSteps;
+import io.jmix.masquerade.sys.SelectorSteps.Step;
+import org.openqa.selenium.By;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of row and cell selectors built by {@link GridLookup}s, so that repeated lookups
+ * with the same criteria, e.g. in polling loops, reuse the compiled selector.
+ * <br>
+ * Selectors are keyed by the lookup, steps of the component selector, type and values of the criteria.
+ * Selectors of components located by Selenide elements are not cached.
+ * <br>
+ * The size of the cache can be changed with {@code -Dmasquerade.selectors.cache.size=N},
+ * {@code 0} disables the cache.
+ */
+public final class SelectorCache {
+
+    private static final int DEFAULT_MAX_SIZE = 512;
+
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+
+    private static volatile int maxSize =
+            Integer.getInteger("masquerade.selectors.cache.size", DEFAULT_MAX_SIZE);
+
+    private static final Map<SelectorKey, By> selectors = new LinkedHashMap<SelectorKey, By>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<SelectorKey, By> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    private SelectorCache() {
+    }
+
+    public static int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @param maxSize maximum number of cached selectors, 0 disables the cache
+     */
+    public static void setMaxSize(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Cache size cannot be negative");
+        }
+
+        SelectorCache.maxSize = maxSize;
+        synchronized (selectors) {
+            Iterator<SelectorKey> iterator = selectors.keySet().iterator();
+            while (selectors.size() > maxSize && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * @param lookupId  id of the lookup that builds the selector
+     * @param gridBy    selector of the component
+     * @param criteria  row or cell criteria
+     * @param factory builds the selector if there is no cached one
+     * @return cached or new selector
+     */
+    public static By get(String lookupId, By gridBy, By criteria, Supplier<By> factory) {
+        SelectorKey key = maxSize > 0 ? SelectorKey.of(lookupId, gridBy, criteria) : null;
+        if (key == null) {
+            misses.incrementAndGet();
+            return factory.get();
+        }
+
+        By selector;
+        synchronized (selectors) {
+            selector = selectors.get(key);
+        }
+        if (selector != null) {
+            hits.incrementAndGet();
+            return selector;
+        }
+
+        selector = factory.get();
+        misses.incrementAndGet();
+        synchronized (selectors) {
+            selectors.put(key, selector);
+        }
+        return selector;
+    }
+
+    /**
+     * @return number of lookups that reused a cached selector
+     */
+    public static long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return number of selectors built
+     */
+    public static long getMisses() {
+        return misses.get();
+    }
+
+    public static int size() {
+        synchronized (selectors) {
+            return selectors.size();
+        }
+    }
+
+    /**
+     * Drops all cached selectors and resets statistics.
+     */
+    public static void clear() {
+        synchronized (selectors) {
+            selectors.clear();
+        }
+        hits.set(0);
+        misses.set(0);
+    }
+
+    private static final class SelectorKey {
+        private final String lookupId;
+        private final List<Step> gridSteps;
+        private final Class<?> criteriaClass;
+        private final List<Object> criteriaValues;
+        private final int hash;
+
+        private SelectorKey(String lookupId, List<Step> gridSteps, Class<?> criteriaClass,
+                            List<Object> criteriaValues) {
+            this.lookupId = lookupId;
+            this.gridSteps = gridSteps;
+            this.criteriaClass = criteriaClass;
+            this.criteriaValues = criteriaValues;
+            this.hash = Objects.hash(lookupId, gridSteps, criteriaClass, criteriaValues);
+        }
+
+        @Nullable
+        static SelectorKey of(String lookupId, By gridBy, By criteria) {
+            List<Object> criteriaValues = getCriteriaValues(criteria);
+            if (criteriaValues == null) {
+                return null;
+            }
+
+            List<Step> gridSteps = SelectorSteps.of(gridBy);
+            if (gridSteps == null) {
+                return null;
+            }
+
+            return new SelectorKey(lookupId, gridSteps, criteria.getClass(), criteriaValues);
+        }
+
+        @Nullable
+        private static List<Object> getCriteriaValues(By criteria) {
+            if (criteria instanceof ByTargetText) {
+                return Collections.singletonList(((ByTargetText) criteria).getElementText());
+            }
+            if (criteria instanceof WithTargetText) {
+                return Collections.singletonList(((WithTargetText) criteria).getElementText());
+            }
+            if (criteria instanceof ByTargetClassName) {
+                return Collections.singletonList(((ByTargetClassName) criteria).getExpectedClassName());
+            }
+            if (criteria instanceof ByIndex) {
+                // also handles ByRowIndex, criteria class is a part of the key
+                return Collections.singletonList(((ByIndex) criteria).getIndex());
+            }
+            if (criteria instanceof ByRowColIndexes) {
+                ByRowColIndexes byRowCol = (ByRowColIndexes) criteria;
+                return Arrays.asList(byRowCol.getRowIndex(), byRowCol.getColIndex());
+            }
+            if (criteria instanceof ByCells) {
+                // values are copied, the array of criteria can be changed by the caller
+                ByCells byCells = (ByCells) criteria;
+                List<Object> values = new ArrayList<>(Arrays.asList((Object[]) byCells.getCellValues()));
+                values.add(byCells.isOrdered());
+                return values;
+            }
+            if (criteria instanceof BySelected || criteria instanceof ByVisibleRows) {
+                return Collections.emptyList();
+            }
+            return null;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SelectorKey)) {
+                return false;
+            }
+
+            SelectorKey that = (SelectorKey) o;
+            return hash == that.hash
+                    && lookupId.equals(that.lookupId)
+                    && criteriaClass == that.criteriaClass
+                    && gridSteps.equals(that.gridSteps)
+                    && criteriaValues.equals(that.criteriaValues);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
\ No newline at end of file
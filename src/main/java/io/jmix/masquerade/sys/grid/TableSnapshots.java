@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys.grid;
+
+import com.codeborne.selenide.WebDriverRunner;
+import io.jmix.masquerade.component.TableSnapshot;
+import io.jmix.masquerade.component.TableSnapshot.Row;
+import io.jmix.masquerade.sys.Scripts;
+import io.jmix.masquerade.sys.SelectorSteps;
+import io.jmix.masquerade.sys.SelectorSteps.Step;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Takes {@link TableSnapshot} of grid-like components with the bundled {@code table-snapshot} script.
+ */
+public final class TableSnapshots {
+
+    private TableSnapshots() {
+    }
+
+    /**
+     * @param gridBy           selector of the component
+     * @param layout           layout of the component
+     * @param groupRowClass    class name of group rows or null
+     * @param expandedRowClass class name of expanded group rows or null
+     * @return snapshot of rendered rows
+     * @throws NoSuchElementException if the component is not found
+     */
+    public static TableSnapshot take(By gridBy, GridLayout layout,
+                                     @Nullable String groupRowClass, @Nullable String expandedRowClass) {
+        WebDriver webDriver = WebDriverRunner.getWebDriver();
+        if (!(webDriver instanceof JavascriptExecutor)) {
+            throw new UnsupportedOperationException("Unable to execute scripts in " + webDriver);
+        }
+
+        List<Step> gridSteps = SelectorSteps.of(gridBy);
+        WebElement grid = null;
+        if (gridSteps == null) {
+            List<WebElement> grids = webDriver.findElements(gridBy);
+            if (grids.isEmpty()) {
+                throw new NoSuchElementException("Cannot locate an element using " + gridBy);
+            }
+            grid = grids.get(0);
+        }
+
+        Object result = ((JavascriptExecutor) webDriver).executeScript(Scripts.get("table-snapshot"),
+                gridSteps != null ? SelectorSteps.toScriptArgument(gridSteps) : null, grid,
+                layout.getHeaderCellsCss(), layout.getRowsCss(), layout.getCellClassName(),
+                layout.getSelectedRowClassName(), groupRowClass, expandedRowClass);
+
+        if (!(result instanceof Map)) {
+            throw new NoSuchElementException("Cannot locate an element using " + gridBy);
+        }
+
+        return toSnapshot((Map<?, ?>) result);
+    }
+
+    private static TableSnapshot toSnapshot(Map<?, ?> result) {
+        List<Row> rows = new ArrayList<>();
+        for (Object row : toList(result.get("rows"))) {
+            Map<?, ?> rowMap = (Map<?, ?>) row;
+
+            rows.add(new Row(rows.size(), toStrings(rowMap.get("texts")),
+                    Boolean.TRUE.equals(rowMap.get("selected")),
+                    Boolean.TRUE.equals(rowMap.get("group")),
+                    Boolean.TRUE.equals(rowMap.get("expanded"))));
+        }
+
+        return new TableSnapshot(toStrings(result.get("columnIds")), toStrings(result.get("captions")), rows);
+    }
+
+    private static List<?> toList(Object value) {
+        return value instanceof List ? (List<?>) value : Collections.emptyList();
+    }
+
+    private static List<String> toStrings(Object value) {
+        List<?> list = toList(value);
+        List<String> strings = new ArrayList<>(list.size());
+        for (Object item : list) {
+            strings.add(item != null ? item.toString() : null);
+        }
+        return strings;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys.grid;
+
+import io.jmix.masquerade.Selectors.ByCells;
+import io.jmix.masquerade.Selectors.ByIndex;
+import io.jmix.masquerade.Selectors.ByRowColIndexes;
+import io.jmix.masquerade.Selectors.ByRowIndex;
+import io.jmix.masquerade.Selectors.BySelected;
+import io.jmix.masquerade.Selectors.ByTargetClassName;
+import io.jmix.masquerade.Selectors.ByTargetText;
+import io.jmix.masquerade.Selectors.ByVisibleRows;
+import io.jmix.masquerade.Selectors.WithTargetText;
+import io.jmix.masquerade.sys.grid.ByGridText.TextMatch;
+import org.openqa.selenium.By;
+import org.openqa.selenium.support.ui.Quotes;
+
+import static com.codeborne.selenide.Selectors.byClassName;
+import static com.codeborne.selenide.Selectors.byXpath;
+import static com.leacox.motif.Motif.match;
+import static io.jmix.masquerade.Selectors.byChain;
+import static io.jmix.masquerade.sys.matcher.InstanceOfCases.hasType;
+
+/**
+ * Locates rows and cells with XPath expressions, text criteria match any text node of a cell
+ * using {@code normalize-space}. Rows with several cell values are matched by {@link ByGridText}.
+ * Class names match whole class tokens, the same way as {@link CssGridLookup}.
+ */
+public class XPathGridLookup implements GridLookup {
+
+    protected final GridLayout layout;
+
+    public XPathGridLookup(GridLayout layout) {
+        this.layout = layout;
+    }
+
+    @SuppressWarnings("CodeBlock2Expr")
+    @Override
+    public By rowBy(By gridBy, By rowBy) {
+        return match(rowBy)
+                .when(hasType(ByTargetText.class)).get(byText -> {
+                    String trsXpath = ".//tr[" + cellXpath(textEquals(byText.getElementText())) + "]";
+
+                    return bodyChain(gridBy, trsXpath);
+                })
+                .when(hasType(WithTargetText.class)).get(withText -> {
+                    String trsXpath = ".//tr[" + cellXpath(textContains(withText.getElementText())) + "]";
+
+                    return bodyChain(gridBy, trsXpath);
+                })
+                .when(hasType(ByIndex.class)).get(byIndex -> {
+                    // also handles ByRowIndex
+                    int index = byIndex.getIndex() + 1;
+
+                    return bodyChain(gridBy, "(.//tr)[" + index + "]");
+                })
+                .when(hasType(BySelected.class)).get(isSelected -> {
+                    String trsXpath = ".//tr[" + hasClass(layout.getSelectedRowClassName()) + "]";
+
+                    return bodyChain(gridBy, trsXpath);
+                })
+                .when(hasType(ByCells.class)).get(byCells -> {
+                    // one predicate per value would re-scan text nodes of all cells for each value,
+                    // rows are matched by a single pass over normalized texts of their cells instead
+                    String cellCss = "td." + CssGridLookup.escapeIdentifier(layout.getCellClassName());
+
+                    return new ByGridText(gridBy, layout.getRowsCss(), cellCss,
+                            byCells.isOrdered() ? TextMatch.COLUMNS : TextMatch.EQUALS, byCells.getCellValues());
+                })
+                .when(hasType(ByVisibleRows.class)).get(byVisibleRows -> {
+                    return bodyChain(gridBy, ".//tr");
+                })
+                .getMatch();
+    }
+
+    @Override
+    public By cellBy(By gridBy, By cellBy) {
+        return match(cellBy)
+                .when(hasType(ByTargetText.class)).get(byText -> {
+                    String tdXpath = cellXpath(textEquals(byText.getElementText()));
+
+                    return byChain(gridBy, byXpath(tdXpath));
+                })
+                .when(hasType(WithTargetText.class)).get(withText -> {
+                    String tdXpath = cellXpath(textContains(withText.getElementText()));
+
+                    return byChain(gridBy, byXpath(tdXpath));
+                })
+                .when(hasType(ByTargetClassName.class)).get(byClassName -> {
+                    String tdXpath = ".//td[" + hasClass(layout.getCellClassName()) + " " +
+                            "and " + hasClass(byClassName.getExpectedClassName()) + "]";
+
+                    return byChain(gridBy, byXpath(tdXpath));
+                })
+                .when(hasType(ByRowColIndexes.class)).get(byRowCol -> {
+                    int rowIndex = byRowCol.getRowIndex() + 1;
+                    int colIndex = byRowCol.getColIndex() + 1;
+
+                    return bodyChain(gridBy, "(.//tr)[" + rowIndex + "]//td[" + colIndex + "]");
+                })
+                .when(hasType(ByRowIndex.class)).get(byRowIndex -> {
+                    int index = byRowIndex.getIndex() + 1;
+
+                    String tdsXpath = "(.//tr)[" + index + "]" +
+                            "//td[" + hasClass(layout.getCellClassName()) + "]";
+
+                    return bodyChain(gridBy, tdsXpath);
+                })
+                .getMatch();
+    }
+
+    protected By bodyChain(By gridBy, String xpath) {
+        return byChain(gridBy, byClassName(layout.getBodyClassName()), byXpath(xpath));
+    }
+
+    protected String cellXpath(String textPredicate) {
+        return ".//td[" + hasClass(layout.getCellClassName()) + " " +
+                "and .//text()[" + textPredicate + "]]";
+    }
+
+    protected String hasClass(String className) {
+        return "contains(concat(' ', normalize-space(@class), ' '), " + Quotes.escape(" " + className + " ") + ")";
+    }
+
+    protected String textEquals(String text) {
+        return "normalize-space(.) = " + Quotes.escape(text);
+    }
+
+    protected String textContains(String text) {
+        return "contains(normalize-space(.), " + Quotes.escape(text) + ")";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys.wiring;
+
+import io.jmix.masquerade.Components;
+import io.jmix.masquerade.sys.wiring.WiringPlan.FieldPlan;
+import org.openqa.selenium.By;
+import org.openqa.selenium.support.pagefactory.Annotations;
+
+import static io.jmix.masquerade.Selectors.byChain;
+
+/**
+ * Base class of generated {@link Wirer} implementations.
+ *
+ * @param <T> type of composite
+ */
+public abstract class AbstractWirer<T> implements Wirer<T> {
+
+    /**
+     * Wires a nested component or composite.
+     *
+     * @param type     type of the nested component
+     * @param parentBy selector of the composite
+     * @param selector selector of the nested component relative to the composite
+     * @param <C>      type of the nested component
+     * @return nested component
+     */
+    protected static <C> C child(Class<C> type, By parentBy, By selector) {
+        By childBy = getChildBy(parentBy, selector);
+
+        if (LazyWiring.isDeferring()) {
+            return LazyWiring.wire(type, childBy);
+        }
+        return Components.wireChild(type, childBy);
+    }
+
+    /**
+     * Wires a nested component or composite marked with {@code @Wire(lazy = true)}, see {@link LazyWiring#wire}.
+     *
+     * @param type     type of the nested component
+     * @param parentBy selector of the composite
+     * @param selector selector of the nested component relative to the composite
+     * @param <C>      type of the nested component
+     * @return deferred handle or nested composite with deferred components
+     */
+    protected static <C> C lazyChild(Class<C> type, By parentBy, By selector) {
+        return LazyWiring.wire(type, getChildBy(parentBy, selector));
+    }
+
+    private static By getChildBy(By parentBy, By selector) {
+        if (parentBy == WiringPlan.BODY_MARKER_BY) {
+            return selector;
+        }
+        return byChain(parentBy, selector);
+    }
+
+    /**
+     * Builds selector of a field annotated with {@link org.openqa.selenium.support.FindBy}.
+     *
+     * @param declaringClass class that declares the field
+     * @param fieldName      name of the field
+     * @return selector
+     */
+    protected static By findBy(Class<?> declaringClass, String fieldName) {
+        try {
+            return new Annotations(declaringClass.getDeclaredField(fieldName)).buildBy();
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException("Generated wiring is outdated, there is no field " + fieldName
+                    + " in " + declaringClass.getName(), e);
+        }
+    }
+
+    /**
+     * Injects a field that cannot be assigned from generated code, e.g. a private field of a superclass.
+     *
+     * @param instance       composite instance
+     * @param declaringClass binary name of the class that declares the field
+     * @param fieldName      name of the field
+     * @param parentBy       selector of the composite
+     */
+    protected static void inject(Object instance, String declaringClass, String fieldName, By parentBy) {
+        WiringPlan<?> plan = WiringPlans.get(instance.getClass());
+
+        for (FieldPlan fieldPlan : plan.getFields()) {
+            if (fieldPlan.getField().getName().equals(fieldName)
+                    && fieldPlan.getField().getDeclaringClass().getName().equals(declaringClass)) {
+                Object fieldValue = Components.getTargetFieldValue(fieldPlan, parentBy);
+                if (fieldValue != null) {
+                    fieldPlan.inject(instance, fieldValue);
+                }
+                return;
+            }
+        }
+
+        throw new IllegalStateException("Generated wiring is outdated, there is no injectable field " + fieldName
+                + " in " + declaringClass);
+    }
+}
\ No newline at end of file
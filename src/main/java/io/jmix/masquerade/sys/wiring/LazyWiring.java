@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys.wiring;
+
+import com.codeborne.selenide.SelenideElement;
+import io.jmix.masquerade.Components;
+import io.jmix.masquerade.base.ByLocator;
+import org.openqa.selenium.By;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deferred handles of nested components. A handle creates the real component on the first method call,
+ * so composites with many fields only pay for the components a test actually uses.
+ * <br>
+ * Nested composite classes cannot be proxied and are created right away, components of a nested composite
+ * of a lazy composite are deferred as well.
+ * <br>
+ * Lazy wiring is enabled per field or composite class with {@code @Wire(lazy = true)} or globally with
+ * {@code -Dmasquerade.wiring.lazy=true}.
+ */
+public final class LazyWiring {
+
+    private static final ThreadLocal<int[]> lazyDepth = ThreadLocal.withInitial(() -> new int[1]);
+
+    private static final AtomicLong deferred = new AtomicLong();
+    private static final AtomicLong materialized = new AtomicLong();
+
+    private static volatile boolean enabled =
+            Boolean.parseBoolean(System.getProperty("masquerade.wiring.lazy", "false"));
+
+    private LazyWiring() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        LazyWiring.enabled = enabled;
+    }
+
+    /**
+     * @return true if nested components are deferred in the current thread, globally or because
+     * a nested composite of a lazy composite is being wired
+     */
+    public static boolean isDeferring() {
+        return enabled || lazyDepth.get()[0] > 0;
+    }
+
+    /**
+     * Wires a lazy field: creates a deferred handle of a component or wires a nested composite
+     * with deferred components.
+     *
+     * @param type type of the nested component
+     * @param by   selector of the nested component
+     * @param <T>  type of the nested component
+     * @return deferred handle or nested composite
+     */
+    public static <T> T wire(Class<T> type, By by) {
+        if (isDeferrable(type)) {
+            return defer(type, by);
+        }
+
+        int[] depth = lazyDepth.get();
+        depth[0]++;
+        try {
+            return Components.wireChild(type, by);
+        } finally {
+            depth[0]--;
+        }
+    }
+
+    /**
+     * @param type type of a nested component
+     * @return true if a deferred handle can be created for the type
+     */
+    public static boolean isDeferrable(Class<?> type) {
+        return type.isInterface() && !SelenideElement.class.isAssignableFrom(type);
+    }
+
+    /**
+     * Creates a deferred handle of a component, the component is wired on the first method call.
+     *
+     * @param type component interface
+     * @param by   selector of the component
+     * @param <T>  type of component
+     * @return deferred handle
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T defer(Class<T> type, By by) {
+        deferred.incrementAndGet();
+
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class[]{type},
+                new DeferredInvocationHandler<>(type, by));
+    }
+
+    /**
+     * @param component component or deferred handle
+     * @return false if the component is a deferred handle that has not been used yet
+     */
+    public static boolean isMaterialized(Object component) {
+        if (component != null && Proxy.isProxyClass(component.getClass())) {
+            InvocationHandler handler = Proxy.getInvocationHandler(component);
+            if (handler instanceof DeferredInvocationHandler) {
+                return ((DeferredInvocationHandler) handler).target != null;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return number of deferred handles created
+     */
+    public static long getDeferred() {
+        return deferred.get();
+    }
+
+    /**
+     * @return number of deferred handles that created the real component
+     */
+    public static long getMaterialized() {
+        return materialized.get();
+    }
+
+    private static final class DeferredInvocationHandler<T> implements InvocationHandler {
+        private final Class<T> type;
+        private final By by;
+
+        private volatile T target;
+
+        private DeferredInvocationHandler(Class<T> type, By by) {
+            this.type = type;
+            this.by = by;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "Lazy " + type.getSimpleName() + " " + by;
+                    default:
+                        break;
+                }
+            }
+
+            if (method.getDeclaringClass() == ByLocator.class) {
+                // selector is known without creating the component
+                return by;
+            }
+
+            try {
+                return method.invoke(getTarget(), args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause() != null ? e.getCause() : e;
+            }
+        }
+
+        private T getTarget() {
+            T result = target;
+            if (result == null) {
+                synchronized (this) {
+                    result = target;
+                    if (result == null) {
+                        result = Components.wireChild(type, by);
+                        target = result;
+                        materialized.incrementAndGet();
+                    }
+                }
+            }
+            return result;
+        }
+    }
+}
\ No newline at end of file
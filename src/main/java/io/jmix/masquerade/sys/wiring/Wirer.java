@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys.wiring;
+
+import org.openqa.selenium.By;
+
+/**
+ * Creates and wires instances of a composite class without reflection.
+ * <br>
+ * Implementations named {@code <Composite>_Wiring} are generated by jmix-masquerade-processor
+ * and picked up by {@link Wirers}.
+ *
+ * @param <T> type of composite
+ */
+public interface Wirer<T> {
+    T wire(By by);
+}
\ No newline at end of file
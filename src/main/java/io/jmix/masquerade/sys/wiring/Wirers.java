@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys.wiring;
+
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lookup of generated {@link Wirer} classes.
+ * <br>
+ * Generated wirers can be disabled with {@code -Dmasquerade.wiring.generated=false}.
+ */
+public final class Wirers {
+
+    public static final String GENERATED_CLASS_SUFFIX = "_Wiring";
+
+    private static final Map<Class, Optional<Wirer>> wirers = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled =
+            Boolean.parseBoolean(System.getProperty("masquerade.wiring.generated", "true"));
+
+    private Wirers() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        Wirers.enabled = enabled;
+    }
+
+    /**
+     * @param clazz composite class
+     * @return generated wirer or null if there is no generated wirer for the class
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    public static <T> Wirer<T> get(Class<T> clazz) {
+        if (!enabled) {
+            return null;
+        }
+
+        return wirers.computeIfAbsent(clazz, Wirers::load)
+                .orElse(null);
+    }
+
+    /**
+     * @param clazz composite class
+     * @return fully qualified name of the generated wirer class
+     */
+    public static String getGeneratedClassName(Class<?> clazz) {
+        String name = clazz.getName();
+        int packageEnd = name.lastIndexOf('.');
+
+        String packagePrefix = packageEnd < 0 ? "" : name.substring(0, packageEnd + 1);
+        String simpleName = name.substring(packageEnd + 1).replace('$', '_');
+
+        return packagePrefix + simpleName + GENERATED_CLASS_SUFFIX;
+    }
+
+    private static Optional<Wirer> load(Class<?> clazz) {
+        if (clazz.isInterface() || clazz.isAnonymousClass() || clazz.isLocalClass()) {
+            return Optional.empty();
+        }
+
+        ClassLoader classLoader = clazz.getClassLoader();
+        if (classLoader == null) {
+            return Optional.empty();
+        }
+
+        Class<?> wirerClass;
+        try {
+            wirerClass = Class.forName(getGeneratedClassName(clazz), true, classLoader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            return Optional.empty();
+        }
+
+        if (!Wirer.class.isAssignableFrom(wirerClass)) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of((Wirer) wirerClass.getDeclaredConstructor().newInstance());
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LoggerFactory.getLogger(Wirers.class)
+                    .warn("Unable to use generated wiring {}, falling back to reflection", wirerClass.getName(), e);
+            return Optional.empty();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys.wiring;
+
+import com.codeborne.selenide.SelenideElement;
+import io.jmix.masquerade.Wire;
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.openqa.selenium.By;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static io.jmix.masquerade.Selectors.byChain;
+import static io.jmix.masquerade.Selectors.byPath;
+
+/**
+ * Immutable description of how a composite class is wired: its constructor, injectable fields and
+ * static selector fragments of nested components. Plans are built once per class by {@link WiringPlans}.
+ */
+public final class WiringPlan<T> {
+
+    /**
+     * Marker of the document root, children of the root are located by their own selectors.
+     */
+    public static final By BODY_MARKER_BY = By.tagName("body");
+
+    private final Class<T> type;
+    private final Constructor<T> constructor;
+    private final List<FieldPlan> fields;
+    private final boolean verify;
+
+    private WiringPlan(Class<T> type, Constructor<T> constructor, List<FieldPlan> fields, boolean verify) {
+        this.type = type;
+        this.constructor = constructor;
+        this.fields = fields;
+        this.verify = verify;
+    }
+
+    static <T> WiringPlan<T> build(Class<T> type) {
+        Constructor<T> constructor;
+        try {
+            // not made accessible: as with Class.newInstance(), composites need an accessible default constructor
+            constructor = type.getDeclaredConstructor();
+        } catch (NoSuchMethodException | RuntimeException e) {
+            // instantiation error is reported on wiring, as it was before plans
+            constructor = null;
+        }
+
+        Wire typeWire = type.getAnnotation(Wire.class);
+        boolean typeLazy = typeWire != null && typeWire.lazy();
+
+        Logger logger = null;
+        List<FieldPlan> fields = new ArrayList<>();
+        for (Field field : FieldUtils.getAllFields(type)) {
+            Wire wire = field.getAnnotation(Wire.class);
+
+            if (wire != null) {
+                if (field.getType() == SelenideElement.class) {
+                    fields.add(new FieldPlan(field, FieldKind.ELEMENT, null, null, false));
+                } else if (field.getType() == By.class) {
+                    fields.add(new FieldPlan(field, FieldKind.LOCATOR, null, null, false));
+                } else if (field.getType() == Logger.class) {
+                    if (logger == null) {
+                        logger = LoggerFactory.getLogger(type);
+                    }
+                    fields.add(new FieldPlan(field, FieldKind.LOGGER, null, logger, false));
+                } else {
+                    String[] path = wire.path();
+                    if (path.length == 0) {
+                        path = new String[]{field.getName()};
+                    }
+
+                    fields.add(new FieldPlan(field, FieldKind.COMPONENT, byPath(path), null,
+                            typeLazy || wire.lazy()));
+                }
+            } else if (field.getAnnotation(FindBy.class) != null) {
+                By selector = new Annotations(field).buildBy();
+
+                fields.add(new FieldPlan(field, FieldKind.COMPONENT, selector, null, typeLazy));
+            }
+        }
+
+        boolean verify = typeWire != null && typeWire.verify();
+
+        return new WiringPlan<>(type, constructor, Collections.unmodifiableList(fields), verify);
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    public List<FieldPlan> getFields() {
+        return fields;
+    }
+
+    /**
+     * @return true if the composite class is marked with {@code @Wire(verify = true)}
+     */
+    public boolean isVerify() {
+        return verify;
+    }
+
+    /**
+     * @param field field of the composite class
+     * @return plan of the field or null if the field is not injectable
+     */
+    public FieldPlan getField(Field field) {
+        for (FieldPlan fieldPlan : fields) {
+            if (fieldPlan.getField().equals(field)) {
+                return fieldPlan;
+            }
+        }
+        return null;
+    }
+
+    public T newInstance() {
+        if (constructor == null) {
+            throw new RuntimeException("Unable to instantiate composite " + type.getName(),
+                    new InstantiationException("No default constructor"));
+        }
+
+        try {
+            return constructor.newInstance();
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new RuntimeException("Unable to instantiate composite " + type.getName(), e);
+        }
+    }
+
+    public enum FieldKind {
+        /**
+         * {@link SelenideElement} of the composite itself.
+         */
+        ELEMENT,
+        /**
+         * {@link By} of the composite itself.
+         */
+        LOCATOR,
+        /**
+         * {@link Logger} of the composite class.
+         */
+        LOGGER,
+        /**
+         * Nested component or composite located relative to the composite.
+         */
+        COMPONENT
+    }
+
+    public static final class FieldPlan {
+        private final Field field;
+        private final FieldKind kind;
+        private final By selector;
+        private final Logger logger;
+        private final boolean lazy;
+
+        private FieldPlan(Field field, FieldKind kind, By selector, Logger logger, boolean lazy) {
+            this.field = field;
+            this.kind = kind;
+            this.selector = selector;
+            this.logger = logger;
+            this.lazy = lazy;
+
+            field.setAccessible(true);
+        }
+
+        public Field getField() {
+            return field;
+        }
+
+        public FieldKind getKind() {
+            return kind;
+        }
+
+        public Class<?> getType() {
+            return field.getType();
+        }
+
+        /**
+         * @return selector of a nested component relative to its parent, null for other kinds
+         */
+        public By getSelector() {
+            return selector;
+        }
+
+        public Logger getLogger() {
+            return logger;
+        }
+
+        /**
+         * @return true if the field or the composite class is marked with {@code @Wire(lazy = true)}
+         */
+        public boolean isLazy() {
+            return lazy;
+        }
+
+        /**
+         * @param parentBy selector of the composite
+         * @return selector of the nested component
+         */
+        public By getChildBy(By parentBy) {
+            if (parentBy == BODY_MARKER_BY) {
+                return selector;
+            }
+            return byChain(parentBy, selector);
+        }
+
+        public void inject(Object instance, Object value) {
+            try {
+                field.set(instance, value);
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException("Unable to inject field " + field.getName(), e);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys.wiring;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of {@link WiringPlan} instances, one plan per composite class.
+ */
+public final class WiringPlans {
+
+    private static final Map<Class, WiringPlan> plans = new ConcurrentHashMap<>();
+
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+
+    private WiringPlans() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> WiringPlan<T> get(Class<T> clazz) {
+        WiringPlan<T> plan = plans.get(clazz);
+        if (plan != null) {
+            hits.incrementAndGet();
+            return plan;
+        }
+
+        return plans.computeIfAbsent(clazz, c -> {
+            misses.incrementAndGet();
+            return WiringPlan.build(c);
+        });
+    }
+
+    /**
+     * @return number of wirings that reused a cached plan
+     */
+    public static long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return number of plans built
+     */
+    public static long getMisses() {
+        return misses.get();
+    }
+
+    public static int size() {
+        return plans.size();
+    }
+
+    /**
+     * Drops all cached plans and resets statistics.
+     */
+    public static void clear() {
+        plans.clear();
+        hits.set(0);
+        misses.set(0);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys.wiring;
+
+import com.codeborne.selenide.Configuration;
+import com.codeborne.selenide.SelenideElement;
+import io.jmix.masquerade.base.ByLocator;
+import io.jmix.masquerade.sys.SelectorSteps;
+import io.jmix.masquerade.sys.SelectorSteps.Step;
+import io.jmix.masquerade.sys.Scripts;
+import io.jmix.masquerade.sys.wiring.WiringPlan.FieldKind;
+import io.jmix.masquerade.sys.wiring.WiringPlan.FieldPlan;
+import io.jmix.masquerade.util.MissingComponentsException;
+import org.openqa.selenium.By;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Checks that all components of a wired composite tree exist on the page using one script call
+ * per polling attempt.
+ */
+public final class WiringVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(WiringVerifier.class);
+
+    private WiringVerifier() {
+    }
+
+    /**
+     * Waits until all components of the composite and its nested composites exist on the page.
+     *
+     * @param composite wired composite
+     * @throws MissingComponentsException if some components are not found within Selenide timeout
+     */
+    public static void verify(Object composite) {
+        verify(composite, Configuration.timeout);
+    }
+
+    /**
+     * Waits until all components of the composite and its nested composites exist on the page.
+     *
+     * @param composite wired composite
+     * @param timeout   timeout in milliseconds
+     * @throws MissingComponentsException if some components are not found within timeout
+     */
+    public static void verify(Object composite, long timeout) {
+        Class<?> type = composite.getClass();
+        By by = getBy(composite);
+
+        List<String> paths = new ArrayList<>();
+        List<By> bys = new ArrayList<>();
+        if (by != WiringPlan.BODY_MARKER_BY) {
+            paths.add(type.getSimpleName());
+            bys.add(by);
+        }
+        collect(type, by, "", paths, bys, new HashSet<>());
+
+        List<String> checkedPaths = new ArrayList<>();
+        List<By> checkedBys = new ArrayList<>();
+        List<List<Map<String, String>>> chains = new ArrayList<>();
+        for (int i = 0; i < bys.size(); i++) {
+            List<Step> steps = SelectorSteps.of(bys.get(i));
+            if (steps == null) {
+                log.debug("Skip verification of {}, {} cannot be checked in browser", paths.get(i), bys.get(i));
+                continue;
+            }
+
+            checkedPaths.add(paths.get(i));
+            checkedBys.add(bys.get(i));
+            chains.add(SelectorSteps.toScriptArgument(steps));
+        }
+
+        if (chains.isEmpty()) {
+            return;
+        }
+
+        long deadline = System.currentTimeMillis() + timeout;
+        List<?> missingIndexes;
+        while (true) {
+            missingIndexes = Scripts.execute("verify", chains);
+            if (missingIndexes == null || missingIndexes.isEmpty()) {
+                return;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                break;
+            }
+
+            try {
+                Thread.sleep(Configuration.pollingInterval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        List<String> missing = new ArrayList<>(missingIndexes.size());
+        StringBuilder message = new StringBuilder("Components of ")
+                .append(type.getSimpleName())
+                .append(" not found in ")
+                .append(timeout)
+                .append(" ms:");
+        for (Object missingIndex : missingIndexes) {
+            int index = ((Number) missingIndex).intValue();
+
+            missing.add(checkedPaths.get(index));
+            message.append("\n  ")
+                    .append(checkedPaths.get(index))
+                    .append(": ")
+                    .append(checkedBys.get(index));
+        }
+
+        throw new MissingComponentsException(message.toString(), missing);
+    }
+
+    private static By getBy(Object composite) {
+        if (composite instanceof ByLocator) {
+            return ((ByLocator) composite).getBy();
+        }
+
+        for (FieldPlan fieldPlan : WiringPlans.get(composite.getClass()).getFields()) {
+            if (fieldPlan.getKind() == FieldKind.LOCATOR) {
+                try {
+                    Object by = fieldPlan.getField().get(composite);
+                    if (by instanceof By) {
+                        return (By) by;
+                    }
+                } catch (IllegalAccessException e) {
+                    throw new RuntimeException("Unable to read field " + fieldPlan.getField().getName(), e);
+                }
+            }
+        }
+        return WiringPlan.BODY_MARKER_BY;
+    }
+
+    private static void collect(Class<?> type, By parentBy, String prefix,
+                                List<String> paths, List<By> bys, Set<Class<?>> visiting) {
+        if (!visiting.add(type)) {
+            // recursive composites are verified up to the first repetition
+            return;
+        }
+
+        for (FieldPlan fieldPlan : WiringPlans.get(type).getFields()) {
+            if (fieldPlan.getKind() != FieldKind.COMPONENT) {
+                continue;
+            }
+
+            String path = prefix + fieldPlan.getField().getName();
+            By childBy = fieldPlan.getChildBy(parentBy);
+
+            paths.add(path);
+            bys.add(childBy);
+
+            Class<?> fieldType = fieldPlan.getType();
+            if (!fieldType.isInterface()
+                    && !fieldType.isPrimitive()
+                    && !SelenideElement.class.isAssignableFrom(fieldType)) {
+                collect(fieldType, childBy, path + ".", paths, bys, visiting);
+            }
+        }
+
+        visiting.remove(type);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.util;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Thrown when components of a wired composite are not found on the page.
+ */
+public class MissingComponentsException extends RuntimeException {
+    private static final long serialVersionUID = 4581926710034362251L;
+
+    private final List<String> missing;
+
+    public MissingComponentsException(String message, List<String> missing) {
+        super(message);
+
+        this.missing = Collections.unmodifiableList(missing);
+    }
+
+    /**
+     * @return paths of missing fields, e.g. {@code loginForm.loginButton}
+     */
+    public List<String> getMissing() {
+        return missing;
+    }
+}
\ No newline at end of file
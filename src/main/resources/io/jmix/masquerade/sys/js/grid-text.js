@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/*
+ * Finds rows or cells of grids that contain text nodes with the given normalized text.
+ * Normalized texts of a cell are computed once and kept on the cell until a mutation
+ * changes the cell or inserts elements into the page.
+ *
+ * arguments[0] - chain of grid steps {type: 'css' | 'xpath', value: string} or null
+ * arguments[1] - grid elements if arguments[0] is null
+ * arguments[2] - CSS selector of candidates relative to a grid
+ * arguments[3] - CSS selector of cells of a candidate or null if candidates are cells
+ * arguments[4] - 'equals' or 'contains' if each text must be matched by a text node of some cell of a candidate,
+ *                'columns' if each text must be equal to a text node of the cell with the same index
+ * arguments[5] - texts
+ * returns matching candidates
+ */
+var gridChain = arguments[0];
+var grids = arguments[1];
+var css = arguments[2];
+var cellCss = arguments[3];
+var textMatch = arguments[4];
+var contains = textMatch === 'contains';
+var texts = arguments[5];
+
+var textCache = window.__masqueradeTextCache;
+if (!textCache) {
+    textCache = {generation: 0};
+
+    new MutationObserver(function (mutations) {
+        for (var i = 0; i < mutations.length; i++) {
+            var mutation = mutations[i];
+            for (var node = mutation.target; node; node = node.parentNode) {
+                if (node.__masqueradeTexts) {
+                    node.__masqueradeTexts = null;
+                }
+            }
+            if (mutation.type !== 'childList') {
+                continue;
+            }
+            for (var j = 0; j < mutation.addedNodes.length; j++) {
+                if (mutation.addedNodes[j].nodeType === 1) {
+                    // inserted elements may contain cells changed while detached
+                    textCache.generation++;
+                    break;
+                }
+            }
+        }
+    }).observe(document.documentElement, {subtree: true, childList: true, characterData: true});
+
+    window.__masqueradeTextCache = textCache;
+}
+
+function collectTexts(node, texts) {
+    for (var child = node.firstChild; child; child = child.nextSibling) {
+        if (child.nodeType === 3) {
+            var value = normalize(child.nodeValue);
+            texts.values.push(value);
+            texts.set[value] = true;
+        } else if (child.nodeType === 1) {
+            collectTexts(child, texts);
+        }
+    }
+}
+
+function getTexts(cell) {
+    var texts = cell.__masqueradeTexts;
+    if (!texts || texts.generation !== textCache.generation) {
+        texts = {generation: textCache.generation, values: [], set: Object.create(null)};
+        collectTexts(cell, texts);
+        cell.__masqueradeTexts = texts;
+    }
+    return texts;
+}
+
+function hasText(cellTexts, text) {
+    if (!contains) {
+        return cellTexts.set[text] === true;
+    }
+    for (var i = 0; i < cellTexts.values.length; i++) {
+        if (cellTexts.values[i].indexOf(text) >= 0) {
+            return true;
+        }
+    }
+    return false;
+}
+
+function matches(candidate) {
+    var cells = cellCss ? candidate.querySelectorAll(cellCss) : [candidate];
+    if (textMatch === 'columns') {
+        if (cells.length < texts.length) {
+            return false;
+        }
+        for (var i = 0; i < texts.length; i++) {
+            if (getTexts(cells[i]).set[texts[i]] !== true) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // one pass over cells, texts of a cell are checked against all texts that are not matched yet
+    var remaining = texts.slice();
+    for (var j = 0; j < cells.length && remaining.length > 0; j++) {
+        var cellTexts = getTexts(cells[j]);
+        for (var k = remaining.length - 1; k >= 0; k--) {
+            if (hasText(cellTexts, remaining[k])) {
+                remaining.splice(k, 1);
+            }
+        }
+    }
+    return remaining.length === 0;
+}
+
+if (gridChain) {
+    grids = resolveChain(document, gridChain);
+}
+
+var candidates = [];
+var seen = new Set();
+for (var k = 0; k < grids.length; k++) {
+    var found = grids[k].querySelectorAll(css);
+    for (var n = 0; n < found.length; n++) {
+        if (!seen.has(found[n])) {
+            seen.add(found[n]);
+            candidates.push(found[n]);
+        }
+    }
+}
+
+var result = [];
+for (var m = 0; m < candidates.length; m++) {
+    if (matches(candidates[m])) {
+        result.push(candidates[m]);
+    }
+}
+return result;
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/*
+ * Scrolls a virtually scrolled grid and collects rendered rows that have data.
+ *
+ * arguments[0] - chain of grid steps {type: 'css' | 'xpath', value: string} or null
+ * arguments[1] - grid element if arguments[0] is null
+ * arguments[2] - requested scroll position of the vertical scroller or null to keep the current one
+ * arguments[3] - class name of the vertical scroller
+ * arguments[4] - CSS selector of rows relative to the grid
+ * arguments[5] - class name of cells
+ * arguments[6] - class name of selected rows
+ * arguments[7] - class name of rows that have data or null if all rows have data
+ * arguments[8] - class name of details rows or null if the grid has no details
+ * returns {scrollTop, scrollHeight, clientHeight, rowHeight, pending, rows: [{index, top, texts, selected}]}
+ * or null if the grid is not found, rows are ordered by index
+ */
+var gridChain = arguments[0];
+var grid = arguments[1];
+var scrollTop = arguments[2];
+var scrollerClass = arguments[3];
+var rowsCss = arguments[4];
+var cellClass = arguments[5];
+var selectedClass = arguments[6];
+var dataClass = arguments[7];
+var spacerClass = arguments[8];
+
+if (gridChain) {
+    var grids = resolveChain(document, gridChain);
+    grid = grids.length > 0 ? grids[0] : null;
+}
+if (!grid) {
+    return null;
+}
+
+var scroller = grid.getElementsByClassName(scrollerClass)[0];
+if (scroller && scrollTop !== null && Math.abs(scroller.scrollTop - scrollTop) >= 1) {
+    // rows of the new position are rendered by the scroll handler of the grid after the script
+    scroller.scrollTop = scrollTop;
+}
+
+var rowElements = grid.querySelectorAll(rowsCss);
+
+// rendered rows are positioned by transforms, the offset is the logical top of a row in the grid body
+function rowTop(row) {
+    var transform = row.style.transform || row.style.webkitTransform || '';
+    var match = /translate(?:3d)?\(\s*-?[\d.]+(?:px)?\s*,\s*(-?[\d.]+)(?:px)?/.exec(transform);
+    return match ? parseFloat(match[1]) : null;
+}
+
+var rendered = [];
+var spacers = [];
+for (var r = 0; r < rowElements.length; r++) {
+    var row = rowElements[r];
+    if (row.style.display === 'none') {
+        continue;
+    }
+    if (spacerClass && row.classList.contains(spacerClass)) {
+        // details of a row shift all rows below it by their height
+        spacers.push({top: rowTop(row), height: row.getBoundingClientRect().height});
+        continue;
+    }
+    rendered.push({element: row, position: r, top: rowTop(row)});
+}
+
+// row height is the distance between adjacent rows, element height is rounded in some browsers
+var rowHeight = 0;
+var tops = rendered.map(function (item) {
+    return item.top;
+}).filter(function (top) {
+    return top !== null;
+}).sort(function (a, b) {
+    return a - b;
+});
+for (var t = 1; t < tops.length; t++) {
+    var distance = tops[t] - tops[t - 1];
+    var separated = spacers.some(function (spacer) {
+        return spacer.top !== null && spacer.top >= tops[t - 1] && spacer.top < tops[t];
+    });
+    if (distance > 0 && !separated && (rowHeight === 0 || distance < rowHeight)) {
+        rowHeight = distance;
+    }
+}
+if (rowHeight === 0 && rendered.length > 0) {
+    rowHeight = rendered[0].element.getBoundingClientRect().height;
+}
+
+function rowIndex(item) {
+    if (item.top === null || rowHeight <= 0) {
+        return item.position;
+    }
+    var offset = item.top;
+    for (var s = 0; s < spacers.length; s++) {
+        if (spacers[s].top !== null && spacers[s].top < item.top) {
+            offset -= spacers[s].height;
+        }
+    }
+    return Math.round(offset / rowHeight);
+}
+
+var rows = [];
+var pending = false;
+for (var i = 0; i < rendered.length; i++) {
+    var element = rendered[i].element;
+    if (dataClass && !element.classList.contains(dataClass)) {
+        pending = true;
+        continue;
+    }
+
+    var texts = [];
+    for (var c = 0; c < element.children.length; c++) {
+        if (element.children[c].classList.contains(cellClass)) {
+            texts.push(normalize(element.children[c].textContent));
+        }
+    }
+    rows.push({
+        index: rowIndex(rendered[i]),
+        top: rendered[i].top,
+        texts: texts,
+        selected: element.classList.contains(selectedClass)
+    });
+}
+rows.sort(function (a, b) {
+    return a.index - b.index;
+});
+
+return {
+    scrollTop: scroller ? scroller.scrollTop : 0,
+    scrollHeight: scroller ? scroller.scrollHeight : 0,
+    clientHeight: scroller ? scroller.clientHeight : 0,
+    rowHeight: rowHeight,
+    pending: pending,
+    rows: rows
+};
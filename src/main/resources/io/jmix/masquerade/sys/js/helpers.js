@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/*
+ * Helpers shared by the bundled scripts, prepended to each script by Scripts.
+ */
+
+// the same as XPath normalize-space: only space, tab, CR and LF are whitespace,
+// so that texts found by scripts and by XPath lookups are compared the same way
+function normalize(text) {
+    return text.replace(/[ \t\r\n]+/g, ' ').replace(/^ | $/g, '');
+}
+
+// elements of a step {type: 'css' | 'xpath', value: string} located from the context node
+function findAll(context, step) {
+    if (step.type === 'xpath') {
+        var snapshot = document.evaluate(step.value, context, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+        var nodes = [];
+        for (var i = 0; i < snapshot.snapshotLength; i++) {
+            var node = snapshot.snapshotItem(i);
+            if (node.nodeType === 1) {
+                nodes.push(node);
+            }
+        }
+        return nodes;
+    }
+    return Array.prototype.slice.call(context.querySelectorAll(step.value));
+}
+
+// elements of a chain of steps, each step is applied to elements found by the previous step
+function resolveChain(root, chain) {
+    var contexts = [root];
+    for (var i = 0; i < chain.length && contexts.length > 0; i++) {
+        var next = [];
+        // keeps the lookup linear in the number of found elements, e.g. cells of large grids
+        var seen = new Set();
+        for (var j = 0; j < contexts.length; j++) {
+            var found = findAll(contexts[j], chain[i]);
+            for (var k = 0; k < found.length; k++) {
+                if (!seen.has(found[k])) {
+                    seen.add(found[k]);
+                    next.push(found[k]);
+                }
+            }
+        }
+        contexts = next;
+    }
+    return contexts;
+}
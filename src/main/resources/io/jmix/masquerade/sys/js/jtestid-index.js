@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/*
+ * Finds elements of a j-test-id path using the page-wide index of j-test-id attributes.
+ * The index is built on first use and rebuilt after mutations that add, remove or change
+ * elements with j-test-id attributes.
+ *
+ * arguments[0] - path, array of j-test-ids, each element is nested in an element of the previous id
+ * returns elements of the last id in document order
+ */
+var path = arguments[0];
+
+var index = window.__masqueradeJTestIdIndex;
+if (!index) {
+    index = {ids: null};
+
+    var hasJTestIds = function (nodes) {
+        for (var i = 0; i < nodes.length; i++) {
+            var node = nodes[i];
+            if (node.nodeType === 1
+                && (node.hasAttribute('j-test-id') || node.querySelector('[j-test-id]'))) {
+                return true;
+            }
+        }
+        return false;
+    };
+
+    new MutationObserver(function (mutations) {
+        for (var i = 0; i < mutations.length && index.ids; i++) {
+            var mutation = mutations[i];
+            if (mutation.type === 'attributes'
+                || hasJTestIds(mutation.addedNodes)
+                || hasJTestIds(mutation.removedNodes)) {
+                index.ids = null;
+            }
+        }
+    }).observe(document.documentElement, {
+        subtree: true,
+        childList: true,
+        attributes: true,
+        attributeFilter: ['j-test-id']
+    });
+
+    window.__masqueradeJTestIdIndex = index;
+}
+
+if (!index.ids) {
+    var ids = Object.create(null);
+    var elements = document.querySelectorAll('[j-test-id]');
+    for (var i = 0; i < elements.length; i++) {
+        var id = elements[i].getAttribute('j-test-id');
+        (ids[id] || (ids[id] = [])).push(elements[i]);
+    }
+    index.ids = ids;
+}
+
+function isInPath(element, last) {
+    var node = element.parentElement;
+    for (var i = last; i >= 0 && node; node = node.parentElement) {
+        if (node.getAttribute('j-test-id') === path[i]) {
+            i--;
+            if (i < 0) {
+                return true;
+            }
+        }
+    }
+    return last < 0;
+}
+
+var candidates = index.ids[path[path.length - 1]] || [];
+var result = [];
+for (var j = 0; j < candidates.length; j++) {
+    if (isInPath(candidates[j], path.length - 2)) {
+        result.push(candidates[j]);
+    }
+}
+return result;
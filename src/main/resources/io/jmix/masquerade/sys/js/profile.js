@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/*
+ * Measures evaluation time of a selector chain in the page, the same way as the resolve script finds elements.
+ *
+ * arguments[0] - chain, array of steps {type: 'css' | 'xpath', value: string}
+ * arguments[1] - element the chain is located from or null for the document
+ * returns evaluation time in milliseconds
+ */
+var chain = arguments[0];
+var root = arguments[1] || document;
+
+var start = performance.now();
+resolveChain(root, chain);
+return performance.now() - start;
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/*
+ * Finds the first element of a selector chain and remembers chains without elements until the page changes.
+ * The render epoch of the page is counted by a MutationObserver, so changes made by any command or
+ * rendered by the page itself are noticed.
+ *
+ * arguments[0] - chain, array of steps {type: 'css' | 'xpath', value: string}
+ * returns {epoch, cached, element}, element is null if the chain has no elements,
+ * cached is true if the absence is known in the current epoch
+ */
+var chain = arguments[0];
+
+var state = window.__masqueradeRenderEpoch;
+if (!state) {
+    state = {epoch: 0, absent: Object.create(null)};
+    state.observer = new MutationObserver(function () {
+        state.epoch++;
+        state.absent = Object.create(null);
+    });
+    state.observer.observe(document.documentElement, {
+        subtree: true,
+        childList: true,
+        attributes: true,
+        characterData: true
+    });
+    window.__masqueradeRenderEpoch = state;
+}
+
+// mutations that are not delivered to the observer yet
+if (state.observer.takeRecords().length > 0) {
+    state.epoch++;
+    state.absent = Object.create(null);
+}
+
+var key = JSON.stringify(chain);
+if (state.absent[key]) {
+    return {epoch: state.epoch, cached: true, element: null};
+}
+
+var elements = resolveChain(document, chain);
+if (elements.length === 0) {
+    state.absent[key] = true;
+}
+return {epoch: state.epoch, cached: false, element: elements.length > 0 ? elements[0] : null};
@@ -0,0 +1,25 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/*
+ * Finds elements of a selector chain, each step is applied to elements found by the previous step.
+ *
+ * arguments[0] - chain, array of steps {type: 'css' | 'xpath', value: string}
+ * returns found elements without duplicates
+ */
+var chain = arguments[0];
+
+return resolveChain(document, chain);
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/*
+ * Checks the selection of a contiguous range of rows.
+ *
+ * arguments[0] - first row element of the range
+ * arguments[1] - last row element of the range
+ * arguments[2] - class name of selected rows
+ * arguments[3] - class name of rows that have data or null if all rows have data
+ * returns {size, selected, outside} - the number of rendered rows in the range, selected rows in the range
+ * and selected rows outside of the range, or null if the rows are not siblings
+ */
+var from = arguments[0];
+var to = arguments[1];
+var selectedClass = arguments[2];
+var dataClass = arguments[3];
+
+if (from.parentNode !== to.parentNode) {
+    return null;
+}
+
+var rows = [];
+var children = from.parentNode.children;
+for (var i = 0; i < children.length; i++) {
+    var child = children[i];
+    if (child.tagName === from.tagName && (!dataClass || child.classList.contains(dataClass))) {
+        rows.push(child);
+    }
+}
+
+var first = rows.indexOf(from);
+var last = rows.indexOf(to);
+if (first < 0 || last < 0) {
+    return null;
+}
+if (first > last) {
+    var tmp = first;
+    first = last;
+    last = tmp;
+}
+
+var selected = 0;
+var outside = 0;
+for (var j = 0; j < rows.length; j++) {
+    if (rows[j].classList.contains(selectedClass)) {
+        if (j >= first && j <= last) {
+            selected++;
+        } else {
+            outside++;
+        }
+    }
+}
+return {size: last - first + 1, selected: selected, outside: outside};
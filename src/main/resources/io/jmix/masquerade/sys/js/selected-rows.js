@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/*
+ * Finds rows that are already selected.
+ *
+ * arguments[0] - row elements
+ * arguments[1] - class name of selected rows
+ * returns indexes of selected rows
+ */
+var rows = arguments[0];
+var selectedClass = arguments[1];
+
+var selected = [];
+for (var i = 0; i < rows.length; i++) {
+    if (rows[i].classList.contains(selectedClass)) {
+        selected.push(i);
+    }
+}
+return selected;
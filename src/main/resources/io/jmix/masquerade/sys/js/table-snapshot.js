@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/*
+ * Collects column ids, header captions and normalized texts of all rendered rows of a grid.
+ *
+ * arguments[0] - chain of grid steps {type: 'css' | 'xpath', value: string} or null
+ * arguments[1] - grid element if arguments[0] is null
+ * arguments[2] - CSS selector of header cells relative to the grid
+ * arguments[3] - CSS selector of rows relative to the grid
+ * arguments[4] - class name of cells
+ * arguments[5] - class name of selected rows
+ * arguments[6] - class name of group rows or null
+ * arguments[7] - class name of expanded rows or null
+ * returns {columnIds, captions, rows: [{texts, selected, group, expanded}]} or null if the grid is not found
+ */
+var gridChain = arguments[0];
+var grid = arguments[1];
+var headerCss = arguments[2];
+var rowsCss = arguments[3];
+var cellClass = arguments[4];
+var selectedClass = arguments[5];
+var groupClass = arguments[6];
+var expandedClass = arguments[7];
+
+if (gridChain) {
+    var grids = resolveChain(document, gridChain);
+    grid = grids.length > 0 ? grids[0] : null;
+}
+if (!grid) {
+    return null;
+}
+
+var columnIds = [];
+var captions = [];
+var headerCells = grid.querySelectorAll(headerCss);
+for (var h = 0; h < headerCells.length; h++) {
+    var jTestId = headerCells[h].getAttribute('j-test-id');
+    columnIds.push(jTestId && jTestId.indexOf('column_') === 0 ? jTestId.substring('column_'.length) : jTestId);
+    captions.push(normalize(headerCells[h].textContent));
+}
+
+var rows = [];
+var rowElements = grid.querySelectorAll(rowsCss);
+for (var r = 0; r < rowElements.length; r++) {
+    var row = rowElements[r];
+    var texts = [];
+    for (var c = 0; c < row.children.length; c++) {
+        if (row.children[c].classList.contains(cellClass)) {
+            texts.push(normalize(row.children[c].textContent));
+        }
+    }
+    rows.push({
+        texts: texts,
+        selected: row.classList.contains(selectedClass),
+        group: groupClass ? row.classList.contains(groupClass) : false,
+        expanded: expandedClass ? row.classList.contains(expandedClass) : false
+    });
+}
+
+return {columnIds: columnIds, captions: captions, rows: rows};
@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/*
+ * Checks that each selector chain matches at least one element.
+ *
+ * arguments[0] - array of chains, each chain is an array of steps {type: 'css' | 'xpath', value: string}
+ * returns indexes of chains that match no elements
+ */
+var chains = arguments[0];
+
+var missing = [];
+for (var i = 0; i < chains.length; i++) {
+    if (resolveChain(document, chains[i]).length === 0) {
+        missing.push(i);
+    }
+}
+return missing;
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade;
+
+import io.jmix.masquerade.Selectors.ByChain;
+import io.jmix.masquerade.sys.JTestIdIndex;
+import io.jmix.masquerade.testsupport.CommandLog;
+import io.jmix.masquerade.testsupport.FakeWebDriver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+
+import static io.jmix.masquerade.Selectors.byChain;
+import static io.jmix.masquerade.Selectors.byClassName;
+import static io.jmix.masquerade.Selectors.byJTestId;
+import static io.jmix.masquerade.Selectors.byPath;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ByChainTest {
+
+    private static final String HTML = "<html><body>" +
+            "<div j-test-id='editor'>" +
+            "  <div j-test-id='form'>" +
+            "    <div j-test-id='nameField' class='v-textfield'>Name</div>" +
+            "  </div>" +
+            "  <div j-test-id='actions'>" +
+            "    <div j-test-id='okButton' class='v-button'><span class='v-button-caption'>OK</span></div>" +
+            "  </div>" +
+            "</div>" +
+            "<div j-test-id='nameField' class='v-textfield'>Outside</div>" +
+            "</body></html>";
+
+    private FakeWebDriver driver;
+
+    @BeforeEach
+    public void setUp() {
+        driver = FakeWebDriver.fromHtml(HTML);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ByChain.setCollapseEnabled(true);
+        ByChain.setScriptEnabled(true);
+        JTestIdIndex.setEnabled(false);
+    }
+
+    @Test
+    public void pathIsOneCommand() {
+        List<WebElement> elements = driver.findElements(byPath("editor", "form", "nameField"));
+
+        assertEquals(1, driver.getCommandLog().size());
+        assertEquals(1, elements.size());
+        assertEquals("Name", elements.get(0).getText());
+    }
+
+    @Test
+    public void mixedChainIsOneScript() {
+        WebElement caption = driver.findElement(byChain(
+                byPath("editor", "actions"), byClassName("v-button"), By.xpath(".//span")));
+
+        CommandLog log = driver.getCommandLog();
+        assertEquals(1, log.size());
+        assertEquals(1, log.count("executeScript"));
+        assertEquals("OK", caption.getText());
+    }
+
+    @Test
+    public void cssPrefixIsCollapsed() {
+        ByChain.setScriptEnabled(false);
+
+        WebElement caption = driver.findElement(byChain(
+                byPath("editor", "actions"), byClassName("v-button"), By.xpath(".//span")));
+
+        CommandLog log = driver.getCommandLog();
+        assertEquals(2, log.size());
+        assertEquals("css selector: [j-test-id='editor'] [j-test-id='actions'] .v-button",
+                log.getCommands().get(0).getDetail());
+        assertEquals("OK", caption.getText());
+    }
+
+    @Test
+    public void notCollapsible() {
+        assertNull(((ByChain) byChain(By.xpath(".//div"), byJTestId("form"))).getCollapsedBy());
+        assertNull(((ByChain) byChain(By.cssSelector(".a, .b"), byJTestId("form"))).getCollapsedBy());
+    }
+
+    @Test
+    public void collapseDisabled() {
+        ByChain.setCollapseEnabled(false);
+        ByChain.setScriptEnabled(false);
+
+        List<WebElement> elements = driver.findElements(byPath("editor", "form", "nameField"));
+
+        assertEquals(1, elements.size());
+        assertEquals(3, driver.getCommandLog().size());
+    }
+
+    @Test
+    public void jTestIdPathUsesIndex() {
+        JTestIdIndex.setEnabled(true);
+
+        List<WebElement> elements = driver.findElements(byPath("editor", "form", "nameField"));
+
+        CommandLog log = driver.getCommandLog();
+        assertEquals(1, log.size());
+        assertEquals(1, log.count("executeScript"));
+        assertEquals(1, elements.size());
+        assertEquals("Name", elements.get(0).getText());
+
+        assertNull(((ByChain) byChain(byJTestId("editor"), byClassName("v-button"))).getJTestIdPath());
+    }
+
+    @Test
+    public void lastBy() {
+        ByChain chain = (ByChain) byPath("editor", "form", "nameField");
+
+        assertEquals(byJTestId("nameField").toString(), chain.getLastBy().toString());
+    }
+}
\ No newline at end of file
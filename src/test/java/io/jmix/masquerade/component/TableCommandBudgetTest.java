@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.component;
+
+import com.codeborne.selenide.WebDriverRunner;
+import io.jmix.masquerade.Column;
+import io.jmix.masquerade.sys.grid.LookupEngine;
+import io.jmix.masquerade.testsupport.CommandBudget;
+import io.jmix.masquerade.testsupport.FakeWebDriver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static io.jmix.masquerade.Selectors.$j;
+import static io.jmix.masquerade.Selectors.byCells;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TableCommandBudgetTest {
+
+    private FakeWebDriver driver;
+
+    @BeforeEach
+    public void setUp() {
+        driver = FakeWebDriver.fromResource("/fixtures/users-browse.html");
+        WebDriverRunner.setWebDriver(driver);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        WebDriverRunner.closeWebDriver();
+    }
+
+    @Test
+    public void getRowByCells() {
+        Table usersTable = $j(Table.class, "usersTable");
+
+        boolean exists = CommandBudget.assertAtMost(driver, 1, "Table.getRow(byCells)", () ->
+                usersTable.getRow(byCells("admin", "Administrator")).exists());
+        assertTrue(exists);
+
+        boolean missing = CommandBudget.assertAtMost(driver, 1, "Table.getRow(byCells)", () ->
+                usersTable.getRow(byCells("admin", "Anonymous user")).exists());
+        assertFalse(missing);
+    }
+
+    @Test
+    public void getRowByCellsWithCssLookup() {
+        Table usersTable = $j(Table.class, "usersTable")
+                .withLookupEngine(LookupEngine.CSS);
+
+        boolean exists = CommandBudget.assertAtMost(driver, 1, "Table.getRow(byCells)", () ->
+                usersTable.getRow(byCells("admin", "Administrator")).exists());
+        assertTrue(exists);
+    }
+
+    @Test
+    public void snapshot() {
+        Table usersTable = $j(Table.class, "usersTable");
+
+        TableSnapshot snapshot = CommandBudget.assertAtMost(driver, 1, "Table.snapshot()", usersTable::snapshot);
+
+        assertEquals(Arrays.asList("login", "name"), snapshot.getColumnIds());
+        assertEquals(Arrays.asList("Login", "Name"), snapshot.getCaptions());
+        assertEquals(3, snapshot.size());
+        assertEquals(Arrays.asList("admin", "Administrator"), snapshot.getRow(0).getTexts());
+        assertTrue(snapshot.getRow(1).hasTexts("anonymous", "Anonymous user"));
+        assertTrue(snapshot.getRow(1).isSelected());
+        assertFalse(snapshot.getRow(2).isSelected());
+        assertFalse(snapshot.getRow(2).isGroup());
+    }
+
+    @Test
+    public void rows() {
+        Table usersTable = $j(Table.class, "usersTable");
+
+        List<User> users = CommandBudget.assertAtMost(driver, 1, "Table.rows(Class)", () ->
+                usersTable.rows(User.class));
+
+        assertEquals(3, users.size());
+        assertEquals("admin", users.get(0).login);
+        assertEquals("Administrator", users.get(0).name);
+        assertEquals("Masquerade tester", users.get(2).name);
+    }
+
+    public static class User {
+        @Column("login")
+        private String login;
+        @Column("name")
+        private String name;
+    }
+}
\ No newline at end of file
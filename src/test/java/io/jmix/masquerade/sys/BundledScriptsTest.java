@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys;
+
+import com.codeborne.selenide.Configuration;
+import com.codeborne.selenide.WebDriverRunner;
+import io.jmix.masquerade.Column;
+import io.jmix.masquerade.component.Table;
+import io.jmix.masquerade.component.TableSnapshot;
+import io.jmix.masquerade.sys.grid.ByGridText;
+import io.jmix.masquerade.sys.grid.ByGridText.TextMatch;
+import io.jmix.masquerade.sys.grid.GridLayout;
+import io.jmix.masquerade.sys.grid.RowSelection;
+import io.jmix.masquerade.sys.grid.TableSnapshots;
+import io.jmix.masquerade.testsupport.ScriptingWebDriver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.InvalidElementStateException;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static io.jmix.masquerade.Selectors.$j;
+import static io.jmix.masquerade.Selectors.byChain;
+import static io.jmix.masquerade.Selectors.byClassName;
+import static io.jmix.masquerade.Selectors.byJTestId;
+import static io.jmix.masquerade.Selectors.byPath;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs scripts bundled with masquerade in HtmlUnit, {@link io.jmix.masquerade.testsupport.FakeWebDriver}
+ * only emulates them. HtmlUnit reports attribute and character data mutations only, so caches of scripts
+ * are checked with such mutations.
+ */
+public class BundledScriptsTest {
+
+    private static final By TABLE_BY = byJTestId("usersTable");
+    private static final By ROWS_BY = byChain(TABLE_BY, By.cssSelector("tr.v-table-row, tr.v-table-row-odd"));
+
+    private ScriptingWebDriver driver;
+    private long timeout;
+    private long pollingInterval;
+
+    @BeforeEach
+    public void setUp() {
+        driver = ScriptingWebDriver.fromResource("/fixtures/users-browse.html");
+        WebDriverRunner.setWebDriver(driver);
+
+        timeout = Configuration.timeout;
+        pollingInterval = Configuration.pollingInterval;
+        Configuration.timeout = 50;
+        Configuration.pollingInterval = 1;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Configuration.timeout = timeout;
+        Configuration.pollingInterval = pollingInterval;
+        JTestIdIndex.setEnabled(false);
+        RenderEpoch.setEnabled(false);
+        WebDriverRunner.closeWebDriver();
+    }
+
+    @Test
+    public void resolve() {
+        List<WebElement> cells = driver.findElements(byChain(
+                byJTestId("usersTable"), byClassName("v-selected"), By.xpath("./td")));
+
+        assertEquals(Arrays.asList("anonymous", "Anonymous user"), texts(cells));
+    }
+
+    @Test
+    public void resolveReturnsEachElementOnce() {
+        // nested divs are overlapping contexts of the next step
+        List<WebElement> cells = driver.findElements(byChain(By.cssSelector("div"), By.xpath(".//td")));
+        List<WebElement> rows = driver.findElements(
+                new ByGridText(By.cssSelector("div"), "tr", "td", TextMatch.CONTAINS, "user"));
+
+        assertEquals(driver.findElements(By.xpath("//div//td")).size(), cells.size());
+        assertEquals(Collections.singletonList("anonymous Anonymous user"), texts(rows));
+    }
+
+    @Test
+    public void verify() {
+        List<Object> chains = Arrays.asList(
+                SelectorSteps.toScriptArgument(SelectorSteps.of(byChain(TABLE_BY, byClassName("v-selected")))),
+                SelectorSteps.toScriptArgument(SelectorSteps.of(byChain(TABLE_BY, By.xpath(".//span")))),
+                SelectorSteps.toScriptArgument(SelectorSteps.of(byPath("disabledButton"))));
+
+        List<?> missing = Scripts.execute("verify", chains);
+
+        assertEquals(Collections.singletonList(1L), missing);
+    }
+
+    @Test
+    public void profile() {
+        Object millis = driver.executeScript(Scripts.get("profile"),
+                SelectorSteps.toScriptArgument(SelectorSteps.of(byChain(TABLE_BY, By.xpath(".//td")))), null);
+
+        assertTrue(millis instanceof Number, String.valueOf(millis));
+    }
+
+    @Test
+    public void jTestIdIndex() {
+        JTestIdIndex.setEnabled(true);
+
+        assertEquals(1, driver.findElements(byPath("usersTable")).size());
+        assertEquals(0, driver.findElements(byPath("usersTable", "disabledButton")).size());
+
+        driver.executeScript("document.querySelector('[j-test-id=usersTable]').setAttribute('j-test-id', 'groupsTable')");
+
+        assertEquals(0, driver.findElements(byPath("usersTable")).size());
+        assertEquals(1, driver.findElements(byPath("groupsTable")).size());
+    }
+
+    @Test
+    public void gridText() {
+        By rowBy = new ByGridText(TABLE_BY, "tr", "td", TextMatch.EQUALS, "Administrator", "admin");
+        By partialBy = new ByGridText(TABLE_BY, "tr", "td", TextMatch.CONTAINS, "user");
+        By orderedBy = new ByGridText(TABLE_BY, "tr.v-table-row", "td", TextMatch.COLUMNS, "masquerade");
+
+        assertEquals(Collections.singletonList("admin Administrator"), texts(driver.findElements(rowBy)));
+        assertEquals(Collections.singletonList("anonymous Anonymous user"), texts(driver.findElements(partialBy)));
+        assertEquals(Collections.singletonList("masquerade Masquerade tester"), texts(driver.findElements(orderedBy)));
+
+        // cached texts are dropped when a cell changes
+        driver.executeScript("document.querySelector('.v-table-cell-wrapper').firstChild.nodeValue = 'root'");
+
+        assertEquals(0, driver.findElements(rowBy).size());
+    }
+
+    @Test
+    public void renderEpoch() {
+        RenderEpoch.setEnabled(true);
+        RenderEpoch.resetStatistics();
+        By selectedBy = byChain(TABLE_BY, byClassName("v-table-focus"));
+
+        assertFalse(RenderEpoch.exists(selectedBy));
+        assertFalse(RenderEpoch.exists(selectedBy));
+        assertEquals(1, RenderEpoch.getHits());
+
+        // the page changes without any masquerade action
+        driver.executeScript("document.querySelector('tr.v-selected').classList.add('v-table-focus')");
+
+        assertTrue(RenderEpoch.exists(selectedBy));
+        assertEquals(1, RenderEpoch.getHits());
+    }
+
+    @Test
+    public void tableSnapshot() {
+        TableSnapshot snapshot = TableSnapshots.take(TABLE_BY, GridLayout.TABLE, null, null);
+
+        assertEquals(Arrays.asList("login", "name"), snapshot.getColumnIds());
+        assertEquals(Arrays.asList("Login", "Name"), snapshot.getCaptions());
+        assertEquals(3, snapshot.size());
+        assertEquals(Arrays.asList("admin", "Administrator"), snapshot.getRow(0).getTexts());
+        assertTrue(snapshot.getRow(1).isSelected());
+    }
+
+    @Test
+    public void textsAreNormalizedTheSameWay() {
+        WebDriverRunner.closeWebDriver();
+        driver = ScriptingWebDriver.fromHtml("<html><body><div j-test-id='usersTable'>"
+                + "<div class='v-table-header'><table><tbody><tr>"
+                + "<td class='v-table-header-cell'> Full \n name </td>"
+                + "</tr></tbody></table></div>"
+                + "<table class='v-table-table'><tbody>"
+                + "<tr class='v-table-row'><td class='v-table-cell-content'>  Anonymous \t user </td></tr>"
+                + "<tr class='v-table-row'><td class='v-table-cell-content'>Anonymous&nbsp;user</td></tr>"
+                + "</tbody></table></div></body></html>");
+        WebDriverRunner.setWebDriver(driver);
+
+        TableSnapshot snapshot = TableSnapshots.take(TABLE_BY, GridLayout.TABLE, null, null);
+        By rowBy = new ByGridText(TABLE_BY, "tr.v-table-row", "td", TextMatch.EQUALS, "Anonymous user");
+
+        assertEquals(Collections.singletonList("Full name"), snapshot.getCaptions());
+        assertEquals("Anonymous user", snapshot.getRow(0).getTexts().get(0));
+        assertEquals("Anonymous\u00a0user", snapshot.getRow(1).getTexts().get(0));
+        assertEquals(1, driver.findElements(rowBy).size());
+    }
+
+    @Test
+    public void tableRows() {
+        List<User> users = $j(Table.class, "usersTable").rows(User.class);
+
+        assertEquals(3, users.size());
+        assertEquals("anonymous", users.get(1).login);
+        assertEquals("Anonymous user", users.get(1).name);
+    }
+
+    @Test
+    public void selectedRows() {
+        InvalidElementStateException e = assertThrows(InvalidElementStateException.class,
+                () -> RowSelection.selectRows(driver, ROWS_BY, GridLayout.TABLE));
+
+        assertTrue(e.getMessage().startsWith("Rows [1] of "), e.getMessage());
+    }
+
+    @Test
+    public void selectedRange() {
+        int size = RowSelection.selectRange(driver,
+                byChain(TABLE_BY, By.xpath(".//tr[2]")), byChain(TABLE_BY, By.xpath(".//tr[2]")),
+                GridLayout.TABLE, null);
+
+        assertEquals(1, size);
+    }
+
+    private List<String> texts(List<WebElement> elements) {
+        List<String> texts = new ArrayList<>();
+        for (WebElement element : elements) {
+            // HtmlUnit separates texts of table cells with line breaks
+            texts.add(element.getText().replaceAll("\\s+", " "));
+        }
+        return texts;
+    }
+
+    public static class User {
+        @Column("login")
+        private String login;
+        @Column("name")
+        private String name;
+    }
+}
\ No newline at end of file
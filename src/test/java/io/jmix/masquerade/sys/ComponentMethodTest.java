@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys;
+
+import io.jmix.masquerade.Components;
+import io.jmix.masquerade.base.ByLocator;
+import io.jmix.masquerade.sys.ComponentMethods.Invoker;
+import io.jmix.masquerade.util.Log;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import static io.jmix.masquerade.Selectors.byJTestId;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ComponentMethodTest {
+
+    static {
+        // calls of QuietGreeter are not logged
+        System.setProperty("org.slf4j.simpleLogger.log." + QuietGreeter.class.getName(), "warn");
+    }
+
+    private final Invoker invoker = ComponentMethods.getInvoker();
+
+    @AfterEach
+    public void tearDown() {
+        ComponentMethods.setInvoker(invoker);
+    }
+
+    @Test
+    public void varargsMethodsWithMethodHandles() {
+        ComponentMethods.setInvoker(Invoker.METHOD_HANDLE);
+
+        checkVarargs();
+        assertTrue(ComponentMethods.get(getMethod("join")).isMethodHandle());
+    }
+
+    @Test
+    public void varargsMethodsWithReflection() {
+        ComponentMethods.setInvoker(Invoker.REFLECTION);
+
+        checkVarargs();
+    }
+
+    @Test
+    public void exceptionsOfTargetAreRethrown() {
+        Greeter greeter = Components.proxyComponent(Greeter.class, new GreeterImpl());
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> greeter.fail("broken"));
+        assertEquals("broken", e.getMessage());
+    }
+
+    @Test
+    public void methodNamesAreFormattedOnce() {
+        ComponentMethod greet = ComponentMethods.get(getMethod("greet"));
+        ComponentMethod setGreeting = ComponentMethods.get(getMethod(LocatedGreeter.class, "setGreeting"));
+
+        assertSame(greet, ComponentMethods.get(getMethod("greet")));
+        assertEquals("Greet", greet.getDisplayName());
+        assertNull(greet.getPropertyName());
+        assertEquals("Set greeting", setGreeting.getDisplayName());
+        assertEquals("greeting", setGreeting.getPropertyName());
+        assertNull(ComponentMethods.get(getMethod("join")).getDisplayName());
+    }
+
+    @Test
+    public void targetIdIsComputedOnce() {
+        LocatedGreeterImpl target = new LocatedGreeterImpl();
+        LocatedGreeter greeter = Components.proxyComponent(LocatedGreeter.class, target);
+
+        greeter.setGreeting("hello");
+        greeter.setGreeting("hi");
+
+        assertEquals(1, target.byCalls);
+    }
+
+    @Test
+    public void targetIdIsNotComputedIfLoggingIsOff() {
+        LocatedGreeterImpl target = new LocatedGreeterImpl();
+        QuietGreeter greeter = Components.proxyComponent(QuietGreeter.class, target);
+
+        greeter.setGreeting("hello");
+
+        assertEquals(0, target.byCalls);
+    }
+
+    private void checkVarargs() {
+        Greeter greeter = Components.proxyComponent(Greeter.class, new GreeterImpl());
+
+        assertEquals("a b c", greeter.join("a", "b", "c"));
+        assertEquals("", greeter.join());
+        assertEquals("hello: [1, two]", greeter.greet("hello", 1, "two"));
+        assertSame(greeter, greeter.shouldHave("x", "y"));
+    }
+
+    private static Method getMethod(String name) {
+        return getMethod(Greeter.class, name);
+    }
+
+    private static Method getMethod(Class<?> clazz, String name) {
+        for (Method method : clazz.getMethods()) {
+            if (method.getName().equals(name)) {
+                return method;
+            }
+        }
+        throw new IllegalArgumentException(name);
+    }
+
+    public interface Greeter {
+        String join(String... parts);
+
+        @Log
+        String greet(String greeting, Object... values);
+
+        @Log
+        Greeter shouldHave(String... conditions);
+
+        void fail(String message);
+    }
+
+    public static class GreeterImpl implements Greeter {
+        @Override
+        public String join(String... parts) {
+            return String.join(" ", parts);
+        }
+
+        @Override
+        public String greet(String greeting, Object... values) {
+            return greeting + ": " + Arrays.toString(values);
+        }
+
+        @Override
+        public Greeter shouldHave(String... conditions) {
+            return this;
+        }
+
+        @Override
+        public void fail(String message) {
+            throw new IllegalStateException(message);
+        }
+    }
+
+    public interface LocatedGreeter extends ByLocator {
+        @Log
+        void setGreeting(String greeting);
+    }
+
+    public interface QuietGreeter extends LocatedGreeter {
+    }
+
+    public static class LocatedGreeterImpl implements QuietGreeter {
+        private int byCalls;
+
+        @Override
+        public By getBy() {
+            byCalls++;
+            return byJTestId("greeter");
+        }
+
+        @Override
+        public void setGreeting(String greeting) {
+        }
+    }
+}
\ No newline at end of file
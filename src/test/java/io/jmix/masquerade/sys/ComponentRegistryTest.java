@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys;
+
+import io.jmix.masquerade.component.Component;
+import io.jmix.masquerade.component.Table;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ComponentRegistryTest {
+
+    private final ComponentRegistry registry = ComponentRegistry.get();
+
+    @Test
+    public void subInterfaceIsResolvedToSuperInterface() {
+        Function<By, ?> tableFactory = registry.find(Table.class);
+
+        assertNotNull(tableFactory);
+        assertSame(tableFactory, registry.find(OrdersTable.class));
+        assertSame(tableFactory, registry.find(ArchivedOrdersTable.class));
+    }
+
+    @Test
+    public void subInterfaceWithOwnMethodsIsNotResolved() {
+        assertNull(registry.find(CustomTable.class));
+        assertNull(registry.find(CustomOrdersTable.class));
+    }
+
+    @Test
+    public void registrationDropsResolvedLookups() {
+        assertNull(registry.find(Widget.class));
+        assertNull(registry.find(SpecialWidget.class));
+
+        Function<By, Widget> widgetFactory = by -> null;
+        registry.register(Widget.class, widgetFactory);
+
+        assertSame(widgetFactory, registry.find(Widget.class));
+        assertSame(widgetFactory, registry.find(SpecialWidget.class));
+    }
+
+    public interface OrdersTable extends Table {
+    }
+
+    public interface ArchivedOrdersTable extends OrdersTable {
+    }
+
+    public interface CustomTable extends Table {
+        void refresh();
+    }
+
+    public interface CustomOrdersTable extends CustomTable {
+    }
+
+    public interface Widget extends Component<Widget> {
+        void refresh();
+    }
+
+    public interface SpecialWidget extends Widget {
+    }
+}
\ No newline at end of file
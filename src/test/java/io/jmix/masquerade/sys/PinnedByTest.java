@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys;
+
+import com.codeborne.selenide.Configuration;
+import com.codeborne.selenide.SelenideElement;
+import com.codeborne.selenide.WebDriverRunner;
+import io.jmix.masquerade.Selectors.ByChain;
+import io.jmix.masquerade.testsupport.CommandBudget;
+import io.jmix.masquerade.testsupport.CommandLog;
+import io.jmix.masquerade.testsupport.FakeWebDriver;
+import io.jmix.masquerade.testsupport.FakeWebElement;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.w3c.dom.Element;
+
+import java.util.List;
+
+import static com.codeborne.selenide.Selenide.$;
+import static io.jmix.masquerade.Selectors.byChain;
+import static io.jmix.masquerade.Selectors.byJTestId;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PinnedByTest {
+
+    private static final String HTML = "<html><body>" +
+            "<div j-test-id='form'>" +
+            "  <div j-test-id='okButton' class='v-button'>OK</div>" +
+            "</div>" +
+            "</body></html>";
+
+    private static final By OK_BUTTON_BY = byChain(byJTestId("form"), By.xpath(".//div[@j-test-id='okButton']"));
+
+    private FakeWebDriver driver;
+    private long timeout;
+
+    @BeforeEach
+    public void setUp() {
+        driver = FakeWebDriver.fromHtml(HTML);
+        WebDriverRunner.setWebDriver(driver);
+
+        timeout = Configuration.timeout;
+        Configuration.timeout = 50;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Configuration.timeout = timeout;
+        ByChain.setScriptEnabled(true);
+        WebDriverRunner.closeWebDriver();
+    }
+
+    @Test
+    public void elementIsLocatedOnce() {
+        PinnedBy by = new PinnedBy(OK_BUTTON_BY);
+
+        WebElement first = driver.findElement(by);
+        WebElement second = driver.findElement(by);
+
+        assertSame(first, second);
+        assertEquals(1, driver.getCommandLog().count("executeScript"));
+        assertTrue(((WrapsElement) first).getWrappedElement() instanceof FakeWebElement);
+    }
+
+    @Test
+    public void singleSearchSelectorIsNotPinned() {
+        PinnedBy by = new PinnedBy(byJTestId("okButton"));
+
+        WebElement first = driver.findElement(by);
+        List<CommandLog.Command> commands = CommandBudget.measure(driver, () -> driver.findElement(by));
+
+        assertTrue(first instanceof FakeWebElement);
+        assertEquals(1, commands.size(), String.valueOf(commands));
+        assertEquals(2, driver.getCommandLog().count("findElements"));
+    }
+
+    @Test
+    public void reusedElementSavesSearchCommands() {
+        // chains are located link by link without the resolver script
+        ByChain.setScriptEnabled(false);
+        PinnedBy pinnedBy = new PinnedBy(OK_BUTTON_BY);
+
+        driver.findElement(OK_BUTTON_BY);
+        int located = CommandBudget.measure(driver, () -> driver.findElement(OK_BUTTON_BY)).size();
+
+        driver.findElement(pinnedBy);
+        CommandBudget.assertAtMost(driver, located - 1, "pinned element reuse", () -> driver.findElement(pinnedBy));
+    }
+
+    @Test
+    public void staleElementIsLocatedAgain() {
+        PinnedBy by = new PinnedBy(OK_BUTTON_BY);
+
+        WebElement pinned = driver.findElement(by);
+        rerender(pinned);
+
+        assertThrows(StaleElementReferenceException.class, pinned::getText);
+
+        WebElement located = driver.findElement(by);
+        assertEquals("OK", located.getText());
+        assertEquals(2, driver.getCommandLog().count("executeScript"));
+    }
+
+    @Test
+    public void removedElementDoesNotExist() {
+        SelenideElement button = $(new PinnedBy(OK_BUTTON_BY));
+
+        assertTrue(button.exists());
+        assertTrue(button.exists());
+
+        Element element = ((FakeWebElement) ((WrapsElement) button.toWebElement()).getWrappedElement()).getNode();
+        element.getParentNode().removeChild(element);
+
+        assertFalse(button.exists());
+    }
+
+    private void rerender(WebElement pinned) {
+        Element element = ((FakeWebElement) ((WrapsElement) pinned).getWrappedElement()).getNode();
+        element.getParentNode().replaceChild(element.cloneNode(true), element);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys;
+
+import com.codeborne.selenide.SelenideElement;
+import io.jmix.masquerade.Components;
+import io.jmix.masquerade.base.SelenideElementWrapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ProxyCacheTest {
+
+    private boolean enabled;
+
+    @BeforeEach
+    public void setUp() {
+        enabled = ProxyCache.isEnabled();
+        ProxyCache.setEnabled(true);
+        ProxyCache.resetStatistics();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ProxyCache.setEnabled(enabled);
+        ProxyCache.resetStatistics();
+    }
+
+    @Test
+    public void proxyOfTheSameTargetIsReused() {
+        Holder holder = Components.proxyComponent(Holder.class, new HolderImpl());
+
+        Popup first = holder.getPopup();
+        Popup second = holder.getPopup();
+
+        assertSame(first, second);
+        assertEquals(1, ProxyCache.getCreated());
+        assertEquals(1, ProxyCache.getAvoided());
+    }
+
+    @Test
+    public void newTargetGetsNewProxy() {
+        Holder holder = Components.proxyComponent(Holder.class, new HolderImpl());
+
+        assertNotSame(holder.newPopup(), holder.newPopup());
+        assertEquals(2, ProxyCache.getCreated());
+        assertEquals(0, ProxyCache.getAvoided());
+    }
+
+    @Test
+    public void alternatingTargetsReuseProxies() {
+        Holder holder = Components.proxyComponent(Holder.class, new HolderImpl());
+
+        Popup first = holder.getPopup();
+        Popup second = holder.getOtherPopup();
+
+        for (int i = 0; i < 3; i++) {
+            assertSame(first, holder.getPopup());
+            assertSame(second, holder.getOtherPopup());
+        }
+        assertEquals(2, ProxyCache.getCreated());
+        assertEquals(6, ProxyCache.getAvoided());
+    }
+
+    @Test
+    public void oldestTargetIsReplaced() {
+        Holder holder = Components.proxyComponent(Holder.class, new HolderImpl());
+
+        Popup first = holder.getPopup();
+        List<Popup> newPopups = new ArrayList<>();
+        for (int i = 0; i < ProxyCache.SIZE; i++) {
+            newPopups.add(holder.newPopup());
+        }
+
+        assertNotSame(first, holder.getPopup());
+        assertSame(newPopups.get(ProxyCache.SIZE - 1), holder.getLastPopup());
+    }
+
+    @Test
+    public void componentsHaveOwnCaches() {
+        HolderImpl target = new HolderImpl();
+        Holder first = Components.proxyComponent(Holder.class, target);
+        Holder second = Components.proxyComponent(Holder.class, target);
+
+        assertNotSame(first.getPopup(), second.getPopup());
+        assertSame(first.getPopup(), first.getPopup());
+    }
+
+    @Test
+    public void disabledCache() {
+        ProxyCache.setEnabled(false);
+        Holder holder = Components.proxyComponent(Holder.class, new HolderImpl());
+
+        assertNotSame(holder.getPopup(), holder.getPopup());
+        assertEquals(0, ProxyCache.getAvoided());
+    }
+
+    public interface Holder {
+        Popup getPopup();
+
+        Popup getOtherPopup();
+
+        Popup newPopup();
+
+        Popup getLastPopup();
+    }
+
+    public interface Popup extends SelenideElementWrapper<Popup> {
+    }
+
+    public static class HolderImpl implements Holder {
+        private final Popup popup = new PopupImpl();
+        private final Popup otherPopup = new PopupImpl();
+        private Popup lastPopup;
+
+        @Override
+        public Popup getPopup() {
+            return popup;
+        }
+
+        @Override
+        public Popup getOtherPopup() {
+            return otherPopup;
+        }
+
+        @Override
+        public Popup newPopup() {
+            lastPopup = new PopupImpl();
+            return lastPopup;
+        }
+
+        @Override
+        public Popup getLastPopup() {
+            return lastPopup;
+        }
+    }
+
+    public static class PopupImpl implements Popup {
+        @Override
+        public SelenideElement getDelegate() {
+            return null;
+        }
+    }
+}
\ No newline at end of file
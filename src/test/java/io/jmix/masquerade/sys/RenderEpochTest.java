@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys;
+
+import com.codeborne.selenide.WebDriverRunner;
+import io.jmix.masquerade.testsupport.FakeWebDriver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.w3c.dom.Element;
+
+import static io.jmix.masquerade.Selectors.byChain;
+import static io.jmix.masquerade.Selectors.byClassName;
+import static io.jmix.masquerade.Selectors.byJTestId;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RenderEpochTest {
+
+    private static final String HTML = "<html><body>" +
+            "<div j-test-id='sideMenu'><div class='jmix-sidemenu-item'>Users</div></div>" +
+            "</body></html>";
+
+    private static final By SIDE_MENU_CONTAINER = byChain(byJTestId("sideMenu"), byClassName("jmix-sidemenu-container"));
+
+    private FakeWebDriver driver;
+
+    @BeforeEach
+    public void setUp() {
+        driver = FakeWebDriver.fromHtml(HTML);
+        WebDriverRunner.setWebDriver(driver);
+
+        RenderEpoch.setEnabled(true);
+        RenderEpoch.resetStatistics();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        RenderEpoch.setEnabled(false);
+        WebDriverRunner.closeWebDriver();
+    }
+
+    @Test
+    public void absenceIsCachedWithinEpoch() {
+        assertFalse(RenderEpoch.exists(SIDE_MENU_CONTAINER));
+        assertFalse(RenderEpoch.exists(SIDE_MENU_CONTAINER));
+        assertFalse(RenderEpoch.exists(byJTestId("collapseMenuButton")));
+
+        assertEquals(1, RenderEpoch.getHits());
+        assertEquals(2, RenderEpoch.getMisses());
+        assertEquals(3, driver.getCommandLog().count("executeScript"));
+        assertEquals(0, driver.getCommandLog().count("findElements"));
+    }
+
+    @Test
+    public void foundElementsAreNotCached() {
+        assertTrue(RenderEpoch.exists(byJTestId("sideMenu")));
+        assertTrue(RenderEpoch.exists(byJTestId("sideMenu")));
+
+        assertEquals(0, RenderEpoch.getHits());
+        assertEquals(2, RenderEpoch.getMisses());
+    }
+
+    @Test
+    public void pageChangeLocatesAgain() {
+        long epoch = RenderEpoch.getEpoch();
+
+        assertFalse(RenderEpoch.exists(SIDE_MENU_CONTAINER));
+
+        // the page changes without any masquerade action, e.g. Vaadin renders the menu
+        Element item = (Element) driver.getDocument().getElementsByTagName("div").item(1);
+        item.setAttribute("class", "jmix-sidemenu-container");
+
+        assertTrue(RenderEpoch.exists(SIDE_MENU_CONTAINER));
+        assertTrue(RenderEpoch.getEpoch() > epoch);
+        assertEquals(0, RenderEpoch.getHits());
+    }
+
+    @Test
+    public void disabledCache() {
+        RenderEpoch.setEnabled(false);
+
+        assertFalse(RenderEpoch.exists(byJTestId("collapseMenuButton")));
+        assertFalse(RenderEpoch.exists(byJTestId("collapseMenuButton")));
+
+        assertEquals(2, driver.getCommandLog().count("findElements"));
+        assertEquals(0, driver.getCommandLog().count("executeScript"));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys;
+
+import io.jmix.masquerade.sys.SelectorProfiler.Profile;
+import io.jmix.masquerade.testsupport.FakeWebDriver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+
+import static io.jmix.masquerade.Selectors.byChain;
+import static io.jmix.masquerade.Selectors.byClassName;
+import static io.jmix.masquerade.Selectors.byJTestId;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SelectorProfilerTest {
+
+    private FakeWebDriver driver;
+    private SelectorProfiler profiler;
+
+    @BeforeEach
+    public void setUp() {
+        driver = FakeWebDriver.fromResource("/fixtures/users-browse.html");
+        profiler = SelectorProfiler.get();
+
+        SelectorProfiler.reset();
+        SelectorProfiler.setEnabled(true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SelectorProfiler.setEnabled(false);
+        SelectorProfiler.reset();
+    }
+
+    @Test
+    public void lookupsAreAggregatedByShape() {
+        find(byChain(byJTestId("usersTable"), byClassName("v-table-cell-content")));
+        find(byChain(byJTestId("loginField"), byClassName("v-table-cell-content")));
+        find(byJTestId("usersTable"));
+
+        List<Profile> profiles = SelectorProfiler.getProfiles();
+        assertEquals(2, profiles.size());
+
+        Profile chain = profile(profiles, "ByChain: css [j-test-id=?] css .v-table-cell-content");
+        assertEquals(2, chain.getLookups());
+        assertEquals(6, chain.getFound());
+        assertEquals(2, chain.getBrowserSamples());
+
+        Profile jTestId = profile(profiles, "ByJTestId: css [j-test-id=?]");
+        assertEquals(1, jTestId.getLookups());
+        assertEquals(1, jTestId.getFound());
+
+        assertTrue(SelectorProfiler.getReport().contains("ByChain: css [j-test-id=?]"));
+    }
+
+    @Test
+    public void disabledProfiler() {
+        SelectorProfiler.setEnabled(false);
+
+        find(byJTestId("usersTable"));
+
+        assertTrue(SelectorProfiler.getProfiles().isEmpty());
+    }
+
+    private void find(By by) {
+        profiler.beforeFindElements(driver, by);
+        List<WebElement> elements = driver.findElements(by);
+        profiler.afterFindElements(driver, by, elements);
+    }
+
+    private Profile profile(List<Profile> profiles, String shape) {
+        for (Profile profile : profiles) {
+            if (profile.getShape().equals(shape)) {
+                return profile;
+            }
+        }
+        throw new AssertionError("No profile of " + shape + " in " + profiles);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys.grid;
+
+import io.jmix.masquerade.sys.grid.ByGridText.TextMatch;
+import io.jmix.masquerade.testsupport.FakeWebDriver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.jmix.masquerade.Selectors.byCells;
+import static io.jmix.masquerade.Selectors.byClassName;
+import static io.jmix.masquerade.Selectors.byJTestId;
+import static io.jmix.masquerade.Selectors.byOrderedCells;
+import static io.jmix.masquerade.Selectors.byRowColIndexes;
+import static io.jmix.masquerade.Selectors.byRowIndex;
+import static io.jmix.masquerade.Selectors.byText;
+import static io.jmix.masquerade.Selectors.isSelected;
+import static io.jmix.masquerade.Selectors.isVisible;
+import static io.jmix.masquerade.Selectors.withText;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class GridLookupTest {
+
+    private static final By TABLE_BY = byJTestId("usersTable");
+
+    private FakeWebDriver driver;
+
+    @BeforeEach
+    public void setUp() {
+        driver = FakeWebDriver.fromResource("/fixtures/users-browse.html");
+    }
+
+    @Test
+    public void rows() {
+        assertRows(byText("anonymous"), "anonymous Anonymous user");
+        assertRows(withText("mas"), "masquerade Masquerade tester");
+        assertRows(byCells("admin", "Administrator"), "admin Administrator");
+        assertRows(byCells("admin", "Anonymous user"));
+        assertRows(byOrderedCells("admin", "Administrator"), "admin Administrator");
+        assertRows(byOrderedCells("anonymous"), "anonymous Anonymous user");
+        assertRows(byOrderedCells("Administrator", "admin"));
+        assertRows(byRowIndex(2), "masquerade Masquerade tester");
+        assertRows(isSelected(), "anonymous Anonymous user");
+        assertRows(isVisible(),
+                "admin Administrator", "anonymous Anonymous user", "masquerade Masquerade tester");
+    }
+
+    @Test
+    public void cells() {
+        assertCells(byText("Administrator"), "Administrator");
+        assertCells(withText("user"), "Anonymous user");
+        assertCells(byRowColIndexes(1, 1), "Anonymous user");
+        assertCells(byRowIndex(0), "admin", "Administrator");
+        assertCells(byClassName("v-table-cell-content"),
+                "admin", "Administrator", "anonymous", "Anonymous user", "masquerade", "Masquerade tester");
+        // class names match whole class tokens only
+        assertCells(byClassName("v-table-cell"));
+    }
+
+    @Test
+    public void cssTextLookupIsOneCommand() {
+        GridLookup lookup = GridLookups.get(LookupEngine.CSS, GridLayout.TABLE);
+
+        List<WebElement> rows = driver.findElements(lookup.rowBy(TABLE_BY, byCells("admin", "Administrator")));
+
+        assertEquals(1, driver.getCommandLog().size());
+        assertEquals(1, rows.size());
+    }
+
+    @Test
+    public void cellsLookupIsOneCommand() {
+        for (LookupEngine engine : LookupEngine.values()) {
+            driver.getCommandLog().clear();
+            GridLookup lookup = GridLookups.get(engine, GridLayout.TABLE);
+
+            List<WebElement> rows = driver.findElements(lookup.rowBy(TABLE_BY, byCells("Anonymous user", "anonymous")));
+
+            assertEquals(1, driver.getCommandLog().size(), engine.toString());
+            assertEquals(1, rows.size(), engine.toString());
+        }
+    }
+
+    @Test
+    public void textOfCandidateCells() {
+        By headerBy = new ByGridText(TABLE_BY, "td.v-table-header-cell", null, TextMatch.CONTAINS, "am");
+
+        assertEquals(listOf("Name"), texts(driver.findElements(headerBy)));
+    }
+
+    private void assertRows(By rowBy, String... expected) {
+        for (LookupEngine engine : LookupEngine.values()) {
+            By by = GridLookups.get(engine, GridLayout.TABLE).rowBy(TABLE_BY, rowBy);
+
+            assertEquals(listOf(expected), texts(driver.findElements(by)), engine + " " + rowBy);
+        }
+    }
+
+    private void assertCells(By cellBy, String... expected) {
+        for (LookupEngine engine : LookupEngine.values()) {
+            By by = GridLookups.get(engine, GridLayout.TABLE).cellBy(TABLE_BY, cellBy);
+
+            assertEquals(listOf(expected), texts(driver.findElements(by)), engine + " " + cellBy);
+        }
+    }
+
+    private List<String> texts(List<WebElement> elements) {
+        List<String> texts = new ArrayList<>();
+        for (WebElement element : elements) {
+            texts.add(element.getText());
+        }
+        return texts;
+    }
+
+    private List<String> listOf(String... values) {
+        List<String> list = new ArrayList<>();
+        for (String value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+}
\ No newline at end of file
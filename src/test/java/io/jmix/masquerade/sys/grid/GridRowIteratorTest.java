@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys.grid;
+
+import com.codeborne.selenide.Configuration;
+import com.codeborne.selenide.WebDriverRunner;
+import io.jmix.masquerade.component.TableSnapshot.Row;
+import io.jmix.masquerade.testsupport.FakeWebDriver;
+import io.jmix.masquerade.testsupport.ScriptingWebDriver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.TimeoutException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.jmix.masquerade.Selectors.byJTestId;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GridRowIteratorTest {
+
+    private static final int ROW_HEIGHT = 30;
+    private static final int WINDOW_ROWS = 10;
+
+    private FakeWebDriver driver;
+    private long timeout;
+    private long pollingInterval;
+
+    @BeforeEach
+    public void setUp() {
+        driver = FakeWebDriver.fromHtml("<html><body><div j-test-id='usersGrid'></div></body></html>");
+        WebDriverRunner.setWebDriver(driver);
+
+        timeout = Configuration.timeout;
+        pollingInterval = Configuration.pollingInterval;
+        Configuration.timeout = 200;
+        Configuration.pollingInterval = 1;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Configuration.timeout = timeout;
+        Configuration.pollingInterval = pollingInterval;
+        WebDriverRunner.closeWebDriver();
+    }
+
+    @Test
+    public void rowsOfAllWindows() {
+        driver.setScriptHandler(new VirtualGrid(45)::execute);
+
+        List<Row> rows = readAll();
+
+        assertEquals(45, rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            assertEquals(i, rows.get(i).getIndex());
+            assertEquals(Collections.singletonList("user " + i), rows.get(i).getTexts());
+        }
+        // one call per window and one more after each scroll
+        assertTrue(driver.getCommandLog().size() <= 2 * (45 / WINDOW_ROWS + 1) + 1, driver.getCommandLog().toString());
+    }
+
+    @Test
+    public void gridWithoutScrolling() {
+        driver.setScriptHandler(new VirtualGrid(3)::execute);
+
+        assertEquals(3, readAll().size());
+    }
+
+    @Test
+    public void rowsAreNotRendered() {
+        VirtualGrid grid = new VirtualGrid(45);
+        grid.frozen = true;
+        driver.setScriptHandler(grid::execute);
+
+        GridRowIterator iterator = newIterator();
+        for (int i = 0; i < WINDOW_ROWS; i++) {
+            iterator.next();
+        }
+
+        assertThrows(TimeoutException.class, iterator::hasNext);
+    }
+
+    @Test
+    public void emptyGrid() {
+        driver.setScriptHandler(new VirtualGrid(0)::execute);
+
+        assertFalse(newIterator().hasNext());
+    }
+
+    @Test
+    public void rowsPositionedByTransforms() {
+        // rows are rendered in rotated order, their height is fractional and the second row has details
+        StringBuilder html = new StringBuilder("<html><body><div j-test-id='usersGrid'><table>"
+                + "<tbody class='v-grid-body'>");
+        for (int r = 0; r < 45; r++) {
+            int i = (r + 20) % 45;
+            double top = i * 37.5 + (i > 1 ? 100 : 0);
+            String transform = i % 2 == 0 ? "translate(0px, " + top + "px)" : "translate3d(0, " + top + "px, 0)";
+            html.append("<tr class='v-grid-row v-grid-row-has-data' style='height: 37.5px; transform: ")
+                    .append(transform).append("'><td class='v-grid-cell'>user ").append(i).append("</td></tr>");
+            if (i == 1) {
+                html.append("<tr class='v-grid-spacer' style='height: 100px; transform: translate(0, 75px)'>")
+                        .append("<td>details</td></tr>");
+            }
+        }
+        html.append("<tr class='v-grid-row' style='display: none'><td class='v-grid-cell'></td></tr>")
+                .append("</tbody></table></div></body></html>");
+
+        WebDriverRunner.closeWebDriver();
+        WebDriverRunner.setWebDriver(ScriptingWebDriver.fromHtml(html.toString()));
+
+        List<Row> rows = readAll();
+
+        assertEquals(45, rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            assertEquals(i, rows.get(i).getIndex());
+            assertEquals(Collections.singletonList("user " + i), rows.get(i).getTexts());
+        }
+    }
+
+    private List<Row> readAll() {
+        List<Row> rows = new ArrayList<>();
+        newIterator().forEachRemaining(rows::add);
+        return rows;
+    }
+
+    private GridRowIterator newIterator() {
+        return new GridRowIterator(byJTestId("usersGrid"), GridLayout.DATA_GRID,
+                "v-grid-scroller-vertical", "v-grid-row-has-data", "v-grid-spacer");
+    }
+
+    /**
+     * Emulates the grid-window script for a grid that renders rows of a new scroll position
+     * after the script returns.
+     */
+    private static class VirtualGrid {
+        private final int size;
+        private double scrollTop;
+        private double renderedScrollTop;
+        private boolean frozen;
+
+        private VirtualGrid(int size) {
+            this.size = size;
+        }
+
+        private Object execute(FakeWebDriver driver, String script, Object[] args) {
+            if (!frozen) {
+                renderedScrollTop = scrollTop;
+            }
+
+            double clientHeight = WINDOW_ROWS * ROW_HEIGHT;
+            double scrollHeight = Math.max(size * ROW_HEIGHT, clientHeight);
+            if (args[2] != null) {
+                scrollTop = Math.min(((Number) args[2]).doubleValue(), scrollHeight - clientHeight);
+            }
+
+            List<Map<String, Object>> rows = new ArrayList<>();
+            int first = (int) (renderedScrollTop / ROW_HEIGHT);
+            for (int i = first; i < Math.min(first + WINDOW_ROWS, size); i++) {
+                Map<String, Object> row = new HashMap<>();
+                row.put("index", (long) i);
+                row.put("top", (long) i * ROW_HEIGHT);
+                row.put("texts", Collections.singletonList("user " + i));
+                row.put("selected", false);
+                rows.add(row);
+            }
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("scrollTop", scrollTop);
+            result.put("scrollHeight", scrollHeight);
+            result.put("clientHeight", clientHeight);
+            result.put("rowHeight", (long) ROW_HEIGHT);
+            result.put("pending", false);
+            result.put("rows", rows);
+            return result;
+        }
+    }
+}
\ No newline at end of file
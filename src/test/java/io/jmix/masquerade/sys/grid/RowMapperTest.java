@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys.grid;
+
+import io.jmix.masquerade.Column;
+import io.jmix.masquerade.component.TableSnapshot;
+import io.jmix.masquerade.component.TableSnapshot.Row;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RowMapperTest {
+
+    private final TableSnapshot snapshot = new TableSnapshot(
+            Arrays.asList("login", "name", "age"),
+            Arrays.asList("Login", "Name", "Age"),
+            Arrays.asList(
+                    new Row(0, Arrays.asList("admin", "Administrator", "42"), false, false, false),
+                    new Row(1, Arrays.asList("Users"), false, true, true),
+                    new Row(2, Arrays.asList("anonymous", "Anonymous user", ""), true, false, false)));
+
+    @Test
+    public void constructorParameters() {
+        List<User> users = RowMapper.get(User.class).map(snapshot);
+
+        assertEquals(2, users.size());
+        assertEquals("admin", users.get(0).login);
+        assertEquals("Administrator", users.get(0).name);
+        assertEquals("anonymous", users.get(1).login);
+    }
+
+    @Test
+    public void fields() {
+        List<UserAge> users = RowMapper.get(UserAge.class).map(snapshot);
+
+        assertEquals(2, users.size());
+        assertEquals("admin", users.get(0).login);
+        assertEquals(Integer.valueOf(42), users.get(0).age);
+        assertNull(users.get(1).age);
+    }
+
+    @Test
+    public void mapperIsBuiltOnce() {
+        assertSame(RowMapper.get(User.class), RowMapper.get(User.class));
+    }
+
+    @Test
+    public void missingColumn() {
+        assertThrows(IllegalArgumentException.class, () -> RowMapper.get(Email.class).map(snapshot));
+    }
+
+    @Test
+    public void classWithoutColumns() {
+        assertThrows(IllegalArgumentException.class, () -> RowMapper.get(String.class));
+    }
+
+    public static class User {
+        private final String login;
+        private final String name;
+
+        public User(@Column("login") String login, @Column("column_name") String name) {
+            this.login = login;
+            this.name = name;
+        }
+    }
+
+    public static class UserAge {
+        @Column("login")
+        private String login;
+        @Column("age")
+        private Integer age;
+    }
+
+    public static class Email {
+        @Column("email")
+        private String email;
+    }
+}
\ No newline at end of file
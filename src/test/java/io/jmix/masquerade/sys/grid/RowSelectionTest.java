@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys.grid;
+
+import com.codeborne.selenide.Configuration;
+import com.codeborne.selenide.WebDriverRunner;
+import io.jmix.masquerade.sys.ControlKeys;
+import io.jmix.masquerade.testsupport.FakeWebDriver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.InvalidElementStateException;
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RowSelectionTest {
+
+    private static final By NOT_SELECTED_ROWS = By.xpath("//div[@j-test-id='usersTable']"
+            + "//tr[contains(@class, 'v-table-row') and not(contains(@class, 'v-selected'))]");
+    private static final By ALL_ROWS = By.xpath("//div[@j-test-id='usersTable']//tr[contains(@class, 'v-table-row')]");
+    private static final By LAST_ROW =
+            By.xpath("(//div[@j-test-id='usersTable']//tr[contains(@class, 'v-table-row')])[3]");
+
+    private FakeWebDriver driver;
+    private long timeout;
+    private long pollingInterval;
+
+    @BeforeEach
+    public void setUp() {
+        driver = FakeWebDriver.fromResource("/fixtures/users-browse.html");
+        WebDriverRunner.setWebDriver(driver);
+
+        timeout = Configuration.timeout;
+        pollingInterval = Configuration.pollingInterval;
+        Configuration.timeout = 50;
+        Configuration.pollingInterval = 1;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Configuration.timeout = timeout;
+        Configuration.pollingInterval = pollingInterval;
+        WebDriverRunner.closeWebDriver();
+    }
+
+    @Test
+    public void rowsAreSelectedWithOneChain() {
+        assertEquals(Keys.CONTROL, ControlKeys.get(driver));
+        driver.getCommandLog().clear();
+
+        List<WebElement> rows = RowSelection.selectRows(driver, NOT_SELECTED_ROWS, GridLayout.TABLE);
+
+        assertEquals(2, rows.size());
+        // rows, their selection state and one composed chain of clicks
+        assertEquals(3, driver.getCommandLog().size(), driver.getCommandLog().toString());
+        assertEquals(1, driver.getCommandLog().count("findElements"));
+        assertEquals(1, driver.getCommandLog().count("executeScript"));
+        assertEquals(1, driver.getCommandLog().count("perform"));
+    }
+
+    @Test
+    public void controlKeyIsDetectedOncePerDriver() {
+        RowSelection.selectRows(driver, NOT_SELECTED_ROWS, GridLayout.TABLE);
+        RowSelection.selectRows(driver, NOT_SELECTED_ROWS, GridLayout.TABLE);
+
+        // one platform check and one selection check per call
+        assertEquals(3, driver.getCommandLog().count("executeScript"), driver.getCommandLog().toString());
+        assertEquals(2, driver.getCommandLog().count("perform"));
+    }
+
+    @Test
+    public void selectedRowsAreRejected() {
+        assertThrows(InvalidElementStateException.class,
+                () -> RowSelection.selectRows(driver, ALL_ROWS, GridLayout.TABLE));
+
+        assertEquals(0, driver.getCommandLog().count("perform"));
+    }
+
+    @Test
+    public void selectedRowsOfDataGridAreRejected() {
+        driver = FakeWebDriver.fromHtml("<html><body><table><tbody class='v-grid-body'>"
+                + "<tr class='v-grid-row v-grid-row-has-data'><td class='v-grid-cell'>admin</td></tr>"
+                + "<tr class='v-grid-row v-grid-row-has-data v-grid-row-selected'>"
+                + "<td class='v-grid-cell'>anonymous</td></tr>"
+                + "</tbody></table></body></html>");
+
+        InvalidElementStateException e = assertThrows(InvalidElementStateException.class,
+                () -> RowSelection.selectRows(driver, By.xpath("//tr"), GridLayout.DATA_GRID));
+
+        assertTrue(e.getMessage().startsWith("Rows [1] of "), e.getMessage());
+        assertEquals(0, driver.getCommandLog().count("perform"));
+    }
+
+    @Test
+    public void rangeIsSelectedWithOneChain() {
+        driver = FakeWebDriver.fromHtml("<html><body><table><tbody>"
+                + "<tr class='v-table-row'><td>admin</td></tr>"
+                + "<tr class='v-table-row v-selected'><td>anonymous</td></tr>"
+                + "<tr class='v-table-row v-selected'><td>masquerade</td></tr>"
+                + "<tr class='v-table-row v-selected'><td>tester</td></tr>"
+                + "</tbody></table></body></html>");
+
+        int size = RowSelection.selectRange(driver, By.xpath("//tr[4]"), By.xpath("//tr[2]"),
+                GridLayout.TABLE, null);
+
+        assertEquals(3, size);
+        // two rows, one chain of clicks and one check of the selection
+        assertEquals(4, driver.getCommandLog().size(), driver.getCommandLog().toString());
+        assertEquals(1, driver.getCommandLog().count("perform"));
+    }
+
+    @Test
+    public void rangeSelectionIsChecked() {
+        TimeoutException e = assertThrows(TimeoutException.class,
+                () -> RowSelection.selectRange(driver, ALL_ROWS, LAST_ROW, GridLayout.TABLE, null));
+
+        assertTrue(e.getMessage().contains("1 of 3 rows"), e.getMessage());
+    }
+}
\ No newline at end of file
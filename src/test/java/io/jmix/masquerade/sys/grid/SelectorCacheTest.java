@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys.grid;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+
+import static io.jmix.masquerade.Selectors.byCells;
+import static io.jmix.masquerade.Selectors.byIndex;
+import static io.jmix.masquerade.Selectors.byJTestId;
+import static io.jmix.masquerade.Selectors.byPath;
+import static io.jmix.masquerade.Selectors.byRowIndex;
+import static io.jmix.masquerade.Selectors.byText;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class SelectorCacheTest {
+
+    private final GridLookup lookup = GridLookups.get(LookupEngine.XPATH, GridLayout.TABLE);
+
+    @BeforeEach
+    public void setUp() {
+        SelectorCache.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SelectorCache.setMaxSize(512);
+        SelectorCache.clear();
+    }
+
+    @Test
+    public void sameCriteriaReuseSelector() {
+        By first = lookup.rowBy(byJTestId("usersTable"), byCells("admin", "Administrator"));
+        By second = lookup.rowBy(byJTestId("usersTable"), byCells("admin", "Administrator"));
+
+        assertSame(first, second);
+        assertEquals(1, SelectorCache.getHits());
+        assertEquals(1, SelectorCache.getMisses());
+    }
+
+    @Test
+    public void keyContainsComponentCriteriaTypeAndValues() {
+        By rowBy = lookup.rowBy(byPath("form", "usersTable"), byText("admin"));
+
+        assertNotSame(rowBy, lookup.rowBy(byPath("form", "rolesTable"), byText("admin")));
+        assertNotSame(rowBy, lookup.rowBy(byPath("form", "usersTable"), byText("Administrator")));
+        assertNotSame(rowBy, lookup.cellBy(byPath("form", "usersTable"), byText("admin")));
+        assertNotSame(lookup.rowBy(byJTestId("usersTable"), byIndex(1)),
+                lookup.rowBy(byJTestId("usersTable"), byRowIndex(1)));
+
+        assertEquals(0, SelectorCache.getHits());
+    }
+
+    @Test
+    public void leastRecentlyUsedSelectorIsEvicted() {
+        SelectorCache.setMaxSize(2);
+
+        By first = lookup.rowBy(byJTestId("usersTable"), byRowIndex(0));
+        lookup.rowBy(byJTestId("usersTable"), byRowIndex(1));
+        lookup.rowBy(byJTestId("usersTable"), byRowIndex(0));
+        lookup.rowBy(byJTestId("usersTable"), byRowIndex(2));
+
+        assertEquals(2, SelectorCache.size());
+        assertSame(first, lookup.rowBy(byJTestId("usersTable"), byRowIndex(0)));
+        assertEquals(2, SelectorCache.getHits());
+    }
+
+    @Test
+    public void disabledCache() {
+        SelectorCache.setMaxSize(0);
+
+        By first = lookup.rowBy(byJTestId("usersTable"), byText("admin"));
+
+        assertNotSame(first, lookup.rowBy(byJTestId("usersTable"), byText("admin")));
+        assertEquals(0, SelectorCache.size());
+        assertEquals(2, SelectorCache.getMisses());
+    }
+}
\ No newline at end of file
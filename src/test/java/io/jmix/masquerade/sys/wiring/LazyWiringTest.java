@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys.wiring;
+
+import com.codeborne.selenide.WebDriverRunner;
+import io.jmix.masquerade.Components;
+import io.jmix.masquerade.Wire;
+import io.jmix.masquerade.base.Composite;
+import io.jmix.masquerade.component.Button;
+import io.jmix.masquerade.testsupport.FakeWebDriver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.jmix.masquerade.Selectors.byChain;
+import static io.jmix.masquerade.Selectors.byPath;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LazyWiringTest {
+
+    private static final String HTML = "<html><body>" +
+            "<div j-test-id='screen'>" +
+            "  <div j-test-id='okButton' class='v-button'>OK</div>" +
+            "  <div j-test-id='form'><div j-test-id='cancelButton' class='v-button'>Cancel</div></div>" +
+            "</div>" +
+            "</body></html>";
+
+    private FakeWebDriver driver;
+    private boolean generated;
+
+    @BeforeEach
+    public void setUp() {
+        driver = FakeWebDriver.fromHtml(HTML);
+        WebDriverRunner.setWebDriver(driver);
+
+        generated = Wirers.isEnabled();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Wirers.setEnabled(generated);
+        LazyWiring.setEnabled(false);
+        WebDriverRunner.closeWebDriver();
+    }
+
+    @Test
+    public void lazyCompositeDefersNestedComponents() {
+        for (boolean generatedWiring : new boolean[]{true, false}) {
+            Wirers.setEnabled(generatedWiring);
+            driver.getCommandLog().clear();
+            long materialized = LazyWiring.getMaterialized();
+
+            LazyScreen screen = Components.wire(LazyScreen.class, "screen");
+
+            assertFalse(LazyWiring.isMaterialized(screen.okButton), "generated " + generatedWiring);
+            assertFalse(LazyWiring.isMaterialized(screen.form.cancelButton), "generated " + generatedWiring);
+            assertEquals(0, driver.getCommandLog().size());
+
+            assertTrue(screen.form.cancelButton.exists());
+
+            assertTrue(LazyWiring.isMaterialized(screen.form.cancelButton));
+            assertFalse(LazyWiring.isMaterialized(screen.okButton));
+            assertEquals(materialized + 1, LazyWiring.getMaterialized());
+            assertEquals(1, driver.getCommandLog().count("findElements"));
+        }
+    }
+
+    @Test
+    public void lazyField() {
+        for (boolean generatedWiring : new boolean[]{true, false}) {
+            Wirers.setEnabled(generatedWiring);
+
+            Screen screen = Components.wire(Screen.class, "screen");
+
+            assertFalse(LazyWiring.isMaterialized(screen.okButton), "generated " + generatedWiring);
+            assertTrue(LazyWiring.isMaterialized(screen.form), "generated " + generatedWiring);
+            assertTrue(LazyWiring.isMaterialized(screen.form.cancelButton), "generated " + generatedWiring);
+        }
+    }
+
+    @Test
+    public void globalLazyWiring() {
+        LazyWiring.setEnabled(true);
+
+        for (boolean generatedWiring : new boolean[]{true, false}) {
+            Wirers.setEnabled(generatedWiring);
+
+            Screen screen = Components.wire(Screen.class, "screen");
+
+            assertFalse(LazyWiring.isMaterialized(screen.okButton), "generated " + generatedWiring);
+            assertFalse(LazyWiring.isMaterialized(screen.form.cancelButton), "generated " + generatedWiring);
+        }
+    }
+
+    @Test
+    public void deferredHandleDoesNotCreateComponent() {
+        LazyScreen screen = Components.wire(LazyScreen.class, "screen");
+        Button okButton = screen.okButton;
+        Button other = Components.wire(LazyScreen.class, "screen").okButton;
+
+        assertEquals("Lazy Button " + byChain(byPath("screen"), byPath("okButton")), okButton.toString());
+        assertEquals(byChain(byPath("screen"), byPath("okButton")).toString(), okButton.getBy().toString());
+        assertTrue(okButton.equals(okButton));
+        assertNotEquals(okButton, other);
+        assertEquals(System.identityHashCode(okButton), okButton.hashCode());
+
+        assertFalse(LazyWiring.isMaterialized(okButton));
+        assertEquals(0, driver.getCommandLog().size());
+    }
+
+    public static class Form extends Composite<Form> {
+        @Wire
+        protected Button cancelButton;
+    }
+
+    @Wire(lazy = true)
+    public static class LazyScreen extends Composite<LazyScreen> {
+        @Wire
+        protected Button okButton;
+        @Wire
+        protected Form form;
+    }
+
+    public static class Screen extends Composite<Screen> {
+        @Wire(lazy = true)
+        protected Button okButton;
+        @Wire
+        protected Form form;
+    }
+}
\ No newline at end of file
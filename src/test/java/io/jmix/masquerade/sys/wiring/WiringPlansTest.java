@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys.wiring;
+
+import io.jmix.masquerade.Components;
+import io.jmix.masquerade.Wire;
+import io.jmix.masquerade.base.Composite;
+import io.jmix.masquerade.component.Label;
+import io.jmix.masquerade.sys.wiring.WiringPlan.FieldKind;
+import io.jmix.masquerade.sys.wiring.WiringPlan.FieldPlan;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.jmix.masquerade.Selectors.byChain;
+import static io.jmix.masquerade.Selectors.byPath;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WiringPlansTest {
+
+    private boolean generated;
+
+    @BeforeEach
+    public void setUp() {
+        // test composites have generated wirers, plans are used by reflective wiring only
+        generated = Wirers.isEnabled();
+        Wirers.setEnabled(false);
+        WiringPlans.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Wirers.setEnabled(generated);
+        WiringPlans.clear();
+    }
+
+    @Test
+    public void planIsBuiltOncePerClass() {
+        WiringPlan<Panel> plan = WiringPlans.get(Panel.class);
+
+        Panel first = Components.wire(Panel.class, "panel");
+        Panel second = Components.wire(Panel.class, "panel");
+
+        assertSame(plan, WiringPlans.get(Panel.class));
+        assertEquals(1, WiringPlans.getMisses());
+        assertEquals(1, WiringPlans.size());
+        assertTrue(WiringPlans.getHits() >= 2);
+
+        assertNotNull(first.getTitle());
+        assertNotNull(second.getTitle());
+    }
+
+    @Test
+    public void nestedCompositesHaveOwnPlans() {
+        Screen screen = Components.wire(Screen.class, "screen");
+
+        Panel panel = screen.getPanel();
+        assertNotNull(panel);
+        assertNotNull(panel.getTitle());
+        assertEquals(byChain(byPath("screen"), byPath("panel")).toString(), panel.getBy().toString());
+
+        assertEquals(2, WiringPlans.getMisses());
+
+        Components.wire(Screen.class, "screen");
+        assertEquals(2, WiringPlans.getMisses());
+    }
+
+    @Test
+    public void inheritedFieldsArePlanned() {
+        WiringPlan<ExtendedPanel> plan = WiringPlans.get(ExtendedPanel.class);
+
+        List<String> components = new ArrayList<>();
+        for (FieldPlan field : plan.getFields()) {
+            if (field.getKind() == FieldKind.COMPONENT) {
+                components.add(field.getField().getName());
+            }
+        }
+        assertTrue(components.contains("title"), components.toString());
+        assertTrue(components.contains("subtitle"), components.toString());
+
+        ExtendedPanel panel = Components.wire(ExtendedPanel.class, "panel");
+
+        assertNotNull(panel.getTitle());
+        assertNotNull(panel.getSubtitle());
+        assertNotNull(panel.getBy());
+        assertNotNull(panel.getDelegate());
+    }
+
+    @Test
+    public void compositeWithPrivateConstructorIsNotInstantiated() {
+        RuntimeException e = assertThrows(RuntimeException.class, () ->
+                Components.wire(PrivatePanel.class, "panel"));
+
+        assertEquals("Unable to instantiate composite " + PrivatePanel.class.getName(), e.getMessage());
+        assertTrue(e.getCause() instanceof IllegalAccessException, String.valueOf(e.getCause()));
+    }
+
+    public static class Panel extends Composite<Panel> {
+        @Wire
+        protected Label title;
+
+        public Label getTitle() {
+            return title;
+        }
+    }
+
+    public static class ExtendedPanel extends Panel {
+        @Wire
+        protected Label subtitle;
+
+        public Label getSubtitle() {
+            return subtitle;
+        }
+    }
+
+    public static class PrivatePanel extends Composite<PrivatePanel> {
+        private PrivatePanel() {
+        }
+    }
+
+    public static class Screen extends Composite<Screen> {
+        @Wire
+        protected Panel panel;
+
+        public Panel getPanel() {
+            return panel;
+        }
+    }
+}
\ No newline at end of file
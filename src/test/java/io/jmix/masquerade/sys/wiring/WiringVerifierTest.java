@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.sys.wiring;
+
+import com.codeborne.selenide.Configuration;
+import com.codeborne.selenide.WebDriverRunner;
+import io.jmix.masquerade.Components;
+import io.jmix.masquerade.Wire;
+import io.jmix.masquerade.base.Composite;
+import io.jmix.masquerade.component.Button;
+import io.jmix.masquerade.testsupport.FakeWebDriver;
+import io.jmix.masquerade.util.MissingComponentsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static io.jmix.masquerade.Selectors.byChain;
+import static io.jmix.masquerade.Selectors.byPath;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WiringVerifierTest {
+
+    private static final String HTML = "<html><body>" +
+            "<div j-test-id='screen'>" +
+            "  <div j-test-id='form'><div j-test-id='okButton' class='v-button'>OK</div></div>" +
+            "</div>" +
+            "</body></html>";
+
+    private FakeWebDriver driver;
+    private boolean generated;
+    private long timeout;
+    private long pollingInterval;
+
+    @BeforeEach
+    public void setUp() {
+        driver = FakeWebDriver.fromHtml(HTML);
+        WebDriverRunner.setWebDriver(driver);
+
+        generated = Wirers.isEnabled();
+        timeout = Configuration.timeout;
+        pollingInterval = Configuration.pollingInterval;
+        Configuration.timeout = 50;
+        Configuration.pollingInterval = 1;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Wirers.setEnabled(generated);
+        Configuration.timeout = timeout;
+        Configuration.pollingInterval = pollingInterval;
+        WebDriverRunner.closeWebDriver();
+    }
+
+    @Test
+    public void presentComponents() {
+        for (boolean generatedWiring : new boolean[]{true, false}) {
+            Wirers.setEnabled(generatedWiring);
+            driver.getCommandLog().clear();
+
+            Components.verify(Components.wire(Screen.class, "screen"));
+
+            assertEquals(1, driver.getCommandLog().count("executeScript"), "generated " + generatedWiring);
+        }
+    }
+
+    @Test
+    public void missingNestedComponent() {
+        for (boolean generatedWiring : new boolean[]{true, false}) {
+            Wirers.setEnabled(generatedWiring);
+
+            MissingComponentsException e = assertThrows(MissingComponentsException.class,
+                    () -> Components.wire(VerifiedScreen.class, "screen"));
+
+            assertEquals(Collections.singletonList("form.cancelButton"), e.getMissing());
+            assertTrue(e.getMessage().startsWith("Components of VerifiedScreen not found in 50 ms:"), e.getMessage());
+            assertTrue(e.getMessage().contains("\n  form.cancelButton: "), e.getMessage());
+        }
+    }
+
+    @Test
+    public void nestedCompositeIsVerifiedWithTopLevelComposite() {
+        for (boolean generatedWiring : new boolean[]{true, false}) {
+            Wirers.setEnabled(generatedWiring);
+            driver.getCommandLog().clear();
+
+            // nested composite marked with verify = true is not verified while its parent is wired
+            UnverifiedScreen screen = Components.wire(UnverifiedScreen.class, "screen");
+
+            assertEquals(0, driver.getCommandLog().count("executeScript"), "generated " + generatedWiring);
+
+            MissingComponentsException e = assertThrows(MissingComponentsException.class,
+                    () -> Components.wire(VerifiedForm.class, byChain(byPath("screen"), byPath("form"))));
+            assertEquals(Collections.singletonList("cancelButton"), e.getMissing());
+
+            assertThrows(MissingComponentsException.class, () -> Components.verify(screen));
+        }
+    }
+
+    public static class Form extends Composite<Form> {
+        @Wire
+        protected Button okButton;
+    }
+
+    @Wire(verify = true)
+    public static class VerifiedForm extends Composite<VerifiedForm> {
+        @Wire
+        protected Button okButton;
+        @Wire
+        protected Button cancelButton;
+    }
+
+    public static class Screen extends Composite<Screen> {
+        @Wire
+        protected Form form;
+    }
+
+    @Wire(verify = true)
+    public static class VerifiedScreen extends Composite<VerifiedScreen> {
+        @Wire(path = "form")
+        protected VerifiedForm form;
+    }
+
+    public static class UnverifiedScreen extends Composite<UnverifiedScreen> {
+        @Wire(path = "form")
+        protected VerifiedForm form;
+    }
+}
\ No newline at end of file
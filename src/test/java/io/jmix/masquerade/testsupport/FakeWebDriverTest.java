@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.testsupport;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.ByChained;
+
+import java.util.List;
+
+import static io.jmix.masquerade.Selectors.byJTestId;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FakeWebDriverTest {
+
+    private FakeWebDriver driver;
+
+    @BeforeEach
+    public void setUp() {
+        driver = FakeWebDriver.fromResource("/fixtures/users-browse.html");
+    }
+
+    @Test
+    public void findByCss() {
+        List<WebElement> rows = driver.findElements(By.cssSelector("[j-test-id='usersTable'] .v-table-table tr"));
+
+        assertEquals(3, rows.size());
+        assertEquals("admin Administrator", rows.get(0).getText());
+        assertEquals(2, driver.getCommandLog().size());
+    }
+
+    @Test
+    public void findByXpath() {
+        WebElement cell = driver.findElement(By.xpath(".//td[.//text()[normalize-space(.) = 'masquerade']]"));
+
+        assertEquals("masquerade", cell.getText());
+        assertSame(cell, driver.findElement(By.className("v-table-cell-content")).findElement(By.xpath(
+                "./ancestor::table//td[.//text()[normalize-space(.) = 'masquerade']]")));
+    }
+
+    @Test
+    public void chainIssuesCommandPerStep() {
+        List<WebElement> rows = driver.findElements(new ByChained(
+                byJTestId("usersTable"), By.className("v-table-table"), By.tagName("tr")));
+
+        assertEquals(3, rows.size());
+        assertEquals(3, driver.getCommandLog().count("findElements"));
+    }
+
+    @Test
+    public void elementState() {
+        assertFalse(driver.findElement(byJTestId("hiddenLabel")).isDisplayed());
+        assertFalse(driver.findElement(byJTestId("disabledButton")).isEnabled());
+        assertTrue(driver.findElement(byJTestId("usersTable")).isDisplayed());
+    }
+
+    @Test
+    public void missingElement() {
+        assertThrows(NoSuchElementException.class, () -> driver.findElement(byJTestId("missing")));
+        assertThrows(InvalidSelectorException.class, () -> driver.findElement(By.cssSelector("tr:hover")));
+    }
+
+    @Test
+    public void budgetExceeded() {
+        AssertionError error = assertThrows(AssertionError.class, () ->
+                CommandBudget.assertAtMost(driver, 1, "two lookups", () -> {
+                    driver.findElements(byJTestId("usersTable"));
+                    driver.findElements(byJTestId("hiddenLabel"));
+                }));
+
+        assertTrue(error.getMessage().startsWith("two lookups issued 2 WebDriver commands, budget is 1"));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.testsupport;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Assertions on the number of WebDriver commands issued by a high-level API call.
+ *
+ * <pre><code>
+ * CommandBudget.assertAtMost(driver, 2, "Table.getRow(byCells)", () -&gt;
+ *         table.getRow(byCells("admin", "Administrator")).exists());
+ * </code></pre>
+ */
+public final class CommandBudget {
+
+    private CommandBudget() {
+    }
+
+    /**
+     * Runs the action and returns commands it issued.
+     *
+     * @param driver fake driver
+     * @param action action
+     * @return issued commands
+     */
+    public static List<CommandLog.Command> measure(FakeWebDriver driver, Runnable action) {
+        CommandLog log = driver.getCommandLog();
+        int start = log.size();
+
+        action.run();
+
+        List<CommandLog.Command> commands = log.getCommands();
+        return commands.subList(start, commands.size());
+    }
+
+    /**
+     * Runs the action and fails if it issues more than {@code maxCommands} commands.
+     *
+     * @param driver      fake driver
+     * @param maxCommands budget
+     * @param description description of the action used in the failure message
+     * @param action      action
+     * @param <T>         type of result
+     * @return result of the action
+     * @throws AssertionError if the budget is exceeded
+     */
+    public static <T> T assertAtMost(FakeWebDriver driver, int maxCommands, String description, Supplier<T> action) {
+        Object[] result = new Object[1];
+        List<CommandLog.Command> commands = measure(driver, () -> result[0] = action.get());
+
+        check(maxCommands, description, commands);
+
+        @SuppressWarnings("unchecked")
+        T typedResult = (T) result[0];
+        return typedResult;
+    }
+
+    /**
+     * Runs the action and fails if it issues more than {@code maxCommands} commands.
+     *
+     * @param driver      fake driver
+     * @param maxCommands budget
+     * @param description description of the action used in the failure message
+     * @param action      action
+     * @throws AssertionError if the budget is exceeded
+     */
+    public static void assertAtMost(FakeWebDriver driver, int maxCommands, String description, Runnable action) {
+        check(maxCommands, description, measure(driver, action));
+    }
+
+    private static void check(int maxCommands, String description, List<CommandLog.Command> commands) {
+        if (commands.size() > maxCommands) {
+            StringBuilder message = new StringBuilder()
+                    .append(description)
+                    .append(" issued ")
+                    .append(commands.size())
+                    .append(" WebDriver commands, budget is ")
+                    .append(maxCommands)
+                    .append(':');
+            for (CommandLog.Command command : commands) {
+                message.append("\n  ").append(command);
+            }
+            throw new AssertionError(message.toString());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.testsupport;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * WebDriver commands issued through {@link FakeWebDriver}, one entry per wire protocol command.
+ */
+public class CommandLog {
+
+    private final List<Command> commands = new ArrayList<>();
+
+    public synchronized void record(String name, String detail) {
+        commands.add(new Command(name, detail));
+    }
+
+    public synchronized int size() {
+        return commands.size();
+    }
+
+    /**
+     * @param name command name, e.g. {@code findElements} or {@code executeScript}
+     * @return number of commands with the name
+     */
+    public synchronized int count(String name) {
+        int count = 0;
+        for (Command command : commands) {
+            if (command.getName().equals(name)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public synchronized List<Command> getCommands() {
+        return Collections.unmodifiableList(new ArrayList<>(commands));
+    }
+
+    public synchronized void clear() {
+        commands.clear();
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Command command : commands) {
+            sb.append("\n  ").append(command);
+        }
+        return sb.toString();
+    }
+
+    public static final class Command {
+        private final String name;
+        private final String detail;
+
+        public Command(String name, String detail) {
+            this.name = name;
+            this.detail = detail;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getDetail() {
+            return detail;
+        }
+
+        @Override
+        public String toString() {
+            return detail == null ? name : name + " " + detail;
+        }
+    }
+}
\ No newline at end of file
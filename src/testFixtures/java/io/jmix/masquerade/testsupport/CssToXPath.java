@@ -0,0 +1,346 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.testsupport;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Translates the subset of CSS selectors used by masquerade and typical tests to XPath relative
+ * to a context node: type, universal, id, class and attribute selectors, {@code :first-child},
+ * {@code :last-child}, {@code :nth-child(n)} and {@code :nth-of-type(n)} with descendant, child
+ * and sibling combinators, and selector groups.
+ * <br>
+ * Unlike {@code querySelectorAll}, all compound selectors of the translated expression must match
+ * inside the context node.
+ */
+public final class CssToXPath {
+
+    private CssToXPath() {
+    }
+
+    /**
+     * @param css CSS selector
+     * @return XPath expression relative to the context node
+     * @throws IllegalArgumentException if the selector is not supported
+     */
+    public static String translate(String css) {
+        List<String> groups = split(css.trim(), ',');
+
+        StringBuilder xpath = new StringBuilder();
+        for (String group : groups) {
+            if (xpath.length() > 0) {
+                xpath.append(" | ");
+            }
+            xpath.append(translateGroup(css, group.trim()));
+        }
+        return xpath.toString();
+    }
+
+    private static String translateGroup(String css, String group) {
+        if (group.isEmpty()) {
+            throw unsupported(css);
+        }
+
+        StringBuilder xpath = new StringBuilder(".//");
+        int i = 0;
+        while (i < group.length()) {
+            int end = findCompoundEnd(group, i);
+            xpath.append(translateCompound(css, group.substring(i, end)));
+
+            i = end;
+            while (i < group.length() && Character.isWhitespace(group.charAt(i))) {
+                i++;
+            }
+            if (i >= group.length()) {
+                break;
+            }
+
+            char combinator = group.charAt(i);
+            if (combinator == '>') {
+                xpath.append('/');
+                i = skipWhitespace(group, i + 1);
+            } else if (combinator == '+') {
+                xpath.append("/following-sibling::*[1]/self::");
+                i = skipWhitespace(group, i + 1);
+            } else if (combinator == '~') {
+                xpath.append("/following-sibling::");
+                i = skipWhitespace(group, i + 1);
+            } else {
+                xpath.append("//");
+            }
+        }
+        return xpath.toString();
+    }
+
+    private static String translateCompound(String css, String compound) {
+        String tag = "*";
+        StringBuilder predicates = new StringBuilder();
+
+        int i = 0;
+        if (i < compound.length() && (isNameChar(compound.charAt(i)) || compound.charAt(i) == '*')) {
+            int end = compound.charAt(i) == '*' ? i + 1 : readName(compound, i);
+            tag = compound.substring(i, end).toLowerCase();
+            i = end;
+        }
+
+        while (i < compound.length()) {
+            char c = compound.charAt(i);
+            if (c == '#') {
+                int end = readName(compound, i + 1);
+                predicates.append("[@id=").append(literal(unescape(compound.substring(i + 1, end)))).append(']');
+                i = end;
+            } else if (c == '.') {
+                int end = readName(compound, i + 1);
+                predicates.append("[contains(concat(' ', normalize-space(@class), ' '), ")
+                        .append(literal(" " + unescape(compound.substring(i + 1, end)) + " "))
+                        .append(")]");
+                i = end;
+            } else if (c == '[') {
+                int end = findClosingBracket(css, compound, i);
+                predicates.append(translateAttribute(css, compound.substring(i + 1, end)));
+                i = end + 1;
+            } else if (c == ':') {
+                int end = readName(compound, i + 1);
+                String pseudoClass = compound.substring(i + 1, end);
+                String argument = null;
+                if (end < compound.length() && compound.charAt(end) == '(') {
+                    int close = compound.indexOf(')', end);
+                    if (close < 0) {
+                        throw unsupported(css);
+                    }
+                    argument = compound.substring(end + 1, close).trim();
+                    end = close + 1;
+                }
+                predicates.append(translatePseudoClass(css, tag, pseudoClass, argument));
+                i = end;
+            } else {
+                throw unsupported(css);
+            }
+        }
+
+        return tag + predicates;
+    }
+
+    private static String translatePseudoClass(String css, String tag, String pseudoClass, String argument) {
+        switch (pseudoClass) {
+            case "first-child":
+                return "[not(preceding-sibling::*)]";
+            case "last-child":
+                return "[not(following-sibling::*)]";
+            case "nth-child":
+                return "[count(preceding-sibling::*) = " + (parsePosition(css, argument) - 1) + "]";
+            case "nth-of-type":
+                if ("*".equals(tag)) {
+                    throw unsupported(css);
+                }
+                return "[count(preceding-sibling::" + tag + ") = " + (parsePosition(css, argument) - 1) + "]";
+            default:
+                throw unsupported(css);
+        }
+    }
+
+    private static int parsePosition(String css, String argument) {
+        try {
+            return Integer.parseInt(argument);
+        } catch (NumberFormatException | NullPointerException e) {
+            throw unsupported(css);
+        }
+    }
+
+    private static String translateAttribute(String css, String attribute) {
+        int operatorStart = 0;
+        while (operatorStart < attribute.length() && isNameChar(attribute.charAt(operatorStart))) {
+            operatorStart++;
+        }
+        String name = attribute.substring(0, operatorStart).trim();
+        if (name.isEmpty()) {
+            throw unsupported(css);
+        }
+
+        String rest = attribute.substring(operatorStart).trim();
+        if (rest.isEmpty()) {
+            return "[@" + name + "]";
+        }
+
+        int valueStart = rest.indexOf('=');
+        if (valueStart < 0) {
+            throw unsupported(css);
+        }
+        String operator = rest.substring(0, valueStart + 1).trim();
+        String value = unquote(css, rest.substring(valueStart + 1).trim());
+
+        String attributeRef = "@" + name;
+        switch (operator) {
+            case "=":
+                return "[" + attributeRef + "=" + literal(value) + "]";
+            case "~=":
+                return "[contains(concat(' ', normalize-space(" + attributeRef + "), ' '), "
+                        + literal(" " + value + " ") + ")]";
+            case "*=":
+                return "[contains(" + attributeRef + ", " + literal(value) + ")]";
+            case "^=":
+                return "[starts-with(" + attributeRef + ", " + literal(value) + ")]";
+            case "$=":
+                return "[substring(" + attributeRef + ", string-length(" + attributeRef + ") - "
+                        + (value.length() - 1) + ") = " + literal(value) + "]";
+            case "|=":
+                return "[" + attributeRef + "=" + literal(value) + " or starts-with(" + attributeRef + ", "
+                        + literal(value + "-") + ")]";
+            default:
+                throw unsupported(css);
+        }
+    }
+
+    private static String unquote(String css, String value) {
+        if (value.length() >= 2
+                && (value.charAt(0) == '\'' || value.charAt(0) == '"')
+                && value.charAt(value.length() - 1) == value.charAt(0)) {
+            return value.substring(1, value.length() - 1);
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (!isNameChar(value.charAt(i))) {
+                throw unsupported(css);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * @param value string value
+     * @return XPath string literal
+     */
+    public static String literal(String value) {
+        if (value.indexOf('\'') < 0) {
+            return "'" + value + "'";
+        }
+        if (value.indexOf('"') < 0) {
+            return "\"" + value + "\"";
+        }
+
+        StringBuilder concat = new StringBuilder("concat(");
+        String[] parts = value.split("'", -1);
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                concat.append(", \"'\", ");
+            }
+            concat.append('\'').append(parts[i]).append('\'');
+        }
+        return concat.append(')').toString();
+    }
+
+    private static int findCompoundEnd(String group, int start) {
+        int i = start;
+        while (i < group.length()) {
+            char c = group.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == '[') {
+                i = findClosingBracket(group, group, i) + 1;
+            } else if (c == '(') {
+                int close = group.indexOf(')', i);
+                if (close < 0) {
+                    throw unsupported(group);
+                }
+                i = close + 1;
+            } else if (Character.isWhitespace(c) || c == '>' || c == '+' || c == '~') {
+                break;
+            } else {
+                i++;
+            }
+        }
+        if (i == start) {
+            throw unsupported(group);
+        }
+        return Math.min(i, group.length());
+    }
+
+    private static int findClosingBracket(String css, String s, int open) {
+        char quote = 0;
+        for (int i = open + 1; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == ']') {
+                return i;
+            }
+        }
+        throw unsupported(css);
+    }
+
+    private static List<String> split(String css, char separator) {
+        List<String> parts = new ArrayList<>();
+        char quote = 0;
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i < css.length(); i++) {
+            char c = css.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '[' || c == '(') {
+                depth++;
+            } else if (c == ']' || c == ')') {
+                depth--;
+            } else if (c == separator && depth == 0) {
+                parts.add(css.substring(start, i));
+                start = i + 1;
+            }
+        }
+        parts.add(css.substring(start));
+        return parts;
+    }
+
+    private static int readName(String s, int start) {
+        int i = start;
+        while (i < s.length() && (isNameChar(s.charAt(i)) || s.charAt(i) == '\\')) {
+            i += s.charAt(i) == '\\' ? 2 : 1;
+        }
+        i = Math.min(i, s.length());
+        if (i == start) {
+            throw unsupported(s);
+        }
+        return i;
+    }
+
+    private static String unescape(String name) {
+        return name.replaceAll("\\\\(.)", "$1");
+    }
+
+    private static int skipWhitespace(String s, int start) {
+        int i = start;
+        while (i < s.length() && Character.isWhitespace(s.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isNameChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '-' || c == '_';
+    }
+
+    private static IllegalArgumentException unsupported(String css) {
+        return new IllegalArgumentException("Unsupported CSS selector: " + css);
+    }
+}
\ No newline at end of file
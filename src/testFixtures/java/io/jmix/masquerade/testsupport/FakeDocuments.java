@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.testsupport;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Attribute;
+import org.jsoup.nodes.DataNode;
+import org.jsoup.nodes.TextNode;
+import org.w3c.dom.DOMException;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parses HTML fixtures into DOM documents used by {@link FakeWebDriver}.
+ */
+public final class FakeDocuments {
+
+    private FakeDocuments() {
+    }
+
+    /**
+     * @param html HTML, does not have to be well-formed
+     * @return DOM document
+     */
+    public static Document parse(String html) {
+        org.jsoup.nodes.Document source = Jsoup.parse(html);
+
+        Document document;
+        try {
+            document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException("Unable to create DOM document", e);
+        }
+
+        for (org.jsoup.nodes.Element root : source.children()) {
+            document.appendChild(copy(document, root));
+        }
+        return document;
+    }
+
+    /**
+     * @param resource class path resource
+     * @return DOM document
+     */
+    public static Document load(String resource) {
+        return parse(read(resource));
+    }
+
+    /**
+     * @param resource class path resource
+     * @return HTML of the resource
+     */
+    public static String read(String resource) {
+        try (InputStream stream = FakeDocuments.class.getResourceAsStream(resource)) {
+            if (stream == null) {
+                throw new IllegalArgumentException("Unable to find HTML fixture " + resource);
+            }
+
+            ByteArrayOutputStream html = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                html.write(buffer, 0, read);
+            }
+            return new String(html.toByteArray(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to load HTML fixture " + resource, e);
+        }
+    }
+
+    private static Element copy(Document document, org.jsoup.nodes.Element source) {
+        Element element = document.createElement(source.tagName());
+        for (Attribute attribute : source.attributes()) {
+            try {
+                element.setAttribute(attribute.getKey(), attribute.getValue());
+            } catch (DOMException e) {
+                // attribute names that are not valid in XML are not used by selectors
+            }
+        }
+
+        for (org.jsoup.nodes.Node child : source.childNodes()) {
+            Node copy = null;
+            if (child instanceof org.jsoup.nodes.Element) {
+                copy = copy(document, (org.jsoup.nodes.Element) child);
+            } else if (child instanceof TextNode) {
+                copy = document.createTextNode(((TextNode) child).getWholeText());
+            } else if (child instanceof DataNode) {
+                copy = document.createTextNode(((DataNode) child).getWholeData());
+            }
+
+            if (copy != null) {
+                element.appendChild(copy);
+            }
+        }
+        return element;
+    }
+}
\ No newline at end of file
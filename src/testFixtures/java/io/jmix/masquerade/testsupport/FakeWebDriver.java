@@ -0,0 +1,694 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.testsupport;
+
+import io.jmix.masquerade.sys.Scripts;
+import io.jmix.masquerade.sys.SelectorSteps;
+import org.openqa.selenium.By;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Interactive;
+import org.openqa.selenium.interactions.Sequence;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.w3c.dom.events.EventTarget;
+
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * WebDriver backed by a static DOM document that records every command it receives. Used to check
+ * how many browser round trips high-level masquerade API calls take without starting a browser:
+ *
+ * <pre><code>
+ * FakeWebDriver driver = FakeWebDriver.fromResource("/fixtures/users-browse.html");
+ * WebDriverRunner.setWebDriver(driver);
+ *
+ * CommandBudget.assertAtMost(driver, 2, "Table.getRow(byCells)", () -&gt;
+ *         usersTable.getRow(byCells("admin")).exists());
+ * </code></pre>
+ *
+ * Locators with remote parameters are evaluated against the document, CSS selectors are translated
+ * with {@link CssToXPath}. Other locators, e.g. {@link org.openqa.selenium.support.pagefactory.ByChained},
+ * are evaluated by the locator itself and issue one command per nested lookup, the same way as with
+ * a real driver. Scripts are answered by a {@link ScriptHandler}, the default one emulates scripts
+ * bundled with masquerade, {@link ScriptingWebDriver} runs the scripts themselves.
+ */
+public class FakeWebDriver implements WebDriver, JavascriptExecutor, Interactive {
+
+    public static final String DEFAULT_PLATFORM = "Win32";
+
+    protected final Document document;
+    protected final CommandLog commandLog = new CommandLog();
+    protected final Map<Node, FakeWebElement> elements = new IdentityHashMap<>();
+    protected final XPath xpath = XPathFactory.newInstance().newXPath();
+    protected final Set<List<?>> absentChains = new HashSet<>();
+
+    protected ScriptHandler scriptHandler = new DefaultScriptHandler(DEFAULT_PLATFORM);
+    protected String currentUrl = "about:blank";
+    protected long renderEpoch;
+
+    public FakeWebDriver(Document document) {
+        this.document = document;
+
+        if (document instanceof EventTarget) {
+            // DOM mutation events stand for the MutationObserver of the render-epoch script
+            ((EventTarget) document).addEventListener("DOMSubtreeModified", event -> {
+                renderEpoch++;
+                absentChains.clear();
+            }, true);
+        }
+    }
+
+    /**
+     * @param html HTML of the page
+     * @return driver
+     */
+    public static FakeWebDriver fromHtml(String html) {
+        return new FakeWebDriver(FakeDocuments.parse(html));
+    }
+
+    /**
+     * @param resource class path resource with HTML of the page, e.g. recorded with
+     *                 {@link #getPageSource()} of a real driver
+     * @return driver
+     */
+    public static FakeWebDriver fromResource(String resource) {
+        return new FakeWebDriver(FakeDocuments.load(resource));
+    }
+
+    public Document getDocument() {
+        return document;
+    }
+
+    public CommandLog getCommandLog() {
+        return commandLog;
+    }
+
+    public ScriptHandler getScriptHandler() {
+        return scriptHandler;
+    }
+
+    public void setScriptHandler(ScriptHandler scriptHandler) {
+        this.scriptHandler = scriptHandler;
+    }
+
+    @Override
+    public void get(String url) {
+        commandLog.record("get", url);
+        currentUrl = url;
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        commandLog.record("getCurrentUrl", null);
+        return currentUrl;
+    }
+
+    @Override
+    public String getTitle() {
+        commandLog.record("getTitle", null);
+
+        List<Node> titles = evaluate(document, ".//title");
+        return titles.isEmpty() ? "" : normalizeText(titles.get(0).getTextContent());
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return findElements(document, by);
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        return findElement(document, by);
+    }
+
+    @Override
+    public String getPageSource() {
+        commandLog.record("getPageSource", null);
+
+        try {
+            Transformer transformer = TransformerFactory.newInstance().newTransformer();
+            transformer.setOutputProperty(OutputKeys.METHOD, "html");
+            transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+
+            StringWriter source = new StringWriter();
+            transformer.transform(new DOMSource(document), new StreamResult(source));
+            return source.toString();
+        } catch (TransformerException e) {
+            throw new IllegalStateException("Unable to serialize page source", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        commandLog.record("close", null);
+    }
+
+    @Override
+    public void quit() {
+        commandLog.record("quit", null);
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        commandLog.record("getWindowHandles", null);
+        return Collections.singleton(getWindowHandle());
+    }
+
+    @Override
+    public String getWindowHandle() {
+        commandLog.record("getWindowHandle", null);
+        return "fake";
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        throw new UnsupportedOperationException("FakeWebDriver does not support switching context");
+    }
+
+    @Override
+    public Navigation navigate() {
+        throw new UnsupportedOperationException("FakeWebDriver does not support navigation");
+    }
+
+    @Override
+    public Options manage() {
+        throw new UnsupportedOperationException("FakeWebDriver does not support options");
+    }
+
+    @Override
+    public Object executeScript(String script, Object... args) {
+        commandLog.record("executeScript", abbreviate(script));
+        return scriptHandler.execute(this, script, args);
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        commandLog.record("executeAsyncScript", abbreviate(script));
+        return scriptHandler.execute(this, script, args);
+    }
+
+    @Override
+    public void perform(Collection<Sequence> actions) {
+        commandLog.record("perform", actions.size() + " sequences");
+    }
+
+    @Override
+    public void resetInputState() {
+        commandLog.record("resetInputState", null);
+    }
+
+    /**
+     * @param node DOM element
+     * @return web element of the DOM element, the same instance for the same element
+     */
+    public FakeWebElement toWebElement(Node node) {
+        synchronized (elements) {
+            return elements.computeIfAbsent(node, n -> new FakeWebElement(this, (Element) n));
+        }
+    }
+
+    protected WebElement findElement(Node context, By by) {
+        if (!(by instanceof By.Remotable)) {
+            return by.findElement(toSearchContext(context));
+        }
+
+        List<WebElement> found = findElements(context, by);
+        if (found.isEmpty()) {
+            throw new NoSuchElementException("Unable to locate element: " + by);
+        }
+        return found.get(0);
+    }
+
+    protected List<WebElement> findElements(Node context, By by) {
+        if (!(by instanceof By.Remotable)) {
+            return by.findElements(toSearchContext(context));
+        }
+
+        By.Remotable.Parameters parameters = ((By.Remotable) by).getRemoteParameters();
+        String using = parameters.using();
+        String value = String.valueOf(parameters.value());
+
+        commandLog.record("findElements", using + ": " + value);
+
+        List<WebElement> result = new ArrayList<>();
+        for (Node node : evaluate(context, toXPath(using, value))) {
+            if (node.getNodeType() == Node.ELEMENT_NODE) {
+                result.add(toWebElement(node));
+            }
+        }
+        return result;
+    }
+
+    protected String toXPath(String using, String value) {
+        switch (using) {
+            case "css selector":
+                try {
+                    return CssToXPath.translate(value);
+                } catch (IllegalArgumentException e) {
+                    throw new InvalidSelectorException(e.getMessage());
+                }
+            case "xpath":
+                return value;
+            case "tag name":
+                return ".//" + value.toLowerCase();
+            case "class name":
+                return ".//*[contains(concat(' ', normalize-space(@class), ' '), "
+                        + CssToXPath.literal(" " + value + " ") + ")]";
+            case "id":
+                return ".//*[@id = " + CssToXPath.literal(value) + "]";
+            case "name":
+                return ".//*[@name = " + CssToXPath.literal(value) + "]";
+            case "link text":
+                return ".//a[normalize-space(.) = " + CssToXPath.literal(value) + "]";
+            case "partial link text":
+                return ".//a[contains(normalize-space(.), " + CssToXPath.literal(value) + ")]";
+            default:
+                throw new InvalidSelectorException("Unsupported locator strategy: " + using);
+        }
+    }
+
+    protected List<Node> evaluate(Node context, String expression) {
+        NodeList nodes;
+        try {
+            nodes = (NodeList) xpath.evaluate(expression, context, XPathConstants.NODESET);
+        } catch (XPathExpressionException e) {
+            throw new InvalidSelectorException("Invalid XPath " + expression + ": " + e.getMessage());
+        }
+
+        List<Node> result = new ArrayList<>(nodes.getLength());
+        for (int i = 0; i < nodes.getLength(); i++) {
+            result.add(nodes.item(i));
+        }
+        return result;
+    }
+
+    /**
+     * Finds rows or cells with text the same way as the bundled {@code grid-text} script, without
+     * recording commands.
+     *
+     * @param gridSteps chain steps of grids or null
+     * @param grids     grid elements if steps are null
+     * @param css       CSS selector of candidates relative to a grid
+     * @param cellCss   CSS selector of cells of a candidate or null if candidates are cells
+     * @param match     'equals', 'contains' or 'columns'
+     * @param texts     texts, each text must be matched by a text node of some cell of a candidate
+     *                  or, for 'columns', by a text node of the cell with the same index
+     * @return matching candidates
+     */
+    public List<WebElement> findGridText(List<?> gridSteps, List<?> grids, String css, String cellCss,
+                                         String match, List<?> texts) {
+        List<?> gridElements = gridSteps != null ? resolveSteps(gridSteps) : grids;
+
+        Set<Node> candidates = new LinkedHashSet<>();
+        for (Object grid : gridElements) {
+            candidates.addAll(evaluate(((FakeWebElement) grid).getNode(), toXPath("css selector", css)));
+        }
+
+        List<WebElement> result = new ArrayList<>();
+        for (Node candidate : candidates) {
+            List<Node> cells = cellCss != null
+                    ? evaluate(candidate, toXPath("css selector", cellCss))
+                    : Collections.singletonList(candidate);
+
+            boolean matches = true;
+            for (int i = 0; i < texts.size(); i++) {
+                String text = String.valueOf(texts.get(i));
+                if ("columns".equals(match)) {
+                    matches = matches && i < cells.size()
+                            && hasText(Collections.singletonList(cells.get(i)), text, false);
+                } else {
+                    matches = matches && hasText(cells, text, "contains".equals(match));
+                }
+            }
+            if (matches) {
+                result.add(toWebElement(candidate));
+            }
+        }
+        return result;
+    }
+
+    protected boolean hasText(List<Node> cells, String text, boolean contains) {
+        for (Node cell : cells) {
+            for (Node textNode : evaluate(cell, ".//text()")) {
+                String value = normalizeScriptText(textNode.getNodeValue());
+                if (contains ? value.contains(text) : value.equals(text)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the first element of selector chain steps the same way as the bundled {@code render-epoch}
+     * script, chains without elements are remembered until the document changes.
+     *
+     * @param steps chain steps, maps with {@code type} ('css' or 'xpath') and {@code value}
+     * @return map with {@code epoch}, {@code cached} and {@code element}
+     */
+    public Map<String, Object> findInRenderEpoch(List<?> steps) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("epoch", renderEpoch);
+        result.put("cached", absentChains.contains(steps));
+        result.put("element", null);
+
+        if (!absentChains.contains(steps)) {
+            List<WebElement> elements = resolveSteps(steps);
+            if (elements.isEmpty()) {
+                absentChains.add(steps);
+            } else {
+                result.put("element", elements.get(0));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds elements of selector chain steps the same way as the bundled {@code resolve} script,
+     * without recording commands.
+     *
+     * @param steps chain steps, maps with {@code type} ('css' or 'xpath') and {@code value}
+     * @return found elements without duplicates
+     */
+    public List<WebElement> resolveSteps(List<?> steps) {
+        return resolveSteps(steps, null);
+    }
+
+    /**
+     * Finds elements of selector chain steps located from an element, without recording commands.
+     *
+     * @param steps chain steps, maps with {@code type} ('css' or 'xpath') and {@code value}
+     * @param root  element the chain is located from or null for the document
+     * @return found elements without duplicates
+     */
+    public List<WebElement> resolveSteps(List<?> steps, WebElement root) {
+        List<Node> contexts = Collections.singletonList(root != null ? ((FakeWebElement) root).getNode() : document);
+        for (Object step : steps) {
+            Map<?, ?> stepMap = (Map<?, ?>) step;
+            String using = SelectorSteps.XPATH.equals(stepMap.get("type")) ? "xpath" : "css selector";
+            String expression = toXPath(using, String.valueOf(stepMap.get("value")));
+
+            Set<Node> next = new LinkedHashSet<>();
+            for (Node context : contexts) {
+                for (Node node : evaluate(context, expression)) {
+                    if (node.getNodeType() == Node.ELEMENT_NODE) {
+                        next.add(node);
+                    }
+                }
+            }
+            contexts = new ArrayList<>(next);
+        }
+
+        List<WebElement> result = new ArrayList<>(contexts.size());
+        for (Node node : contexts) {
+            result.add(toWebElement(node));
+        }
+        return result;
+    }
+
+    /**
+     * Finds elements of a j-test-id path the same way as the bundled {@code jtestid-index} script,
+     * without recording commands.
+     *
+     * @param path j-test-ids, each element is nested in an element of the previous id
+     * @return elements of the last id
+     */
+    public List<WebElement> findJTestIdPath(List<?> path) {
+        StringBuilder xpath = new StringBuilder();
+        for (Object jTestId : path) {
+            xpath.append("//*[@j-test-id=").append(CssToXPath.literal(String.valueOf(jTestId))).append(']');
+        }
+
+        List<WebElement> result = new ArrayList<>();
+        for (Node node : evaluate(document, xpath.toString())) {
+            result.add(toWebElement(node));
+        }
+        return result;
+    }
+
+    /**
+     * Collects a grid snapshot the same way as the bundled {@code table-snapshot} script,
+     * without recording commands.
+     *
+     * @param gridSteps     chain steps of the grid or null
+     * @param grid          grid element if steps are null
+     * @param headerCss     CSS selector of header cells relative to the grid
+     * @param rowsCss       CSS selector of rows relative to the grid
+     * @param cellClass     class name of cells
+     * @param selectedClass class name of selected rows
+     * @param groupClass    class name of group rows or null
+     * @param expandedClass class name of expanded rows or null
+     * @return map with column ids, captions and rows or null if the grid is not found
+     */
+    public Map<String, Object> takeTableSnapshot(List<?> gridSteps, WebElement grid, String headerCss,
+                                                 String rowsCss, String cellClass, String selectedClass,
+                                                 String groupClass, String expandedClass) {
+        if (gridSteps != null) {
+            List<WebElement> grids = resolveSteps(gridSteps);
+            grid = grids.isEmpty() ? null : grids.get(0);
+        }
+        if (grid == null) {
+            return null;
+        }
+        Node gridNode = ((FakeWebElement) grid).getNode();
+
+        List<String> columnIds = new ArrayList<>();
+        List<String> captions = new ArrayList<>();
+        for (Node headerCell : evaluate(gridNode, toXPath("css selector", headerCss))) {
+            String jTestId = ((Element) headerCell).getAttribute("j-test-id");
+            columnIds.add(jTestId.isEmpty() ? null
+                    : jTestId.startsWith("column_") ? jTestId.substring("column_".length()) : jTestId);
+            captions.add(normalizeScriptText(headerCell.getTextContent()));
+        }
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Node row : evaluate(gridNode, toXPath("css selector", rowsCss))) {
+            List<String> texts = new ArrayList<>();
+            NodeList children = row.getChildNodes();
+            for (int i = 0; i < children.getLength(); i++) {
+                if (hasClass(children.item(i), cellClass)) {
+                    texts.add(normalizeScriptText(children.item(i).getTextContent()));
+                }
+            }
+
+            Map<String, Object> rowMap = new HashMap<>();
+            rowMap.put("texts", texts);
+            rowMap.put("selected", hasClass(row, selectedClass));
+            rowMap.put("group", groupClass != null && hasClass(row, groupClass));
+            rowMap.put("expanded", expandedClass != null && hasClass(row, expandedClass));
+            rows.add(rowMap);
+        }
+
+        Map<String, Object> snapshot = new HashMap<>();
+        snapshot.put("columnIds", columnIds);
+        snapshot.put("captions", captions);
+        snapshot.put("rows", rows);
+        return snapshot;
+    }
+
+    /**
+     * Finds selected rows the same way as the bundled {@code selected-rows} script, without recording commands.
+     *
+     * @param rows          row elements
+     * @param selectedClass class name of selected rows
+     * @return indexes of selected rows
+     */
+    public List<Long> findSelectedRows(List<?> rows, String selectedClass) {
+        List<Long> selected = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (hasClass(((FakeWebElement) rows.get(i)).getNode(), selectedClass)) {
+                selected.add((long) i);
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Checks the selection of a range of rows the same way as the bundled {@code selected-range} script,
+     * without recording commands.
+     *
+     * @param from          first row element of the range
+     * @param to            last row element of the range
+     * @param selectedClass class name of selected rows
+     * @param dataClass     class name of rows that have data or null
+     * @return map with the size of the range, selected rows in the range and outside of it or null
+     * if the rows are not siblings
+     */
+    public Map<String, Object> checkSelectedRange(WebElement from, WebElement to, String selectedClass,
+                                                  String dataClass) {
+        Element fromNode = ((FakeWebElement) from).getNode();
+        Element toNode = ((FakeWebElement) to).getNode();
+        if (fromNode.getParentNode() != toNode.getParentNode()) {
+            return null;
+        }
+
+        List<Node> rows = new ArrayList<>();
+        NodeList children = fromNode.getParentNode().getChildNodes();
+        for (int i = 0; i < children.getLength(); i++) {
+            Node child = children.item(i);
+            if (child.getNodeType() == Node.ELEMENT_NODE
+                    && child.getNodeName().equals(fromNode.getNodeName())
+                    && (dataClass == null || hasClass(child, dataClass))) {
+                rows.add(child);
+            }
+        }
+
+        int first = Math.min(rows.indexOf(fromNode), rows.indexOf(toNode));
+        int last = Math.max(rows.indexOf(fromNode), rows.indexOf(toNode));
+        if (first < 0) {
+            return null;
+        }
+
+        long selected = 0;
+        long outside = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            if (hasClass(rows.get(i), selectedClass)) {
+                if (i >= first && i <= last) {
+                    selected++;
+                } else {
+                    outside++;
+                }
+            }
+        }
+
+        Map<String, Object> range = new HashMap<>();
+        range.put("size", (long) (last - first + 1));
+        range.put("selected", selected);
+        range.put("outside", outside);
+        return range;
+    }
+
+    private static boolean hasClass(Node node, String className) {
+        if (node.getNodeType() != Node.ELEMENT_NODE) {
+            return false;
+        }
+        for (String name : ((Element) node).getAttribute("class").split("\\s+")) {
+            if (name.equals(className)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected SearchContext toSearchContext(Node context) {
+        return context == document ? this : toWebElement(context);
+    }
+
+    static String normalizeText(String text) {
+        return text.replaceAll("[\\s\\u00a0]+", " ").trim();
+    }
+
+    /**
+     * Normalizes text the same way as bundled scripts and XPath {@code normalize-space}.
+     */
+    static String normalizeScriptText(String text) {
+        return text.replaceAll("[ \\t\\r\\n]+", " ").replaceAll("^ | $", "");
+    }
+
+    private static String abbreviate(String script) {
+        String line = normalizeText(script);
+        return line.length() > 80 ? line.substring(0, 77) + "..." : line;
+    }
+
+    /**
+     * Answers {@code navigator.platform} requests and emulates {@code resolve}, {@code verify},
+     * {@code grid-text}, {@code jtestid-index}, {@code profile}, {@code render-epoch}, {@code selected-rows},
+     * {@code selected-range} and {@code table-snapshot} scripts of {@link Scripts}, returns null for other scripts.
+     */
+    public static class DefaultScriptHandler implements ScriptHandler {
+
+        protected final String platform;
+
+        public DefaultScriptHandler(String platform) {
+            this.platform = platform;
+        }
+
+        @Override
+        public Object execute(FakeWebDriver driver, String script, Object[] args) {
+            if (script.contains("navigator.platform")) {
+                return platform;
+            }
+            if (script.equals(Scripts.get("resolve"))) {
+                return driver.resolveSteps((List<?>) args[0]);
+            }
+            if (script.equals(Scripts.get("verify"))) {
+                List<Long> missing = new ArrayList<>();
+                List<?> chains = (List<?>) args[0];
+                for (int i = 0; i < chains.size(); i++) {
+                    if (driver.resolveSteps((List<?>) chains.get(i)).isEmpty()) {
+                        missing.add((long) i);
+                    }
+                }
+                return missing;
+            }
+            if (script.equals(Scripts.get("jtestid-index"))) {
+                return driver.findJTestIdPath((List<?>) args[0]);
+            }
+            if (script.equals(Scripts.get("profile"))) {
+                long start = System.nanoTime();
+                driver.resolveSteps((List<?>) args[0], (WebElement) args[1]);
+                return (System.nanoTime() - start) / 1_000_000.0;
+            }
+            if (script.equals(Scripts.get("render-epoch"))) {
+                return driver.findInRenderEpoch((List<?>) args[0]);
+            }
+            if (script.equals(Scripts.get("table-snapshot"))) {
+                return driver.takeTableSnapshot((List<?>) args[0], (WebElement) args[1], (String) args[2],
+                        (String) args[3], (String) args[4], (String) args[5], (String) args[6], (String) args[7]);
+            }
+            if (script.equals(Scripts.get("selected-rows"))) {
+                return driver.findSelectedRows((List<?>) args[0], (String) args[1]);
+            }
+            if (script.equals(Scripts.get("selected-range"))) {
+                return driver.checkSelectedRange((WebElement) args[0], (WebElement) args[1], (String) args[2],
+                        (String) args[3]);
+            }
+            if (script.equals(Scripts.get("grid-text"))) {
+                return driver.findGridText((List<?>) args[0], (List<?>) args[1], (String) args[2],
+                        (String) args[3], (String) args[4], (List<?>) args[5]);
+            }
+            return null;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.testsupport;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import java.util.List;
+
+/**
+ * Element of {@link FakeWebDriver}, every method call is recorded as one command. Calls of elements
+ * removed from the document throw {@link StaleElementReferenceException}.
+ */
+public class FakeWebElement implements WebElement, WrapsDriver {
+
+    protected final FakeWebDriver driver;
+    protected final Element element;
+
+    protected FakeWebElement(FakeWebDriver driver, Element element) {
+        this.driver = driver;
+        this.element = element;
+    }
+
+    public Element getNode() {
+        return element;
+    }
+
+    @Override
+    public WebDriver getWrappedDriver() {
+        return driver;
+    }
+
+    @Override
+    public void click() {
+        record("click");
+    }
+
+    @Override
+    public void submit() {
+        record("submit");
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        record("sendKeys");
+
+        StringBuilder value = new StringBuilder(element.getAttribute("value"));
+        for (CharSequence keys : keysToSend) {
+            value.append(keys);
+        }
+        element.setAttribute("value", value.toString());
+    }
+
+    @Override
+    public void clear() {
+        record("clear");
+        element.setAttribute("value", "");
+    }
+
+    @Override
+    public String getTagName() {
+        record("getTagName");
+        return element.getTagName().toLowerCase();
+    }
+
+    @Override
+    public String getAttribute(String name) {
+        record("getAttribute");
+        return element.hasAttribute(name) ? element.getAttribute(name) : null;
+    }
+
+    @Override
+    public String getDomAttribute(String name) {
+        record("getDomAttribute");
+        return element.hasAttribute(name) ? element.getAttribute(name) : null;
+    }
+
+    @Override
+    public String getDomProperty(String name) {
+        record("getDomProperty");
+        return element.hasAttribute(name) ? element.getAttribute(name) : null;
+    }
+
+    @Override
+    public boolean isSelected() {
+        record("isSelected");
+        return element.hasAttribute("checked") || element.hasAttribute("selected");
+    }
+
+    @Override
+    public boolean isEnabled() {
+        record("isEnabled");
+        return !element.hasAttribute("disabled");
+    }
+
+    @Override
+    public String getText() {
+        record("getText");
+        return FakeWebDriver.normalizeText(element.getTextContent());
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        record("isDisplayed");
+
+        for (Node node = element; node instanceof Element; node = node.getParentNode()) {
+            Element current = (Element) node;
+            if (current.hasAttribute("hidden")
+                    || current.getAttribute("style").replace(" ", "").contains("display:none")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Point getLocation() {
+        record("getLocation");
+        return new Point(0, 0);
+    }
+
+    @Override
+    public Dimension getSize() {
+        record("getSize");
+        return new Dimension(0, 0);
+    }
+
+    @Override
+    public Rectangle getRect() {
+        record("getRect");
+        return new Rectangle(new Point(0, 0), new Dimension(0, 0));
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        record("getCssValue");
+        return "";
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        throw new UnsupportedOperationException("FakeWebDriver does not support screenshots");
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return driver.findElements(element, by);
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        return driver.findElement(element, by);
+    }
+
+    protected void record(String command) {
+        driver.getCommandLog().record(command, describe());
+
+        if (!isAttached()) {
+            throw new StaleElementReferenceException("Element " + describe() + " is not attached to the page document");
+        }
+    }
+
+    protected boolean isAttached() {
+        for (Node node = element; node != null; node = node.getParentNode()) {
+            if (node == driver.getDocument()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected String describe() {
+        StringBuilder description = new StringBuilder("<").append(element.getTagName().toLowerCase());
+        if (element.hasAttribute("j-test-id")) {
+            description.append(" j-test-id=\"").append(element.getAttribute("j-test-id")).append('"');
+        } else if (element.hasAttribute("class")) {
+            description.append(" class=\"").append(element.getAttribute("class")).append('"');
+        }
+        return description.append('>').toString();
+    }
+
+    @Override
+    public String toString() {
+        return "FakeWebElement " + describe();
+    }
+}
\ No newline at end of file
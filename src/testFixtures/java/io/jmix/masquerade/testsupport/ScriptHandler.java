@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.testsupport;
+
+/**
+ * Answers scripts executed through {@link FakeWebDriver}, the fake driver cannot run JavaScript.
+ */
+@FunctionalInterface
+public interface ScriptHandler {
+
+    /**
+     * @param driver fake driver
+     * @param script script source
+     * @param args   script arguments, elements are {@link FakeWebElement} instances
+     * @return script result, elements must be {@link FakeWebElement} instances of the driver
+     */
+    Object execute(FakeWebDriver driver, String script, Object[] args);
+}
\ No newline at end of file
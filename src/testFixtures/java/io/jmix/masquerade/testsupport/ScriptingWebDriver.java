@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2008-2020 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.masquerade.testsupport;
+
+import com.gargoylesoftware.htmlunit.BrowserVersion;
+import com.gargoylesoftware.htmlunit.MockWebConnection;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+
+import java.util.Arrays;
+
+/**
+ * HtmlUnit driver with JavaScript enabled that serves one HTML page. Unlike {@link FakeWebDriver}
+ * that emulates scripts bundled with masquerade in Java, it runs the bundled scripts in a real
+ * JavaScript engine, so tests can check results of the scripts themselves. Browser commands are
+ * not counted, use {@link FakeWebDriver} for command budgets.
+ * <br>
+ * HtmlUnit does not lay out pages: sizes and offsets of elements are only as accurate as their
+ * inline styles.
+ * <br>
+ * HtmlUnit rejects null script arguments that remote drivers pass as JSON null, such arguments
+ * are replaced with a marker that is converted back to null before the script is called.
+ */
+public class ScriptingWebDriver extends HtmlUnitDriver {
+
+    public static final String PAGE_URL = "http://localhost/";
+
+    protected static final String NULL_ARGUMENT = "__masqueradeNullArgument";
+
+    public ScriptingWebDriver(String html) {
+        super(BrowserVersion.CHROME, true);
+
+        MockWebConnection connection = new MockWebConnection();
+        connection.setDefaultResponse(html);
+        getWebClient().setWebConnection(connection);
+
+        get(PAGE_URL);
+    }
+
+    /**
+     * @param html HTML of the page
+     * @return driver
+     */
+    public static ScriptingWebDriver fromHtml(String html) {
+        return new ScriptingWebDriver(html);
+    }
+
+    /**
+     * @param resource class path resource with HTML of the page
+     * @return driver
+     */
+    public static ScriptingWebDriver fromResource(String resource) {
+        return new ScriptingWebDriver(FakeDocuments.read(resource));
+    }
+
+    @Override
+    public Object executeScript(String script, Object... args) {
+        if (args == null || !Arrays.asList(args).contains(null)) {
+            return super.executeScript(script, args);
+        }
+
+        Object[] scriptArgs = new Object[args.length];
+        for (int i = 0; i < args.length; i++) {
+            scriptArgs[i] = args[i] != null ? args[i] : NULL_ARGUMENT;
+        }
+        String nullSafeScript = "var args = Array.prototype.map.call(arguments, function (arg) {\n"
+                + "    return arg === '" + NULL_ARGUMENT + "' ? null : arg;\n"
+                + "});\n"
+                + "return (function () {\n" + script + "\n}).apply(this, args);";
+        return super.executeScript(nullSafeScript, scriptArgs);
+    }
+}
\ No newline at end of file